@@ -37,16 +37,20 @@ public final class CommandsCommon<Error extends Exception> {
 
     public void grantAll(CommandSender sender, Collection<Player> players, boolean giveRewards) throws Error {
         validatePlayerArgument(players);
-        boolean failed = false;
-        for (AdvancementTab m : main.getTabs()) {
-            if (m.isActive()) {
-                for (Advancement a : m.getAdvancements()) {
-                    for (Player p : players) {
-                        failed |= runSafely(sender, () -> a.grant(p, giveRewards), () -> "Could not grant advancement " + a + " to " + p.getName());
+        // Write the progressions in a single batch
+        boolean failed = main.getDatabaseManager().batchProgressionUpdates(() -> {
+            boolean f = false;
+            for (AdvancementTab m : main.getTabs()) {
+                if (m.isActive()) {
+                    for (Advancement a : m.getAdvancements()) {
+                        for (Player p : players) {
+                            f |= runSafely(sender, () -> a.grant(p, giveRewards), () -> "Could not grant advancement " + a + " to " + p.getName());
+                        }
                     }
                 }
             }
-        }
+            return f;
+        });
         for (Player p : players) {
             if (failed) {
                 sender.sendMessage(ChatColor.RED + "Could not grant every advancement to " + p.getName());
@@ -65,12 +69,16 @@ public final class CommandsCommon<Error extends Exception> {
         if (!tab.isActive()) {
             throw commandAPI.failWithString("Advancement tab is not active.");
         }
-        boolean failed = false;
-        for (Advancement a : tab.getAdvancements()) {
-            for (Player p : players) {
-                failed |= runSafely(sender, () -> a.grant(p, giveRewards), () -> "Could not grant advancement " + a + " to " + p.getName());
+        // Write the progressions in a single batch
+        boolean failed = main.getDatabaseManager().batchProgressionUpdates(() -> {
+            boolean f = false;
+            for (Advancement a : tab.getAdvancements()) {
+                for (Player p : players) {
+                    f |= runSafely(sender, () -> a.grant(p, giveRewards), () -> "Could not grant advancement " + a + " to " + p.getName());
+                }
             }
-        }
+            return f;
+        });
         for (Player p : players) {
             if (failed) {
                 sender.sendMessage(ChatColor.RED + "Could not grant every advancement of tab " + tab + " to " + p.getName());
@@ -103,18 +111,22 @@ public final class CommandsCommon<Error extends Exception> {
 
     public void revokeAll(CommandSender sender, Collection<Player> players, boolean hideTabs) throws Error {
         validatePlayerArgument(players);
-        boolean failed = false;
-        for (AdvancementTab m : main.getTabs()) {
-            var advancements = m.getAdvancements();
-            for (Player p : players) {
-                for (Advancement a : advancements) {
-                    failed |= runSafely(sender, () -> a.revoke(p), () -> "Could not revoke advancement " + a + " to " + p.getName());
-                }
-                if (hideTabs) {
-                    runSafely(sender, () -> m.hideTab(p), () -> "Could not hide advancement tab " + m + " to " + p.getName());
+        // Write the progressions in a single batch
+        boolean failed = main.getDatabaseManager().batchProgressionUpdates(() -> {
+            boolean f = false;
+            for (AdvancementTab m : main.getTabs()) {
+                var advancements = m.getAdvancements();
+                for (Player p : players) {
+                    for (Advancement a : advancements) {
+                        f |= runSafely(sender, () -> a.revoke(p), () -> "Could not revoke advancement " + a + " to " + p.getName());
+                    }
+                    if (hideTabs) {
+                        runSafely(sender, () -> m.hideTab(p), () -> "Could not hide advancement tab " + m + " to " + p.getName());
+                    }
                 }
             }
-        }
+            return f;
+        });
         for (Player p : players) {
             if (failed) {
                 sender.sendMessage(ChatColor.RED + "Could not revoke every advancement to " + p.getName());
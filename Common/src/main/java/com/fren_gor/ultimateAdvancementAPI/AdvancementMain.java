@@ -4,6 +4,7 @@ import com.fren_gor.eventManagerAPI.EventManager;
 import com.fren_gor.ultimateAdvancementAPI.advancement.Advancement;
 import com.fren_gor.ultimateAdvancementAPI.database.DatabaseManager;
 import com.fren_gor.ultimateAdvancementAPI.database.IDatabase;
+import com.fren_gor.ultimateAdvancementAPI.database.TeamProgression;
 import com.fren_gor.ultimateAdvancementAPI.database.impl.InMemory;
 import com.fren_gor.ultimateAdvancementAPI.database.impl.MySQL;
 import com.fren_gor.ultimateAdvancementAPI.database.impl.SQLite;
@@ -11,6 +12,7 @@ import com.fren_gor.ultimateAdvancementAPI.exceptions.AsyncExecutionException;
 import com.fren_gor.ultimateAdvancementAPI.exceptions.DuplicatedException;
 import com.fren_gor.ultimateAdvancementAPI.exceptions.InvalidVersionException;
 import com.fren_gor.ultimateAdvancementAPI.nms.util.ReflectionUtil;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.AdvancementScreenListenerWrapper;
 import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
 import com.fren_gor.ultimateAdvancementAPI.util.Versions;
 import com.google.common.base.Preconditions;
@@ -19,6 +21,8 @@ import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.player.PlayerCommandPreprocessEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.server.PluginDisableEvent;
 import org.bukkit.event.server.ServerCommandEvent;
 import org.bukkit.plugin.Plugin;
@@ -64,6 +68,10 @@ public final class AdvancementMain {
     private final String libFolder;
     private final Map<String, AdvancementTab> tabs = new HashMap<>();
     private final Map<Plugin, List<AdvancementTab>> pluginMap = new HashMap<>();
+    private final AdvancementUpdateScheduler updateScheduler;
+    private int databaseThreads = DatabaseManager.DEFAULT_EXECUTOR_THREADS;
+    private int databaseQueueSize = DatabaseManager.DEFAULT_EXECUTOR_QUEUE_SIZE;
+    private boolean virtualDatabaseThreads = false;
 
     /**
      * Creates a new {@code AdvancementMain}.
@@ -77,6 +85,7 @@ public final class AdvancementMain {
         Preconditions.checkNotNull(owningPlugin, "Plugin is null.");
         this.owningPlugin = owningPlugin;
         this.libFolder = ".libs";
+        this.updateScheduler = new AdvancementUpdateScheduler(owningPlugin);
     }
 
     /**
@@ -92,6 +101,7 @@ public final class AdvancementMain {
         Preconditions.checkNotNull(libFolder, "Lib folder is null.");
         this.owningPlugin = owningPlugin;
         this.libFolder = libFolder;
+        this.updateScheduler = new AdvancementUpdateScheduler(owningPlugin);
     }
 
     /**
@@ -230,13 +240,23 @@ public final class AdvancementMain {
         // Resend advancements if /minecraft:reload is called
         eventManager.register(this, ServerCommandEvent.class, e -> {
             if (isMcReload(e.getCommand()))
-                runSync(this, 20, () -> Bukkit.getOnlinePlayers().forEach(this::updatePlayer));
+                runSync(this, 20, () -> Bukkit.getOnlinePlayers().forEach(this::resendToPlayer));
         });
         eventManager.register(this, PlayerCommandPreprocessEvent.class, e -> {
             if (isMcReload(e.getMessage()))
-                runSync(this, 20, () -> Bukkit.getOnlinePlayers().forEach(this::updatePlayer));
+                runSync(this, 20, () -> Bukkit.getOnlinePlayers().forEach(this::resendToPlayer));
         });
 
+        // Lazy tab delivery
+        eventManager.register(this, PlayerJoinEvent.class, EventPriority.LOWEST, e -> {
+            if (updateScheduler.isLazyTabDelivery())
+                injectAdvancementGuiListener(e.getPlayer());
+        });
+        eventManager.register(this, PlayerQuitEvent.class, e -> updateScheduler.onQuit(e.getPlayer()));
+        if (updateScheduler.isLazyTabDelivery()) {
+            Bukkit.getOnlinePlayers().forEach(this::injectAdvancementGuiListener);
+        }
+
         UltimateAdvancementAPI.main = this;
     }
 
@@ -282,6 +302,7 @@ public final class AdvancementMain {
                     t.printStackTrace();
                 }
             }
+            updateScheduler.dispose();
             if (databaseManager != null)
                 databaseManager.unregister();
         }
@@ -307,7 +328,7 @@ public final class AdvancementMain {
             throw new DuplicatedException("An AdvancementTab with '" + namespace + "' namespace already exists.");
         }
 
-        AdvancementTab tab = new AdvancementTab(plugin, databaseManager, namespace);
+        AdvancementTab tab = new AdvancementTab(plugin, databaseManager, updateScheduler, namespace);
         tabs.put(namespace, tab);
         pluginMap.computeIfAbsent(plugin, p -> new LinkedList<>()).add(tab);
         return tab;
@@ -528,7 +549,42 @@ public final class AdvancementMain {
         Preconditions.checkNotNull(player, "Player is null.");
         for (AdvancementTab tab : tabs.values()) {
             if (tab.isActive() && tab.isShownTo(player)) {
-                tab.updateAdvancementsToTeam(player);
+                tab.updateAdvancementsToTeam(player, true);
+            }
+        }
+    }
+
+    private void injectAdvancementGuiListener(@NotNull Player player) {
+        try {
+            AdvancementScreenListenerWrapper.inject(player, key -> {
+                // Called from a Netty thread
+                if (key != null) {
+                    runSync(this, () -> onAdvancementGuiOpen(player));
+                }
+            });
+        } catch (ReflectiveOperationException e) {
+            System.err.println("Couldn't listen for the advancement GUI of " + player.getName() + ", sending every advancement to them.");
+            e.printStackTrace();
+            onAdvancementGuiOpen(player);
+        }
+    }
+
+    private void onAdvancementGuiOpen(@NotNull Player player) {
+        if (!isEnabled() || !player.isOnline() || !updateScheduler.isLazyTabDelivery()) {
+            return;
+        }
+        if (updateScheduler.onAdvancementGuiOpen(player)) {
+            // Send the whole tabs in place of the placeholders
+            updatePlayer(player);
+        }
+    }
+
+    private void resendToPlayer(@NotNull Player player) {
+        // The client has been reset by the reload, so every advancement must be sent again
+        for (AdvancementTab tab : tabs.values()) {
+            if (tab.isActive() && tab.isShownTo(player)) {
+                tab.forgetSentAdvancements(player);
+                tab.updateAdvancementsToTeam(player, true);
             }
         }
     }
@@ -584,6 +640,154 @@ public final class AdvancementMain {
         return libbyManager;
     }
 
+    /**
+     * Gets the maximum time (in milliseconds) spent per tick sending advancement updates to players.
+     *
+     * @return The maximum time (in milliseconds) spent per tick sending advancement updates to players.
+     */
+    public int getUpdateTimeBudget() {
+        return updateScheduler.getTimeBudget();
+    }
+
+    /**
+     * Sets the maximum time (in milliseconds) spent per tick sending advancement updates to players.
+     * <p>The updates which don't fit into the budget are sent in the next ticks. Updates sent on join
+     * or when a tab is shown are always sent before the other ones.
+     * <p>The default value is 5 milliseconds.
+     *
+     * @param timeBudget The maximum time (in milliseconds). Must be greater than zero.
+     * @throws IllegalArgumentException If the provided time is not greater than zero.
+     */
+    public void setUpdateTimeBudget(@Range(from = 1, to = Integer.MAX_VALUE) int timeBudget) {
+        updateScheduler.setTimeBudget(timeBudget);
+    }
+
+    /**
+     * Returns whether advancement packets are assembled and sent on a pool of worker threads.
+     *
+     * @return Whether advancement packets are assembled and sent on a pool of worker threads.
+     */
+    public boolean isAsyncPacketAssembly() {
+        return updateScheduler.getPacketExecutor() != null;
+    }
+
+    /**
+     * Sets whether advancement packets are assembled and sent on a pool of worker threads.
+     * <p>When enabled, only the computation of the advancements to send (see {@link Advancement#onUpdate(TeamProgression, Map)})
+     * is done on the main thread. The NMS objects and packets are then created by a worker thread, which also sends them.
+     * <p>By default, advancement packets are assembled and sent on the main thread.
+     *
+     * @param async Whether advancement packets are assembled and sent on a pool of worker threads.
+     * @throws AsyncExecutionException If it is not called from the main thread.
+     */
+    public void setAsyncPacketAssembly(boolean async) {
+        checkSync();
+        updateScheduler.setAsyncPacketAssembly(async);
+    }
+
+    /**
+     * Returns whether lazy tab delivery is enabled.
+     *
+     * @return Whether lazy tab delivery is enabled.
+     * @see #setLazyTabDelivery(boolean)
+     */
+    public boolean isLazyTabDelivery() {
+        return updateScheduler.isLazyTabDelivery();
+    }
+
+    /**
+     * Sets whether lazy tab delivery is enabled.
+     * <p>When enabled, only the root advancement of every tab is sent to a player until they open the advancement GUI for the first time.
+     * After that, every advancement is sent normally.
+     * Toasts are displayed anyway, see {@link AdvancementTab#isPlaceholderShownTo(Player)}.
+     * <p>By default, lazy tab delivery is disabled.
+     *
+     * @param lazy Whether lazy tab delivery is enabled.
+     * @throws AsyncExecutionException If it is not called from the main thread.
+     */
+    public void setLazyTabDelivery(boolean lazy) {
+        checkSync();
+        if (lazy == updateScheduler.isLazyTabDelivery()) {
+            return;
+        }
+        updateScheduler.setLazyTabDelivery(lazy);
+        if (!isEnabled() || UltimateAdvancementAPI.main != this) {
+            // The online players are handled in commonEnablePostDatabase()
+            return;
+        }
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            if (lazy) {
+                injectAdvancementGuiListener(player);
+            } else {
+                try {
+                    AdvancementScreenListenerWrapper.uninject(player);
+                } catch (ReflectiveOperationException e) {
+                    e.printStackTrace();
+                }
+            }
+            // Send placeholders or the whole tabs
+            updatePlayer(player);
+        }
+    }
+
+    /**
+     * Gets the amount of threads which run the database operations.
+     *
+     * @return The amount of threads which run the database operations.
+     * @see #setDatabaseExecutor(int, int, boolean)
+     */
+    public int getDatabaseThreads() {
+        return databaseThreads;
+    }
+
+    /**
+     * Gets the maximum amount of database operations waiting for a free thread.
+     *
+     * @return The maximum amount of database operations waiting for a free thread.
+     * @see #setDatabaseExecutor(int, int, boolean)
+     */
+    public int getDatabaseQueueSize() {
+        return databaseQueueSize;
+    }
+
+    /**
+     * Returns whether the database operations are run on virtual threads.
+     *
+     * @return Whether the database operations are run on virtual threads.
+     * @see #setDatabaseExecutor(int, int, boolean)
+     */
+    public boolean isVirtualDatabaseThreads() {
+        return virtualDatabaseThreads;
+    }
+
+    /**
+     * Sets the settings of the executor which runs the database operations.
+     * <p>Database operations are run on a dedicated pool of {@code threads} threads. When every thread is busy, up to
+     * {@code queueSize} operations are queued. When the queue is full, operations requested by the main thread or by a
+     * database thread fail with a {@link java.util.concurrent.RejectedExecutionException}, while operations requested by
+     * other threads wait for a free slot in the queue. Operations are never run by the thread which requested them.
+     * <p>When {@code virtualThreads} is {@code true} and the server runs on Java 21 or newer, every database operation
+     * is run on its own virtual thread instead, so {@code threads} and {@code queueSize} are ignored.
+     * <p>By default, 4 threads and a queue of 1024 operations are used.
+     * <p><strong>This method must be called before enabling the API.</strong>
+     *
+     * @param threads The amount of threads. Must be greater than zero.
+     * @param queueSize The maximum amount of queued operations. Must be greater than zero.
+     * @param virtualThreads Whether to use virtual threads when available.
+     * @throws IllegalArgumentException If the amount of threads or the queue size are not greater than zero.
+     * @throws IllegalStateException If the API has already been enabled.
+     */
+    public void setDatabaseExecutor(@Range(from = 1, to = Integer.MAX_VALUE) int threads, @Range(from = 1, to = Integer.MAX_VALUE) int queueSize, boolean virtualThreads) {
+        Preconditions.checkArgument(threads > 0, "Threads must be greater than zero.");
+        Preconditions.checkArgument(queueSize > 0, "Queue size must be greater than zero.");
+        if (databaseManager != null) {
+            throw new IllegalStateException("The database executor cannot be changed after enabling the API.");
+        }
+        this.databaseThreads = threads;
+        this.databaseQueueSize = queueSize;
+        this.virtualDatabaseThreads = virtualThreads;
+    }
+
     /**
      * Returns whether the API is loaded.
      *
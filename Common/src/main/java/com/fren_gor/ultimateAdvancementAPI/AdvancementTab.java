@@ -1,15 +1,19 @@
 package com.fren_gor.ultimateAdvancementAPI;
 
 import com.fren_gor.eventManagerAPI.EventManager;
+import com.fren_gor.ultimateAdvancementAPI.AdvancementUpdateScheduler.TabPackets;
 import com.fren_gor.ultimateAdvancementAPI.advancement.Advancement;
 import com.fren_gor.ultimateAdvancementAPI.advancement.BaseAdvancement;
 import com.fren_gor.ultimateAdvancementAPI.advancement.RootAdvancement;
+import com.fren_gor.ultimateAdvancementAPI.advancement.multiParents.AbstractMultiParentsAdvancement;
 import com.fren_gor.ultimateAdvancementAPI.database.DatabaseManager;
 import com.fren_gor.ultimateAdvancementAPI.database.TeamProgression;
 import com.fren_gor.ultimateAdvancementAPI.events.PlayerLoadingCompletedEvent;
 import com.fren_gor.ultimateAdvancementAPI.events.advancement.AdvancementDisposeEvent;
 import com.fren_gor.ultimateAdvancementAPI.events.advancement.AdvancementDisposedEvent;
 import com.fren_gor.ultimateAdvancementAPI.events.advancement.AdvancementRegistrationEvent;
+import com.fren_gor.ultimateAdvancementAPI.events.advancement.ProgressionUpdateEvent;
+import com.fren_gor.ultimateAdvancementAPI.events.team.TeamUnloadEvent;
 import com.fren_gor.ultimateAdvancementAPI.exceptions.DisposedException;
 import com.fren_gor.ultimateAdvancementAPI.exceptions.DuplicatedException;
 import com.fren_gor.ultimateAdvancementAPI.exceptions.InvalidAdvancementException;
@@ -32,7 +36,7 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.PluginManager;
-import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.ApiStatus.Internal;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -44,6 +48,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -51,6 +56,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import static com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey.checkNamespace;
 import static com.fren_gor.ultimateAdvancementAPI.util.AdvancementUtils.validateTeamProgression;
@@ -68,8 +74,15 @@ public final class AdvancementTab {
     private final String namespace;
     private final DatabaseManager databaseManager;
     private final Map<AdvancementKey, Advancement> advancements = new HashMap<>();
-    private final Map<Player, Set<MinecraftKeyWrapper>> players = new HashMap<>();
-    private final AdvsUpdateRunnable updateManager;
+    private final Map<Player, SentAdvancements> players = new HashMap<>();
+    private final AdvancementUpdateScheduler updateScheduler;
+    // Last NMS definition of every advancement, shared between the states sent to every player
+    private final Map<MinecraftKeyWrapper, AdvancementWrapper> definitionCache = new HashMap<>();
+    // Cached results of the Advancement Visibility System for every team
+    private final VisibilityCache visibilityCache;
+
+    // Registered advancements indexed by ordinal, see Advancement#getOrdinal(). Not cleared on dispose
+    private Advancement[] ordinals = new Advancement[0];
 
     private RootAdvancement rootAdvancement;
     private boolean initialised = false, disposed = false, automaticallyShown = false, automaticallyGrant = false;
@@ -78,14 +91,17 @@ public final class AdvancementTab {
     @LazyValue
     private Collection<BaseAdvancement> advsWithoutRoot;
 
-    AdvancementTab(@NotNull Plugin owningPlugin, @NotNull DatabaseManager databaseManager, @NotNull String namespace) {
+    AdvancementTab(@NotNull Plugin owningPlugin, @NotNull DatabaseManager databaseManager, @NotNull AdvancementUpdateScheduler updateScheduler, @NotNull String namespace) {
         checkNamespace(namespace);
         this.namespace = Objects.requireNonNull(namespace);
         this.owningPlugin = Objects.requireNonNull(owningPlugin);
         this.eventManager = new EventManager(owningPlugin);
         this.databaseManager = Objects.requireNonNull(databaseManager);
-        this.updateManager = new AdvsUpdateRunnable();
+        this.updateScheduler = Objects.requireNonNull(updateScheduler);
+        this.visibilityCache = new VisibilityCache(namespace);
         eventManager.register(this, PlayerQuitEvent.class, e -> players.remove(e.getPlayer()));
+        eventManager.register(this, ProgressionUpdateEvent.class, e -> visibilityCache.invalidate(e.getTeamProgression(), e.getAdvancementKey()));
+        eventManager.register(this, TeamUnloadEvent.class, e -> visibilityCache.remove(e.getTeamProgression()));
     }
 
     /**
@@ -344,9 +360,17 @@ public final class AdvancementTab {
      * @throws DisposedException If the tab is disposed.
      */
     public void updateAdvancementsToTeam(@NotNull TeamProgression pro) {
+        updateAdvancementsToTeam(pro, false);
+    }
+
+    void updateAdvancementsToTeam(@NotNull Player player, boolean priority) throws UserNotLoadedException {
+        updateAdvancementsToTeam(databaseManager.getTeamProgression(AdvancementUtils.uuidFromPlayer(player)), priority);
+    }
+
+    private void updateAdvancementsToTeam(@NotNull TeamProgression pro, boolean priority) {
         checkInitialisation();
         validateTeamProgression(pro);
-        updateManager.schedule(pro);
+        updateScheduler.schedule(this, pro, priority);
     }
 
     /**
@@ -441,6 +465,102 @@ public final class AdvancementTab {
         for (Advancement adv : this.advancements.values()) {
             callValidation(adv);
         }
+
+        buildDependencyIndex();
+        assignOrdinals();
+    }
+
+    private void assignOrdinals() {
+        ordinals = this.advancements.values().toArray(new Advancement[0]);
+        for (int i = 0; i < ordinals.length; i++) {
+            ordinals[i].setOrdinal(i);
+        }
+    }
+
+    /**
+     * Gets the amount of registered advancements, which is the amount of ordinals assigned by this tab.
+     * <p>This method can be called even after the tab has been disposed.
+     *
+     * @return The amount of registered advancements, or {@code 0} if the tab isn't initialised.
+     * @see Advancement#getOrdinal()
+     * @hidden
+     */
+    @Internal
+    public int getOrdinalsAmount() {
+        return ordinals.length;
+    }
+
+    /**
+     * Gets the registered advancement with the provided ordinal.
+     * <p>This method can be called even after the tab has been disposed.
+     *
+     * @param ordinal The ordinal of the advancement.
+     * @return The registered advancement with the provided ordinal.
+     * @throws IndexOutOfBoundsException If no advancement has the provided ordinal.
+     * @see Advancement#getOrdinal()
+     * @hidden
+     */
+    @Internal
+    @NotNull
+    public Advancement getAdvancementByOrdinal(int ordinal) {
+        return ordinals[ordinal];
+    }
+
+    private void buildDependencyIndex() {
+        // Keys of the direct children of every registered advancement, used to invalidate the visibility cache
+        final Map<AdvancementKey, Set<AdvancementKey>> children = new HashMap<>();
+        for (AdvancementKey key : this.advancements.keySet()) {
+            children.put(key, new HashSet<>());
+        }
+        for (Advancement adv : this.advancements.values()) {
+            if (adv instanceof AbstractMultiParentsAdvancement multiParent) {
+                for (BaseAdvancement parent : multiParent.getParents()) {
+                    children.computeIfAbsent(parent.getKey(), k -> new HashSet<>()).add(adv.getKey());
+                }
+            } else if (adv instanceof BaseAdvancement base) {
+                children.computeIfAbsent(base.getParent().getKey(), k -> new HashSet<>()).add(adv.getKey());
+            }
+        }
+        visibilityCache.setChildren(children);
+    }
+
+    /**
+     * Gets the cached result of the Advancement Visibility System for the provided advancement and team.
+     * <p>Only the advancements registered in this tab are cached. Cached values are invalidated when the progression
+     * of the advancement, of its parents or of its grandparents changes.
+     *
+     * @param advancement The advancement.
+     * @param pro The {@link TeamProgression} of the team.
+     * @return The cached visibility, or {@code null} if it isn't cached.
+     * @hidden
+     */
+    @Internal
+    @Nullable
+    public Boolean getCachedVisibility(@NotNull Advancement advancement, @NotNull TeamProgression pro) {
+        if (!canCacheVisibility(advancement)) {
+            return null;
+        }
+        return visibilityCache.get(pro, advancement.getKey());
+    }
+
+    /**
+     * Caches the result of the Advancement Visibility System for the provided advancement and team.
+     *
+     * @param advancement The advancement.
+     * @param pro The {@link TeamProgression} of the team.
+     * @param visible Whether the advancement is visible to the team.
+     * @hidden
+     */
+    @Internal
+    public void cacheVisibility(@NotNull Advancement advancement, @NotNull TeamProgression pro, boolean visible) {
+        if (canCacheVisibility(advancement)) {
+            visibilityCache.put(pro, advancement.getKey(), visible);
+        }
+    }
+
+    private boolean canCacheVisibility(@NotNull Advancement advancement) {
+        // Only registered advancements are in the dependency index
+        return isActive() && Bukkit.isPrimaryThread() && advancements.get(advancement.getKey()) == advancement;
     }
 
     private void callOnRegister(Advancement adv) {
@@ -468,6 +588,7 @@ public final class AdvancementTab {
         // Revert initialised to false in case of an invalid advancement is found
         initialised = false;
         advancements.clear();
+        visibilityCache.setChildren(Collections.emptyMap());
         rootAdvancement = null;
     }
 
@@ -502,8 +623,8 @@ public final class AdvancementTab {
         checkInitialisation();
         Preconditions.checkNotNull(player, "Player is null.");
         if (!players.containsKey(player)) {
-            players.put(player, Collections.emptySet());
-            updateAdvancementsToTeam(player);
+            players.put(player, SentAdvancements.EMPTY);
+            updateAdvancementsToTeam(player, true);
         }
     }
 
@@ -543,24 +664,27 @@ public final class AdvancementTab {
             removePlayer(player, players.remove(player));
     }
 
-    private void removePlayer(@NotNull Player player, Set<MinecraftKeyWrapper> keys) {
-        if (keys == null || keys.isEmpty())
+    private void removePlayer(@NotNull Player player, @Nullable SentAdvancements sent) {
+        if (sent == null || sent.isEmpty())
             return;
-        try {
-            PacketPlayOutAdvancementsWrapper.craftRemovePacket(keys).sendTo(player);
-        } catch (ReflectiveOperationException e) {
-            e.printStackTrace();
-        }
+        updateScheduler.sendInOrder(() -> {
+            try {
+                PacketPlayOutAdvancementsWrapper.craftRemovePacket(sent.definitions.keySet()).sendTo(player);
+            } catch (ReflectiveOperationException e) {
+                e.printStackTrace();
+            }
+        });
     }
 
     void dispose() {
         checkInitialisation();
         disposed = true;
         eventManager.disable();
-        updateManager.dispose();
+        updateScheduler.cancel(this);
+        visibilityCache.clear();
         var it = players.entrySet().iterator();
         while (it.hasNext()) {
-            Entry<Player, Set<MinecraftKeyWrapper>> e = it.next();
+            Entry<Player, SentAdvancements> e = it.next();
             removePlayer(e.getKey(), e.getValue());
             it.remove();
         }
@@ -588,11 +712,39 @@ public final class AdvancementTab {
             }
         }
         advancements.clear();
+        definitionCache.clear();
         rootAdvancement = null;
         advNamespacedKeys = null;
         advsWithoutRoot = null;
     }
 
+    /**
+     * Returns whether only a placeholder of the tab (i.e. only its root advancement) is currently shown to the provided player.
+     * <p>This happens when lazy tab delivery is enabled and the player has not opened the advancement GUI yet
+     * (see {@link AdvancementMain#setLazyTabDelivery(boolean)}).
+     *
+     * @param player The player.
+     * @return Whether only a placeholder of the tab is currently shown to the provided player.
+     * @throws IllegalStateException If the tab is not initialised.
+     * @throws DisposedException If the tab is disposed.
+     */
+    @Contract(pure = true, value = "null -> false")
+    public boolean isPlaceholderShownTo(Player player) {
+        checkInitialisation();
+        SentAdvancements sent = players.get(player);
+        return sent != null && sent.placeholder;
+    }
+
+    /**
+     * Forgets what has been sent to the provided player, so that the next update will send every advancement again.
+     * <p>Should be called when the client state has been reset, for example by a {@code /minecraft:reload}.
+     *
+     * @param player The player.
+     */
+    void forgetSentAdvancements(@NotNull Player player) {
+        players.replace(player, SentAdvancements.EMPTY);
+    }
+
     /**
      * Returns whether the tab is shown to the specified player.
      *
@@ -817,81 +969,225 @@ public final class AdvancementTab {
         return disposed;
     }
 
-    private class AdvsUpdateRunnable implements Runnable {
+    /**
+     * Prepares the update of the advancements of the tab to the provided team's online members.
+     * <p>Only the differences with what has been previously sent to each member are sent.
+     * <p>The returned task crafts the packets of the update. It doesn't access mutable state of the tab, so it can be run
+     * on any thread. The packets are sent by the {@link AdvancementUpdateScheduler} together with the ones of the other tabs.
+     *
+     * @param pro The {@link TeamProgression} of the team.
+     * @return The task crafting the packets to send to every member, or {@code null} if no member is online.
+     */
+    @Nullable
+    Supplier<Map<Player, TabPackets>> prepareUpdate(@NotNull TeamProgression pro) {
+        // Keep additional space for advancements that might be added by Advancement#onUpdate
+        final Map<AdvancementWrapper, Integer> advs = Maps.newHashMapWithExpectedSize(advancements.size() + 16);
+        for (Advancement advancement : advancements.values()) {
+            advancement.onUpdate(pro, advs);
+        }
+
+        final SentAdvancements sent = new SentAdvancements(advs, definitionCache);
+        final MinecraftKeyWrapper rootKey = rootAdvancement.getKey().getNMSWrapper();
+
+        // Snapshot what every online member has currently received
+        final List<MemberUpdate> members = new ArrayList<>();
+        final SentAdvancements placeholder = updateScheduler.isLazyTabDelivery() ? sent.placeholder(rootKey) : sent;
+        pro.forEachMember(u -> {
+            Player player = Bukkit.getPlayer(u);
+            if (player != null) {
+                SentAdvancements target = updateScheduler.shouldSendPlaceholder(player) ? placeholder : sent;
+                @Nullable SentAdvancements previous = players.put(player, target);
+                members.add(new MemberUpdate(player, previous == null ? SentAdvancements.EMPTY : previous, target));
+            }
+        });
 
-        private final Set<TeamProgression> advsToUpdate = new HashSet<>();
-        private boolean scheduled = false;
-        private BukkitTask task;
+        if (members.isEmpty()) {
+            return null;
+        }
 
-        public void schedule(@NotNull TeamProgression progression) {
-            if (!scheduled) {
-                scheduled = true;
-                task = Bukkit.getScheduler().runTaskLater(owningPlugin, this, 1L);
+        return () -> {
+            final Map<Player, TabPackets> packets = Maps.newHashMapWithExpectedSize(members.size());
+            final ISendable thisTab;
+            try {
+                thisTab = PacketPlayOutSelectAdvancementTabWrapper.craftSelect(rootKey);
+            } catch (ReflectiveOperationException e) {
+                e.printStackTrace();
+                return packets;
             }
-            advsToUpdate.add(progression);
+
+            // Members which received the same previous state and have the same target share the same delta
+            final Map<SentAdvancements, Map<SentAdvancements, SyncDelta>> deltas = new IdentityHashMap<>(2);
+
+            for (MemberUpdate member : members) {
+                Map<SentAdvancements, SyncDelta> targetDeltas = deltas.computeIfAbsent(member.target(), t -> new IdentityHashMap<>(4));
+                SyncDelta delta = targetDeltas.get(member.previous());
+                if (delta == null) {
+                    try {
+                        delta = new SyncDelta(member.previous(), member.target());
+                    } catch (ReflectiveOperationException ex) {
+                        System.err.println("An exception occurred while crafting the packets of tab " + namespace + ':');
+                        ex.printStackTrace();
+                        continue;
+                    }
+                    targetDeltas.put(member.previous(), delta);
+                }
+
+                if (delta.isEmpty()) {
+                    continue;
+                }
+
+                if (delta.packets == null) {
+                    List<ISendable> list = new ArrayList<>(3);
+                    if (delta.removePacket != null) {
+                        list.add(delta.removePacket);
+                    }
+                    if (delta.sendPacket != null) {
+                        list.add(delta.sendPacket);
+                    }
+                    if (delta.progressPacket != null) {
+                        list.add(delta.progressPacket);
+                    }
+                    // The visible advancements didn't change when only the progressions did, so there's no need to reselect the tab
+                    delta.packets = new TabPackets(Collections.unmodifiableList(list), delta.isProgressOnly() ? null : thisTab);
+                }
+                packets.put(member.player(), delta.packets);
+            }
+            return packets;
+        };
+    }
+
+    /**
+     * The advancements (and their progressions) last sent to a player.
+     */
+    private static final class SentAdvancements {
+
+        private static final SentAdvancements EMPTY = new SentAdvancements(Collections.emptyMap(), Collections.emptyMap(), false);
+
+        private final Map<MinecraftKeyWrapper, AdvancementWrapper> definitions;
+        private final Map<MinecraftKeyWrapper, Integer> progressions;
+        private final boolean placeholder;
+
+        private SentAdvancements(@NotNull Map<MinecraftKeyWrapper, AdvancementWrapper> definitions, @NotNull Map<MinecraftKeyWrapper, Integer> progressions, boolean placeholder) {
+            this.definitions = definitions;
+            this.progressions = progressions;
+            this.placeholder = placeholder;
         }
 
-        public void dispose() {
-            if (task != null) {
-                task.cancel();
-                advsToUpdate.clear();
-                scheduled = false;
+        private SentAdvancements(@NotNull Map<AdvancementWrapper, Integer> advs, @NotNull Map<MinecraftKeyWrapper, AdvancementWrapper> definitionCache) {
+            Map<MinecraftKeyWrapper, AdvancementWrapper> definitions = Maps.newHashMapWithExpectedSize(advs.size());
+            Map<MinecraftKeyWrapper, Integer> progressions = Maps.newHashMapWithExpectedSize(advs.size());
+            for (Entry<AdvancementWrapper, Integer> e : advs.entrySet()) {
+                AdvancementWrapper wrapper = e.getKey();
+                MinecraftKeyWrapper key = wrapper.getKey();
+                // Reuse the cached definition when it didn't change, otherwise update the cache
+                AdvancementWrapper cached = definitionCache.get(key);
+                if (cached != null && sameDefinition(cached, wrapper)) {
+                    wrapper = cached;
+                } else {
+                    definitionCache.put(key, wrapper);
+                }
+                definitions.put(key, wrapper);
+                progressions.put(key, e.getValue());
             }
+            this.definitions = Collections.unmodifiableMap(definitions);
+            this.progressions = Collections.unmodifiableMap(progressions);
+            this.placeholder = false;
         }
 
-        @Override
-        public void run() {
-            // Keep additional space for advancements that might be added by Advancement#onUpdate
-            final int best = advancements.size() + 16;
-            final Map<AdvancementWrapper, Integer> advs = Maps.newHashMapWithExpectedSize(best);
+        /**
+         * Returns a copy of this state containing only the provided root advancement.
+         *
+         * @param rootKey The key of the root advancement.
+         * @return A copy of this state containing only the provided root advancement.
+         */
+        @NotNull
+        public SentAdvancements placeholder(@NotNull MinecraftKeyWrapper rootKey) {
+            AdvancementWrapper root = definitions.get(rootKey);
+            if (root == null) {
+                return new SentAdvancements(Collections.emptyMap(), Collections.emptyMap(), true);
+            }
+            return new SentAdvancements(Map.of(rootKey, root), Map.of(rootKey, progressions.get(rootKey)), true);
+        }
 
-            for (TeamProgression pro : advsToUpdate) {
-                for (Advancement advancement : advancements.values()) {
-                    advancement.onUpdate(pro, advs);
-                }
+        public boolean isEmpty() {
+            return definitions.isEmpty();
+        }
+    }
+
+    // Definitions are compared using the identity of their display, their max progression and the key of their parent
+    private static boolean sameDefinition(@NotNull AdvancementWrapper sent, @NotNull AdvancementWrapper current) {
+        if (sent == current) {
+            return true;
+        }
+        AdvancementWrapper sentParent = sent.getParent(), currentParent = current.getParent();
+        return sent.getDisplay() == current.getDisplay() && sent.getMaxProgression() == current.getMaxProgression() &&
+                (sentParent == null ? currentParent == null : currentParent != null && sentParent.getKey().equals(currentParent.getKey()));
+    }
+
+    private record MemberUpdate(@NotNull Player player, @NotNull SentAdvancements previous, @NotNull SentAdvancements target) {
+    }
 
-                final Set<MinecraftKeyWrapper> keys = Sets.newHashSetWithExpectedSize(advs.size());
-                for (AdvancementWrapper wrapper : advs.keySet()) {
-                    keys.add(wrapper.getKey());
+    /**
+     * The packets needed to bring a client from a {@link SentAdvancements} state to another one.
+     */
+    private static final class SyncDelta {
+
+        @Nullable
+        private final ISendable removePacket, sendPacket, progressPacket;
+        // Lazily created, shared by every member receiving this delta
+        @Nullable
+        private TabPackets packets;
+
+        private SyncDelta(@NotNull SentAdvancements previous, @NotNull SentAdvancements current) throws ReflectiveOperationException {
+            // Advancements whose definition changed must be removed and sent again,
+            // since the client doesn't replace an advancement which it already knows
+            final Set<MinecraftKeyWrapper> toRemove = new HashSet<>();
+            for (Entry<MinecraftKeyWrapper, AdvancementWrapper> e : previous.definitions.entrySet()) {
+                AdvancementWrapper now = current.definitions.get(e.getKey());
+                if (now == null || !sameDefinition(e.getValue(), now)) {
+                    toRemove.add(e.getKey());
                 }
+            }
 
-                ISendable sendPacket, noTab, thisTab;
-                try {
-                    sendPacket = PacketPlayOutAdvancementsWrapper.craftSendPacket(advs);
-                    noTab = PacketPlayOutSelectAdvancementTabWrapper.craftSelectNone();
-                    thisTab = PacketPlayOutSelectAdvancementTabWrapper.craftSelect(rootAdvancement.getKey().getNMSWrapper());
-                } catch (ReflectiveOperationException e) {
-                    e.printStackTrace();
-                    continue;
+            final Map<AdvancementWrapper, Integer> toSend = new HashMap<>();
+            final Map<AdvancementWrapper, Integer> toUpdate = new HashMap<>();
+            final Map<MinecraftKeyWrapper, Boolean> removedOnClient = new HashMap<>();
+            for (Entry<MinecraftKeyWrapper, AdvancementWrapper> e : current.definitions.entrySet()) {
+                MinecraftKeyWrapper key = e.getKey();
+                Integer progression = current.progressions.get(key);
+                if (!previous.definitions.containsKey(key) || isRemovedOnClient(key, previous, toRemove, removedOnClient)) {
+                    toSend.put(e.getValue(), progression);
+                } else if (!progression.equals(previous.progressions.get(key))) {
+                    toUpdate.put(e.getValue(), progression);
                 }
+            }
 
-                pro.forEachMember(u -> {
-                    Player player = Bukkit.getPlayer(u);
-                    if (player != null) {
-                        noTab.sendTo(player);
-
-                        @Nullable Set<MinecraftKeyWrapper> set = players.put(player, keys);
-                        if (set != null && !set.isEmpty()) {
-                            try {
-                                PacketPlayOutAdvancementsWrapper.craftRemovePacket(set).sendTo(player);
-                            } catch (ReflectiveOperationException e) {
-                                e.printStackTrace();
-                                players.put(player, set);
-                                thisTab.sendTo(player);
-                                return; // TODO Check
-                            }
-                        }
-
-                        sendPacket.sendTo(player);
-                        thisTab.sendTo(player);
-                    }
-                });
+            this.removePacket = toRemove.isEmpty() ? null : PacketPlayOutAdvancementsWrapper.craftRemovePacket(toRemove);
+            this.sendPacket = toSend.isEmpty() ? null : PacketPlayOutAdvancementsWrapper.craftSendPacket(toSend);
+            this.progressPacket = toUpdate.isEmpty() ? null : PacketPlayOutAdvancementsWrapper.craftProgressPacket(toUpdate);
+        }
+
+        public boolean isEmpty() {
+            return removePacket == null && sendPacket == null && progressPacket == null;
+        }
 
-                advs.clear();
+        public boolean isProgressOnly() {
+            return removePacket == null && sendPacket == null && progressPacket != null;
+        }
+
+        // The client removes the children of a removed advancement too
+        private static boolean isRemovedOnClient(@NotNull MinecraftKeyWrapper key, @NotNull SentAdvancements previous, @NotNull Set<MinecraftKeyWrapper> toRemove, @NotNull Map<MinecraftKeyWrapper, Boolean> cache) {
+            if (toRemove.contains(key)) {
+                return true;
+            }
+            Boolean cached = cache.get(key);
+            if (cached != null) {
+                return cached;
             }
-            task = null;
-            advsToUpdate.clear();
-            scheduled = false;
+            AdvancementWrapper parent = previous.definitions.get(key).getParent();
+            boolean removed = parent != null && previous.definitions.containsKey(parent.getKey()) && isRemovedOnClient(parent.getKey(), previous, toRemove, cache);
+            cache.put(key, removed);
+            return removed;
         }
     }
 }
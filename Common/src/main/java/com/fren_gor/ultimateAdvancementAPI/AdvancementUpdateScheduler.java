@@ -0,0 +1,399 @@
+package com.fren_gor.ultimateAdvancementAPI;
+
+import com.fren_gor.ultimateAdvancementAPI.advancement.Advancement;
+import com.fren_gor.ultimateAdvancementAPI.database.TeamProgression;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets.ISendable;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets.PacketBundleWrapper;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets.PacketPlayOutSelectAdvancementTabWrapper;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Sends the advancement updates of every {@link AdvancementTab}.
+ * <p>At most {@link #getTimeBudget()} milliseconds per tick are spent sending updates, the remaining ones are carried to the next tick.
+ * Priority updates (like the ones sent on join or when a tab is shown) are always sent before the other ones.
+ * <p>The packets of every tab updated in the same tick are sent to each player as a single {@link PacketBundleWrapper}.
+ * <p>Optionally, the packets can be assembled and sent by a pool of worker threads (see {@link #setAsyncPacketAssembly(boolean)}).
+ * In that case, only {@link Advancement#onUpdate(TeamProgression, Map)} is called on the main thread.
+ * <p>When lazy tab delivery is enabled (see {@link #setLazyTabDelivery(boolean)}), only the root advancements
+ * are sent to the players who haven't opened the advancement GUI yet.
+ */
+final class AdvancementUpdateScheduler implements Runnable {
+
+    /**
+     * The default time budget (in milliseconds).
+     */
+    static final int DEFAULT_TIME_BUDGET = 5;
+
+    private final Plugin owningPlugin;
+    // LinkedHashSets keep the scheduling order and discard duplicated updates
+    private final Set<PendingUpdate> priorityUpdates = new LinkedHashSet<>();
+    private final Set<PendingUpdate> updates = new LinkedHashSet<>();
+    private long timeBudget = TimeUnit.MILLISECONDS.toNanos(DEFAULT_TIME_BUDGET);
+    @Nullable
+    private BukkitTask task;
+    @Nullable
+    private ExecutorService packetExecutor;
+    @Nullable
+    private CompletableFuture<Void> pendingSends;
+    private boolean lazyTabDelivery = false;
+    private final Set<Player> advancementGuiOpened = new HashSet<>();
+
+    AdvancementUpdateScheduler(@NotNull Plugin owningPlugin) {
+        this.owningPlugin = Objects.requireNonNull(owningPlugin, "Plugin is null.");
+    }
+
+    /**
+     * Schedules an update of the provided tab to the provided team.
+     *
+     * @param tab The tab to update.
+     * @param pro The {@link TeamProgression} of the team.
+     * @param priority Whether the update should be sent before the non-priority ones.
+     */
+    void schedule(@NotNull AdvancementTab tab, @NotNull TeamProgression pro, boolean priority) {
+        PendingUpdate update = new PendingUpdate(tab, pro);
+        if (priority) {
+            updates.remove(update);
+            priorityUpdates.add(update);
+        } else if (!priorityUpdates.contains(update)) {
+            updates.add(update);
+        }
+
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(owningPlugin, this, 1L, 1L);
+        }
+    }
+
+    /**
+     * Discards every pending update of the provided tab.
+     *
+     * @param tab The tab.
+     */
+    void cancel(@NotNull AdvancementTab tab) {
+        priorityUpdates.removeIf(u -> u.tab() == tab);
+        updates.removeIf(u -> u.tab() == tab);
+    }
+
+    /**
+     * Discards every pending update and stops the scheduler.
+     */
+    void dispose() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        priorityUpdates.clear();
+        updates.clear();
+        setAsyncPacketAssembly(false);
+        advancementGuiOpened.clear();
+    }
+
+    /**
+     * Gets the maximum time (in milliseconds) spent per tick sending advancement updates.
+     *
+     * @return The maximum time (in milliseconds) spent per tick sending advancement updates.
+     */
+    int getTimeBudget() {
+        return (int) TimeUnit.NANOSECONDS.toMillis(timeBudget);
+    }
+
+    /**
+     * Sets the maximum time (in milliseconds) spent per tick sending advancement updates.
+     * <p>At least one update is sent every tick, regardless of the budget.
+     *
+     * @param timeBudget The maximum time (in milliseconds). Must be greater than zero.
+     */
+    void setTimeBudget(@Range(from = 1, to = Integer.MAX_VALUE) int timeBudget) {
+        Preconditions.checkArgument(timeBudget > 0, "Time budget must be greater than zero.");
+        this.timeBudget = TimeUnit.MILLISECONDS.toNanos(timeBudget);
+    }
+
+    /**
+     * Gets the {@link Executor} used to assemble and send advancement packets.
+     *
+     * @return The {@link Executor} used to assemble and send advancement packets,
+     *         or {@code null} if packets are assembled and sent on the main thread.
+     */
+    @Nullable
+    Executor getPacketExecutor() {
+        return packetExecutor;
+    }
+
+    /**
+     * Sets whether to assemble and send advancement packets on a pool of worker threads.
+     * <p>When disabled, already scheduled packets are sent anyway.
+     *
+     * @param async Whether to assemble and send advancement packets on a pool of worker threads.
+     */
+    void setAsyncPacketAssembly(boolean async) {
+        if (async) {
+            if (packetExecutor == null) {
+                int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+                packetExecutor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+                        .setNameFormat(owningPlugin.getName() + " Advancement Packets Thread #%d")
+                        .setDaemon(true)
+                        .build());
+            }
+        } else if (packetExecutor != null) {
+            // Let the already submitted tasks complete
+            packetExecutor.shutdown();
+            packetExecutor = null;
+        }
+    }
+
+    boolean isLazyTabDelivery() {
+        return lazyTabDelivery;
+    }
+
+    void setLazyTabDelivery(boolean lazyTabDelivery) {
+        this.lazyTabDelivery = lazyTabDelivery;
+        if (!lazyTabDelivery) {
+            advancementGuiOpened.clear();
+        }
+    }
+
+    /**
+     * Marks the provided player as having opened the advancement GUI.
+     *
+     * @param player The player.
+     * @return Whether the player hadn't already been marked.
+     */
+    boolean onAdvancementGuiOpen(@NotNull Player player) {
+        return advancementGuiOpened.add(player);
+    }
+
+    void onQuit(@NotNull Player player) {
+        advancementGuiOpened.remove(player);
+    }
+
+    /**
+     * Returns whether only the root advancement of tabs should be sent to the provided player.
+     *
+     * @param player The player.
+     * @return Whether only the root advancement of tabs should be sent to the provided player.
+     */
+    boolean shouldSendPlaceholder(@NotNull Player player) {
+        return lazyTabDelivery && !advancementGuiOpened.contains(player);
+    }
+
+    /**
+     * Runs the provided packet sending task after the previously scheduled ones.
+     * <p>The task is run on the packet executor if one is present (see {@link #setAsyncPacketAssembly(boolean)}),
+     * otherwise it's run in the current thread as soon as every previous task has been completed.
+     *
+     * @param task The task. Must not access mutable state of the tabs.
+     */
+    void sendInOrder(@NotNull Runnable task) {
+        final Runnable safeTask = () -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                System.err.println("An exception occurred while sending advancements to players:");
+                e.printStackTrace();
+            }
+        };
+
+        final Executor executor = packetExecutor;
+        final CompletableFuture<Void> pending = this.pendingSends;
+        if (pending != null && !pending.isDone()) {
+            // Packets must be sent in the same order they have been computed.
+            // The task is run by the thread completing the previous one, so it cannot be rejected by a shut down executor
+            this.pendingSends = pending.thenRun(safeTask);
+        } else if (executor != null) {
+            this.pendingSends = CompletableFuture.runAsync(safeTask, executor);
+        } else {
+            this.pendingSends = null;
+            safeTask.run();
+        }
+    }
+
+    @Override
+    public void run() {
+        final long start = System.nanoTime();
+        final List<Supplier<Map<Player, TabPackets>>> assemblies = new ArrayList<>();
+        try {
+            do {
+                PendingUpdate update = poll(priorityUpdates);
+                if (update == null) {
+                    update = poll(updates);
+                    if (update == null) {
+                        // Nothing left to do, stop until the next update is scheduled
+                        if (task != null) {
+                            task.cancel();
+                            task = null;
+                        }
+                        return;
+                    }
+                }
+
+                if (update.tab().isActive()) {
+                    try {
+                        Supplier<Map<Player, TabPackets>> assembly = update.tab().prepareUpdate(update.pro());
+                        if (assembly != null) {
+                            assemblies.add(assembly);
+                        }
+                    } catch (Exception e) {
+                        System.err.println("An exception occurred while updating tab " + update.tab() + ':');
+                        e.printStackTrace();
+                    }
+                }
+            } while (System.nanoTime() - start < timeBudget);
+        } finally {
+            send(assemblies);
+        }
+    }
+
+    /**
+     * Crafts the packets of the provided tab updates and sends them after the previously scheduled ones.
+     * <p>When the packet executor is present, the packets of every tab are crafted in parallel.
+     *
+     * @param assemblies The tasks crafting the packets of every tab update, in order.
+     */
+    private void send(@NotNull List<Supplier<Map<Player, TabPackets>>> assemblies) {
+        if (assemblies.isEmpty()) {
+            return;
+        }
+        final Executor executor = packetExecutor;
+        if (executor == null) {
+            sendInOrder(() -> {
+                List<Map<Player, TabPackets>> packets = new ArrayList<>(assemblies.size());
+                for (Supplier<Map<Player, TabPackets>> assembly : assemblies) {
+                    packets.add(assemble(assembly));
+                }
+                sendBundles(packets);
+            });
+            return;
+        }
+
+        final List<CompletableFuture<Map<Player, TabPackets>>> futures = new ArrayList<>(assemblies.size());
+        for (Supplier<Map<Player, TabPackets>> assembly : assemblies) {
+            futures.add(CompletableFuture.supplyAsync(() -> assemble(assembly), executor));
+        }
+        CompletableFuture<Void> ready = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+        final CompletableFuture<Void> pending = this.pendingSends;
+        if (pending != null && !pending.isDone()) {
+            // Packets must be sent in the same order they have been computed
+            ready = CompletableFuture.allOf(ready, pending);
+        }
+        this.pendingSends = ready.thenRun(() -> {
+            List<Map<Player, TabPackets>> packets = new ArrayList<>(futures.size());
+            for (CompletableFuture<Map<Player, TabPackets>> future : futures) {
+                packets.add(future.join());
+            }
+            sendBundles(packets);
+        });
+    }
+
+    @NotNull
+    private static Map<Player, TabPackets> assemble(@NotNull Supplier<Map<Player, TabPackets>> assembly) {
+        try {
+            return assembly.get();
+        } catch (Exception e) {
+            System.err.println("An exception occurred while crafting advancement packets:");
+            e.printStackTrace();
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * Sends the packets of the provided tab updates, sending a single {@link PacketBundleWrapper} to each player.
+     *
+     * @param updates The packets of every tab update, in order.
+     */
+    private static void sendBundles(@NotNull List<Map<Player, TabPackets>> updates) {
+        final Map<Player, List<TabPackets>> players = new LinkedHashMap<>();
+        for (Map<Player, TabPackets> update : updates) {
+            for (Entry<Player, TabPackets> e : update.entrySet()) {
+                players.computeIfAbsent(e.getKey(), p -> new ArrayList<>(updates.size())).add(e.getValue());
+            }
+        }
+        if (players.isEmpty()) {
+            return;
+        }
+
+        final ISendable noTab;
+        try {
+            noTab = PacketPlayOutSelectAdvancementTabWrapper.craftSelectNone();
+        } catch (ReflectiveOperationException e) {
+            e.printStackTrace();
+            return;
+        }
+
+        for (Entry<Player, List<TabPackets>> e : players.entrySet()) {
+            final Player player = e.getKey();
+            final List<ISendable> packets = new ArrayList<>();
+            ISendable select = null;
+            for (TabPackets tab : e.getValue()) {
+                packets.addAll(tab.packets());
+                if (tab.select() != null) {
+                    select = tab.select();
+                }
+            }
+            if (select != null) {
+                // Deselect and then select the last updated tab, so that the client rebuilds the GUI
+                packets.add(0, noTab);
+                packets.add(select);
+            }
+
+            try {
+                if (packets.size() == 1) {
+                    packets.get(0).sendTo(player);
+                } else {
+                    // Send every packet at once, so the client rebuilds the GUI only once
+                    PacketBundleWrapper.craftBundle(packets).sendTo(player);
+                }
+            } catch (Exception ex) {
+                System.err.println("An exception occurred while sending advancements to " + player.getName() + ':');
+                ex.printStackTrace();
+            }
+        }
+    }
+
+    @Nullable
+    private static PendingUpdate poll(@NotNull Set<PendingUpdate> set) {
+        Iterator<PendingUpdate> it = set.iterator();
+        if (!it.hasNext()) {
+            return null;
+        }
+        PendingUpdate update = it.next();
+        it.remove();
+        return update;
+    }
+
+    private record PendingUpdate(@NotNull AdvancementTab tab, @NotNull TeamProgression pro) {
+    }
+
+    /**
+     * The packets updating a tab to a player.
+     *
+     * @param packets The packets to send, in order.
+     * @param select The packet selecting the tab after the update, or {@code null} if the tab doesn't have to be reselected.
+     */
+    record TabPackets(@NotNull List<ISendable> packets, @Nullable ISendable select) {
+    }
+}
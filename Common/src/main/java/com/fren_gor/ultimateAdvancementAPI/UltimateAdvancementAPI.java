@@ -27,6 +27,7 @@ import org.jetbrains.annotations.UnmodifiableView;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
@@ -768,6 +769,23 @@ public final class UltimateAdvancementAPI {
         callSyncIfNotNull(getMain().getDatabaseManager().loadOfflinePlayer(uuid, option), action);
     }
 
+    /**
+     * Loads the provided players from the database with the specified {@link CacheFreeingOption}.
+     * <p>The players are loaded in bulk, so this method should be preferred over calling
+     * {@link #loadOfflinePlayer(UUID, CacheFreeingOption, Consumer)} for every player.
+     * <p>For more information about the {@link CacheFreeingOption} see {@link DatabaseManager#loadOfflinePlayer(UUID, CacheFreeingOption)}.
+     * <p>For more information about the caching system see {@link DatabaseManager}.
+     *
+     * @param uuids The {@link UUID}s of the players to load.
+     * @param option The chosen {@link CacheFreeingOption}.
+     * @param action A {@link Consumer} that is called synchronously after the operation with an {@link ObjectResult},
+     *         which provides a map which maps the {@link UUID} of every loaded player to their team's {@link TeamProgression}.
+     *         Players who are not registered are not contained in the map.
+     */
+    public void loadOfflinePlayers(@NotNull Collection<UUID> uuids, @NotNull CacheFreeingOption option, @Nullable Consumer<ObjectResult<@Nullable Map<UUID, TeamProgression>>> action) {
+        callSyncIfNotNull(getMain().getDatabaseManager().loadOfflinePlayers(uuids, option), action);
+    }
+
     /**
      * Returns whether at least one loading request is currently active for the specified offline player.
      *
@@ -0,0 +1,113 @@
+package com.fren_gor.ultimateAdvancementAPI;
+
+import com.fren_gor.ultimateAdvancementAPI.database.TeamProgression;
+import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cached results of the Advancement Visibility System of the advancements of a tab, for every team.
+ * <p>The built-in visibilities depend only on the progressions of the advancement, its parents and its grandparents,
+ * so the cached visibility of an advancement is invalidated when any of them changes.
+ * <p>This class is not thread safe.
+ */
+final class VisibilityCache {
+
+    private final String namespace;
+    private final Map<TeamProgression, Map<AdvancementKey, Boolean>> cache = new HashMap<>();
+    // Keys of the direct children of every registered advancement
+    private Map<AdvancementKey, Set<AdvancementKey>> children = Collections.emptyMap();
+
+    /**
+     * Creates a new empty {@code VisibilityCache}.
+     *
+     * @param namespace The namespace of the tab.
+     */
+    VisibilityCache(@NotNull String namespace) {
+        this.namespace = namespace;
+    }
+
+    /**
+     * Sets the dependency index of the tab and clears the cached visibilities.
+     *
+     * @param children The keys of the direct children of every registered advancement.
+     */
+    void setChildren(@NotNull Map<AdvancementKey, Set<AdvancementKey>> children) {
+        this.children = children;
+        cache.clear();
+    }
+
+    /**
+     * Gets the cached visibility of the provided advancement for the provided team.
+     *
+     * @param pro The {@link TeamProgression} of the team.
+     * @param key The key of the advancement.
+     * @return The cached visibility, or {@code null} if it isn't cached.
+     */
+    @Nullable
+    Boolean get(@NotNull TeamProgression pro, @NotNull AdvancementKey key) {
+        Map<AdvancementKey, Boolean> teamCache = cache.get(pro);
+        return teamCache == null ? null : teamCache.get(key);
+    }
+
+    /**
+     * Caches the visibility of the provided advancement for the provided team.
+     *
+     * @param pro The {@link TeamProgression} of the team.
+     * @param key The key of the advancement.
+     * @param visible Whether the advancement is visible to the team.
+     */
+    void put(@NotNull TeamProgression pro, @NotNull AdvancementKey key, boolean visible) {
+        cache.computeIfAbsent(pro, p -> new HashMap<>()).put(key, visible);
+    }
+
+    /**
+     * Invalidates the cached visibilities which depend on the progression of the provided advancement,
+     * that is the ones of the advancement, its children and its grandchildren.
+     *
+     * @param pro The {@link TeamProgression} of the team whose progression changed.
+     * @param key The key of the advancement whose progression changed.
+     */
+    void invalidate(@NotNull TeamProgression pro, @NotNull AdvancementKey key) {
+        Map<AdvancementKey, Boolean> teamCache = cache.get(pro);
+        if (teamCache == null) {
+            return;
+        }
+        Set<AdvancementKey> dependents = children.get(key);
+        if (dependents == null) {
+            // Not a registered advancement (like a task of a multi-tasks advancement), so its dependents are unknown
+            if (namespace.equals(key.getNamespace())) {
+                cache.remove(pro);
+            }
+            return;
+        }
+        teamCache.remove(key);
+        for (AdvancementKey child : dependents) {
+            teamCache.remove(child);
+            for (AdvancementKey grandchild : children.getOrDefault(child, Collections.emptySet())) {
+                teamCache.remove(grandchild);
+            }
+        }
+    }
+
+    /**
+     * Removes every cached visibility of the provided team.
+     *
+     * @param pro The {@link TeamProgression} of the team.
+     */
+    void remove(@NotNull TeamProgression pro) {
+        cache.remove(pro);
+    }
+
+    /**
+     * Removes every cached visibility.
+     */
+    void clear() {
+        cache.clear();
+    }
+}
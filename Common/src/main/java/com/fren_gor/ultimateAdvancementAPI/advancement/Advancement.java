@@ -13,7 +13,10 @@ import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.advancement.AdvancementW
 import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
 import com.fren_gor.ultimateAdvancementAPI.util.AdvancementUtils;
 import com.fren_gor.ultimateAdvancementAPI.util.AfterHandle;
+import com.fren_gor.ultimateAdvancementAPI.visibilities.HiddenVisibility;
 import com.fren_gor.ultimateAdvancementAPI.visibilities.IVisibility;
+import com.fren_gor.ultimateAdvancementAPI.visibilities.ParentGrantedVisibility;
+import com.fren_gor.ultimateAdvancementAPI.visibilities.VanillaVisibility;
 import com.google.common.base.Preconditions;
 import net.md_5.bungee.api.ChatColor;
 import net.md_5.bungee.api.chat.BaseComponent;
@@ -34,6 +37,7 @@ import org.jetbrains.annotations.Range;
 
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.Map;
 import java.util.Objects;
@@ -81,8 +85,30 @@ public abstract class Advancement {
     @Range(from = 1, to = Integer.MAX_VALUE)
     protected final int maxProgression;
 
+    // The IVisibility#isVisible(Advancement, TeamProgression) method of every advancement class, resolved once per class
+    private static final ClassValue<VisibilityMethod> VISIBILITY_METHODS = new ClassValue<>() {
+        @Override
+        protected VisibilityMethod computeValue(Class<?> type) {
+            if (!IVisibility.class.isAssignableFrom(type)) {
+                return VisibilityMethod.NONE;
+            }
+            Class<?> visibility = getIVisibilityInterface(type.asSubclass(Advancement.class));
+            MethodHandle method = visibility == null ? null : getIVisibilityMethod(visibility);
+            if (method == null) {
+                return VisibilityMethod.NONE;
+            }
+            // The built-in visibilities depend only on the progressions of the advancement, its parents and its grandparents
+            return new VisibilityMethod(method, visibility == HiddenVisibility.class || visibility == ParentGrantedVisibility.class || visibility == VanillaVisibility.class);
+        }
+    };
+
+    // Shared by every advancement of the same class
     @Nullable
     private final MethodHandle iVisibilityMethod;
+    // Whether the result of the AVS can be cached by the tab, see AdvancementTab#getCachedVisibility(Advancement, TeamProgression)
+    private final boolean cacheableVisibility;
+    // The index of the advancement in its tab, assigned when the tab is initialised. See AdvancementTab#getAdvancementByOrdinal(int)
+    private int ordinal = -1;
 
     private Advancement() {
         throw new UnsupportedOperationException("Private constructor.");
@@ -121,11 +147,9 @@ public abstract class Advancement {
         this.key = new AdvancementKey(advancementTab.getNamespace(), key);
         this.display = Objects.requireNonNull(display, "Display is null.");
         this.maxProgression = maxProgression;
-        if (this instanceof IVisibility) {
-            this.iVisibilityMethod = getIVisibilityMethod(getClass());
-        } else {
-            this.iVisibilityMethod = null;
-        }
+        final VisibilityMethod visibilityMethod = VISIBILITY_METHODS.get(getClass());
+        this.iVisibilityMethod = visibilityMethod.method();
+        this.cacheableVisibility = visibilityMethod.cacheable();
     }
 
     /**
@@ -148,6 +172,32 @@ public abstract class Advancement {
         return advancementTab;
     }
 
+    /**
+     * Gets the ordinal of the advancement, which is its index among the advancements of its tab.
+     * <p>Ordinals are assigned when the tab is initialised and never change afterwards.
+     *
+     * @return The ordinal of the advancement, or {@code -1} if it hasn't been registered in its tab.
+     * @hidden
+     */
+    @Internal
+    public final int getOrdinal() {
+        return ordinal;
+    }
+
+    /**
+     * Sets the ordinal of the advancement. Called by the advancement tab when it is initialised.
+     *
+     * @param ordinal The ordinal of the advancement.
+     * @throws IllegalStateException If the ordinal has already been assigned.
+     * @hidden
+     */
+    @Internal
+    public final void setOrdinal(@Range(from = 0, to = Integer.MAX_VALUE) int ordinal) {
+        Preconditions.checkState(this.ordinal == -1, "Ordinal has already been assigned.");
+        Preconditions.checkArgument(ordinal >= 0, "Ordinal is negative.");
+        this.ordinal = ordinal;
+    }
+
     /**
      * Gets the maximum progression of the advancement.
      *
@@ -158,6 +208,43 @@ public abstract class Advancement {
         return maxProgression;
     }
 
+    /**
+     * Gets the maximum progression shown to players.
+     * <p>Players receive one criterion for every progression point, so the packets of advancements with a very high
+     * maximum progression (like "mine 100000 blocks") are big and slow to build.
+     * This method can be overridden to cap the number of criteria sent to players. In that case, the progression
+     * of teams is mapped proportionally when the advancement is sent (see {@link #getDisplayedProgression(int)}),
+     * while the saved progression keeps its exact value.
+     * <p>The returned value must never change and should not be greater than {@link #getMaxProgression()}.
+     *
+     * @return The maximum progression shown to players. By default, it's {@link #getMaxProgression()}.
+     */
+    @Range(from = 1, to = Integer.MAX_VALUE)
+    public int getMaxDisplayedProgression() {
+        return maxProgression;
+    }
+
+    /**
+     * Maps the provided progression to the progression shown to players.
+     * <p>The advancement is shown as completed only if the provided progression is greater or equal to {@link #getMaxProgression()}.
+     *
+     * @param progression The progression to map.
+     * @return The progression shown to players, between {@code 0} and {@link #getMaxDisplayedProgression()}.
+     * @see #getMaxDisplayedProgression()
+     */
+    @Range(from = 0, to = Integer.MAX_VALUE)
+    public final int getDisplayedProgression(@Range(from = 0, to = Integer.MAX_VALUE) int progression) {
+        final int maxDisplayedProgression = getMaxDisplayedProgression();
+        if (progression >= maxProgression) {
+            return maxDisplayedProgression;
+        }
+        if (maxDisplayedProgression >= maxProgression) {
+            return Math.max(progression, 0);
+        }
+        // Rounded down, so that an incomplete advancement is never shown as completed
+        return (int) ((long) Math.max(progression, 0) * maxDisplayedProgression / maxProgression);
+    }
+
     /**
      * Gets the current progression of the provided player's team.
      *
@@ -544,8 +631,20 @@ public abstract class Advancement {
         validateTeamProgression(progression);
         // Advancement visibility system
         if (iVisibilityMethod != null) {
+            if (cacheableVisibility) {
+                Boolean cached = advancementTab.getCachedVisibility(this, progression);
+                if (cached != null) {
+                    return cached;
+                }
+            }
             try {
-                return (boolean) iVisibilityMethod.invokeWithArguments(this, progression);
+                // The handle type is exactly (Advancement, TeamProgression)boolean, so no boxing or varargs array is needed.
+                // The handle isn't a constant, so the JIT doesn't inline the call
+                boolean visible = (boolean) iVisibilityMethod.invokeExact(this, progression);
+                if (cacheableVisibility) {
+                    advancementTab.cacheVisibility(this, progression, visible);
+                }
+                return visible;
             } catch (Throwable e) {
                 e.printStackTrace();
             }
@@ -576,7 +675,14 @@ public abstract class Advancement {
         // Show Toast
         if (display.doesShowToast()) {
             // TODO Find a better solution
-            runSync(advancementTab.getOwningPlugin(), 2, () -> AdvancementUtils.displayToastDuringUpdate(player, this));
+            runSync(advancementTab.getOwningPlugin(), 2, () -> {
+                if (advancementTab.isActive() && advancementTab.isPlaceholderShownTo(player)) {
+                    // This advancement hasn't been sent to the player, so it cannot be the parent of the toast
+                    AdvancementUtils.displayToast(player, display.getIcon(), display.getTitle(), display.getFrame());
+                } else {
+                    AdvancementUtils.displayToastDuringUpdate(player, this);
+                }
+            });
         }
 
         if (giveRewards)
@@ -620,11 +726,11 @@ public abstract class Advancement {
      *
      * @param teamProgression The {@link TeamProgression} of the team of the player(s).
      * @param addedAdvancements The {@link Map} in which the advancements to be sent are added as keys.
-     *         The values are the current progressions of the team.
+     *         The values are the current progressions of the team, mapped using {@link #getDisplayedProgression(int)}.
      */
     public void onUpdate(@NotNull TeamProgression teamProgression, @NotNull Map<AdvancementWrapper, Integer> addedAdvancements) {
         if (isVisible(teamProgression)) {
-            addedAdvancements.put(getNMSWrapper(), getProgression(teamProgression));
+            addedAdvancements.put(getNMSWrapper(), getDisplayedProgression(getProgression(teamProgression)));
         }
     }
 
@@ -750,32 +856,53 @@ public abstract class Advancement {
     }
 
     /**
-     * Gets the right {@link IVisibility} sub-interface method that will be used by the advancement visibility system.
+     * Gets the right {@link IVisibility} sub-interface that will be used by the advancement visibility system.
      *
      * @param clazz The class to analyze.
-     * @return The right {@link IVisibility#isVisible(Advancement, TeamProgression)} {@link MethodHandle} or {@code null}.
+     * @return The first {@link IVisibility} sub-interface which provides a default {@link IVisibility#isVisible(Advancement, TeamProgression)} or {@code null}.
      */
-    private MethodHandle getIVisibilityMethod(Class<? extends Advancement> clazz) {
+    @Nullable
+    private static Class<?> getIVisibilityInterface(Class<? extends Advancement> clazz) {
         for (Class<?> i : clazz.getInterfaces()) {
             if (i != IVisibility.class && IVisibility.class.isAssignableFrom(i)) {
                 try {
-                    final Method m = i.getDeclaredMethod("isVisible", Advancement.class, TeamProgression.class);
-                    if (m.isDefault()) {
-                        // Make sure the interface method is called instead of Advancement#isVisible(Advancement, TeamProgression)
-                        return MethodHandles.lookup().unreflectSpecial(m, i).bindTo(this);
+                    if (i.getDeclaredMethod("isVisible", Advancement.class, TeamProgression.class).isDefault()) {
+                        return i;
                     }
-                } catch (NoSuchMethodException | IllegalAccessException e) {
+                } catch (NoSuchMethodException e) {
                     // No method found, continue
                 }
             }
         }
         Class<?> sClazz = clazz.getSuperclass();
         if (Advancement.class.isAssignableFrom(sClazz) && sClazz != Advancement.class) {
-            return getIVisibilityMethod(sClazz.asSubclass(Advancement.class));
+            return getIVisibilityInterface(sClazz.asSubclass(Advancement.class));
         }
         return null;
     }
 
+    /**
+     * Gets the {@link IVisibility#isVisible(Advancement, TeamProgression)} method of the provided {@link IVisibility} sub-interface.
+     *
+     * @param visibility The {@link IVisibility} sub-interface.
+     * @return The {@link IVisibility#isVisible(Advancement, TeamProgression)} {@link MethodHandle} or {@code null}.
+     *         The handle has type {@code (Advancement, TeamProgression)boolean} and calls the method on the provided advancement.
+     */
+    @Nullable
+    private static MethodHandle getIVisibilityMethod(Class<?> visibility) {
+        try {
+            final Method m = visibility.getDeclaredMethod("isVisible", Advancement.class, TeamProgression.class);
+            // Make sure the interface method is called instead of Advancement#isVisible(Advancement, TeamProgression)
+            MethodHandle handle = MethodHandles.lookup().unreflectSpecial(m, visibility)
+                    .asType(MethodType.methodType(boolean.class, Advancement.class, Advancement.class, TeamProgression.class));
+            // The advancement is both the receiver and the first argument
+            return MethodHandles.permuteArguments(handle, MethodType.methodType(boolean.class, Advancement.class, TeamProgression.class), 0, 0, 1);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
     /**
      * Gets the {@link AdvancementDisplay} of this advancement.
      *
@@ -802,4 +929,8 @@ public abstract class Advancement {
     public final boolean isVisible(Advancement advancement, TeamProgression progression) {
         throw new IllegalOperationException("This method cannot be called. Use Advancement#isVisible(TeamProgression).");
     }
+
+    private record VisibilityMethod(@Nullable MethodHandle method, boolean cacheable) {
+        private static final VisibilityMethod NONE = new VisibilityMethod(null, false);
+    }
 }
@@ -71,7 +71,7 @@ public class BaseAdvancement extends Advancement {
         }
 
         try {
-            return wrapper = AdvancementWrapper.craftBaseAdvancement(key.getNMSWrapper(), parent.getNMSWrapper(), display.getNMSWrapper(this), maxProgression);
+            return wrapper = AdvancementWrapper.craftBaseAdvancement(key.getNMSWrapper(), parent.getNMSWrapper(), display.getNMSWrapper(this), getMaxDisplayedProgression());
         } catch (ReflectiveOperationException e) {
             throw new RuntimeException(e);
         }
@@ -66,7 +66,7 @@ public class RootAdvancement extends Advancement {
         }
 
         try {
-            return wrapper = AdvancementWrapper.craftRootAdvancement(key.getNMSWrapper(), display.getNMSWrapper(this), maxProgression);
+            return wrapper = AdvancementWrapper.craftRootAdvancement(key.getNMSWrapper(), display.getNMSWrapper(this), getMaxDisplayedProgression());
         } catch (ReflectiveOperationException e) {
             throw new RuntimeException(e);
         }
@@ -16,6 +16,7 @@ import org.jetbrains.annotations.Range;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
@@ -33,6 +34,8 @@ public class MultiParentsAdvancement extends AbstractMultiParentsAdvancement {
 
     @LazyValue
     private PreparedAdvancementWrapper wrapper;
+    // Cache of the NMS wrappers of this advancement, one for each parent
+    private final Map<BaseAdvancement, AdvancementWrapper> wrappers = new HashMap<>();
 
     /**
      * Creates a new {@code MultiParentsAdvancement} with a maximum progression of {@code 1}.
@@ -113,7 +116,7 @@ public class MultiParentsAdvancement extends AbstractMultiParentsAdvancement {
             if (tmp == null) {
                 tmp = getParent();
             }
-            addedAdvancements.put(getNMSWrapper(tmp), getProgression(teamProgression));
+            addedAdvancements.put(getNMSWrapper(tmp), getDisplayedProgression(getProgression(teamProgression)));
         }
     }
 
@@ -292,14 +295,20 @@ public class MultiParentsAdvancement extends AbstractMultiParentsAdvancement {
      */
     @NotNull
     protected AdvancementWrapper getNMSWrapper(@NotNull BaseAdvancement advancement) {
+        AdvancementWrapper cached = wrappers.get(advancement);
+        if (cached != null) {
+            return cached;
+        }
         setUpWrapper();
-        return wrapper.toBaseAdvancementWrapper(advancement.getNMSWrapper());
+        AdvancementWrapper adv = wrapper.toBaseAdvancementWrapper(advancement.getNMSWrapper());
+        wrappers.put(advancement, adv);
+        return adv;
     }
 
     private void setUpWrapper() {
         if (wrapper == null) {
             try {
-                wrapper = PreparedAdvancementWrapper.craft(this.key.getNMSWrapper(), this.display.getNMSWrapper(this), maxProgression);
+                wrapper = PreparedAdvancementWrapper.craft(this.key.getNMSWrapper(), this.display.getNMSWrapper(this), getMaxDisplayedProgression());
             } catch (ReflectiveOperationException e) {
                 throw new RuntimeException(e);
             }
@@ -185,18 +185,25 @@ public class MultiTasksAdvancement extends AbstractMultiTasksAdvancement {
             return; // Unnecessary update
         }
 
+        if (newProgression != maxProgression && newProgression != 0 && !ENABLE_ARBITRARY_SET_PROGRESSION) {
+            if (DISABLE_EXCEPTION_ON_ARBITRARY_SET_PROGRESSION)
+                return;
+            throw new ArbitraryMultiTaskProgressionUpdateException();
+        }
+
         doReloads = false;
         try {
-            if (newProgression == maxProgression) {
-                for (TaskAdvancement t : tasks) {
-                    t.setProgression(progression, player, t.getMaxProgression(), giveRewards);
-                }
-            } else if (newProgression == 0) {
-                for (TaskAdvancement t : tasks) {
-                    t.setProgression(progression, player, 0, giveRewards);
-                }
-            } else if (ENABLE_ARBITRARY_SET_PROGRESSION) {
-                if (newProgression < current) {
+            // Write the updates of the tasks in a single batch
+            getAdvancementTab().getDatabaseManager().batchProgressionUpdates(() -> {
+                if (newProgression == maxProgression) {
+                    for (TaskAdvancement t : tasks) {
+                        t.setProgression(progression, player, t.getMaxProgression(), giveRewards);
+                    }
+                } else if (newProgression == 0) {
+                    for (TaskAdvancement t : tasks) {
+                        t.setProgression(progression, player, 0, giveRewards);
+                    }
+                } else if (newProgression < current) {
                     for (TaskAdvancement t : tasks) {
                         int tc = t.getProgression(progression);
                         if (current - tc > newProgression) {
@@ -218,11 +225,7 @@ public class MultiTasksAdvancement extends AbstractMultiTasksAdvancement {
                         }
                     }
                 }
-            } else {
-                if (DISABLE_EXCEPTION_ON_ARBITRARY_SET_PROGRESSION)
-                    return;
-                throw new ArbitraryMultiTaskProgressionUpdateException();
-            }
+            });
         } finally {
             doReloads = true;
         }
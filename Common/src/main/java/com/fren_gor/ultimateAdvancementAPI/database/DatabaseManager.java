@@ -19,11 +19,14 @@ import com.fren_gor.ultimateAdvancementAPI.events.team.AsyncTeamUpdateEvent.Acti
 import com.fren_gor.ultimateAdvancementAPI.events.team.TeamLoadEvent;
 import com.fren_gor.ultimateAdvancementAPI.events.team.TeamUnloadEvent;
 import com.fren_gor.ultimateAdvancementAPI.events.team.TeamUpdateEvent;
+import com.fren_gor.ultimateAdvancementAPI.exceptions.AsyncExecutionException;
 import com.fren_gor.ultimateAdvancementAPI.exceptions.UserNotLoadedException;
+import com.fren_gor.ultimateAdvancementAPI.exceptions.UserNotRegisteredException;
 import com.fren_gor.ultimateAdvancementAPI.nms.util.ReflectionUtil;
 import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
 import com.fren_gor.ultimateAdvancementAPI.util.AdvancementUtils;
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
@@ -34,6 +37,7 @@ import org.bukkit.event.player.PlayerLoginEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.server.PluginDisableEvent;
 import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.ApiStatus.Internal;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
@@ -44,17 +48,30 @@ import java.io.File;
 import java.lang.reflect.Method;
 import java.sql.SQLException;
 import java.util.AbstractMap.SimpleEntry;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 import static com.fren_gor.ultimateAdvancementAPI.util.AdvancementUtils.runSync;
@@ -90,12 +107,53 @@ public final class DatabaseManager {
     public static final int MAX_SIMULTANEOUS_LOADING_REQUESTS = Character.MAX_VALUE;
     private static final int LOAD_EVENTS_DELAY = 3;
     private static final boolean IS_PAPER = ReflectionUtil.classExists("io.papermc.paper.advancement.AdvancementDisplay");
+    /**
+     * Default amount of threads of the database executor.
+     *
+     * @see AdvancementMain#setDatabaseExecutor(int, int, boolean)
+     */
+    public static final int DEFAULT_EXECUTOR_THREADS = 4;
+    /**
+     * Default maximum amount of operations waiting for a free thread of the database executor.
+     *
+     * @see AdvancementMain#setDatabaseExecutor(int, int, boolean)
+     */
+    public static final int DEFAULT_EXECUTOR_QUEUE_SIZE = 1024;
+    private static final long EXECUTOR_SHUTDOWN_TIMEOUT = 10;
+    // Whether the current thread is a platform thread of a database executor
+    private static final ThreadLocal<Boolean> DATABASE_THREAD = ThreadLocal.withInitial(() -> false);
 
     private final AdvancementMain main;
-    private final Map<UUID, TeamProgression> progressionCache = new HashMap<>();
-    private final Map<UUID, TempUserMetadata> tempLoaded = new HashMap<>();
+    // Both maps can be read without locking. Every modification is done while holding the lock on this object,
+    // which must never be held while running queries or calling events
+    private final Map<UUID, TeamProgression> progressionCache = new ConcurrentHashMap<>();
+    private final Map<UUID, TempUserMetadata> tempLoaded = new ConcurrentHashMap<>();
+    // Indexes of the cached teams: team id -> team and team member -> team id. They are updated together with progressionCache
+    private final Map<Integer, TeamProgression> teamsById = new ConcurrentHashMap<>();
+    private final Map<UUID, Integer> memberTeams = new ConcurrentHashMap<>();
+    // Loads of players who aren't cached yet, shared by the concurrent loading requests of the same player
+    private final Map<UUID, CompletableFuture<ObjectResult<TeamProgression>>> pendingLoads = new ConcurrentHashMap<>();
     private final EventManager eventManager;
     private final IDatabase database;
+    private final ExecutorService executor;
+    // Single thread which writes the progression updates, so that they are written in order
+    private final ExecutorService progressionWriter;
+    @Nullable
+    private volatile ProgressionBuffer progressionBuffer;
+    @Nullable
+    private BukkitTask progressionFlushTask;
+    // Teams unloaded when their last member quit. A team is never cached and retained at the same time
+    @Nullable
+    private volatile TeamRetentionCache teamRetention;
+
+    // Progression updates collected by batchProgressionUpdates(...), accessed only on the main thread
+    private int batchDepth = 0;
+    @Nullable
+    private Map<Integer, Map<AdvancementKey, Integer>> batchedProgressions;
+    @Nullable
+    private CompletableFuture<Result> batchedResult;
+    // Completes when the last submitted batch has been written. Batches are written in order by progressionWriter
+    private volatile CompletableFuture<Result> lastBatchWrite = CompletableFuture.completedFuture(Result.SUCCESSFUL);
 
     private final Map<UUID, Consumer<Player>> waitingForJoinEvent = Collections.synchronizedMap(new HashMap<>());
     private static final Consumer<Player> LOGIN_SENTINEL = p -> {}, JOIN_SENTINEL = p -> {};
@@ -136,18 +194,22 @@ public final class DatabaseManager {
         }
 
         waitingForJoinEvent.put(uuid, LOGIN_SENTINEL);
-        try {
-            loadPlayerMainFunction(uuid, name);
-        } catch (Exception ex) {
-            main.getLogger().log(Level.SEVERE, "Cannot load player " + name, ex);
-            registerForJoinEvent(uuid, p -> callEventCatchingExceptions(new PlayerLoadingFailedEvent(p, ex)));
-        }
+        loadOrRegisterPlayer(uuid, name).whenComplete((entry, t) -> {
+            if (t == null) {
+                loadPlayerMainFunction(uuid, entry);
+                return;
+            }
+            Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+            main.getLogger().log(Level.SEVERE, "Cannot load player " + name, cause);
+            registerForJoinEvent(uuid, p -> callEventCatchingExceptions(new PlayerLoadingFailedEvent(p, cause)));
+        });
     }
 
     private void unloadPlayerOnQuit(@NotNull UUID uuid) {
         Preconditions.checkNotNull(uuid, "UUID is null");
 
         waitingForJoinEvent.remove(uuid);
+        TeamProgression unloaded = null;
         synchronized (DatabaseManager.this) {
             TempUserMetadata meta = tempLoaded.get(uuid);
             if (meta != null) {
@@ -156,16 +218,18 @@ public final class DatabaseManager {
             } else {
                 TeamProgression t = progressionCache.remove(uuid);
                 if (t != null && t.noMemberMatch(progressionCache::containsKey)) {
-                    t.inCache.set(false); // Invalidate TeamProgression
-                    callEventCatchingExceptions(new AsyncTeamUnloadEvent(t));
-                    if (Bukkit.isPrimaryThread()) {
-                        callEventCatchingExceptions(new TeamUnloadEvent(t));
-                    } else {
-                        runSync(main.getOwningPlugin(), () -> callEventCatchingExceptions(new TeamUnloadEvent(t)));
+                    uncacheTeam(t);
+                    unloaded = t;
+                    TeamRetentionCache retention = teamRetention;
+                    if (retention != null) {
+                        retention.retain(t); // Keep the team in memory in case of reconnection
                     }
                 }
             }
         }
+        if (unloaded != null) {
+            callTeamUnloadEvents(unloaded);
+        }
     }
 
     /**
@@ -227,7 +291,112 @@ public final class DatabaseManager {
         this.main = main;
         this.eventManager = main.getEventManager();
         this.database = database;
-        commonSetUp();
+        this.executor = createExecutor(main);
+        this.progressionWriter = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                .setNameFormat(main.getOwningPlugin().getName() + " Progression Writer")
+                .setDaemon(true)
+                .build());
+        try {
+            commonSetUp();
+        } catch (Exception e) {
+            executor.shutdown();
+            progressionWriter.shutdown();
+            throw e;
+        }
+    }
+
+    @NotNull
+    private static ExecutorService createExecutor(@NotNull AdvancementMain main) {
+        final String name = main.getOwningPlugin().getName() + " Database Thread #";
+        if (main.isVirtualDatabaseThreads()) {
+            try {
+                // Must use reflections since we're compiling against Java 16
+                // This is effectively calling:
+                //
+                // Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name, 1).factory());
+                Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+                Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, name, 1L);
+                ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+                return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, factory);
+            } catch (ReflectiveOperationException e) {
+                main.getLogger().warning("Virtual threads are not supported by the current Java version, using platform threads for database operations.");
+            }
+        }
+        final int threads = main.getDatabaseThreads();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(main.getDatabaseQueueSize()), new ThreadFactoryBuilder()
+                .setNameFormat(name + "%d")
+                .setDaemon(true)
+                .setThreadFactory(r -> new Thread(() -> {
+                    DATABASE_THREAD.set(true);
+                    r.run();
+                }))
+                .build(), DatabaseManager::onExecutorSaturated);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    // Called when the queue of the database executor is full. Operations are never run on the calling thread
+    private static void onExecutorSaturated(@NotNull Runnable r, @NotNull ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("The database executor has been shut down.");
+        }
+        // Never block the main thread. Database threads cannot block either, since they are the ones which empty the queue
+        if (Bukkit.isPrimaryThread() || DATABASE_THREAD.get()) {
+            throw new RejectedExecutionException("The database executor queue is full.");
+        }
+        try {
+            executor.getQueue().put(r);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for the database executor queue.", e);
+        }
+    }
+
+    /**
+     * Runs the provided task on the database executor.
+     * <p>If the executor rejects the task (see {@link AdvancementMain#setDatabaseExecutor(int, int, boolean)}),
+     * the returned {@link CompletableFuture} completes exceptionally instead of throwing.
+     *
+     * @param supplier The task to run.
+     * @return A {@link CompletableFuture} which provides the value returned by the task.
+     */
+    @NotNull
+    private <T> CompletableFuture<T> supplyAsync(@NotNull Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Runs the provided task on the database executor, printing an error if the executor rejects it
+     * (see {@link AdvancementMain#setDatabaseExecutor(int, int, boolean)}).
+     *
+     * @param runnable The task to run.
+     */
+    private void runAsync(@NotNull Runnable runnable) {
+        try {
+            executor.execute(runnable);
+        } catch (RejectedExecutionException e) {
+            System.err.println("Cannot run database operation:");
+            e.printStackTrace();
+        }
+    }
+
+    // Loads the player from the database after the pending progression writes
+    private void loadPlayerOnConnectAsync(@NotNull UUID uuid, @NotNull String name) {
+        progressionsWritten().thenRunAsync(() -> {
+            loadPlayerOnConnect(uuid, name);
+        }, executor).exceptionally(t -> {
+            // The database executor rejected the load
+            Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+            main.getLogger().log(Level.SEVERE, "Cannot load player " + name, cause);
+            waitingForJoinEvent.putIfAbsent(uuid, LOGIN_SENTINEL);
+            registerForJoinEvent(uuid, p -> callEventCatchingExceptions(new PlayerLoadingFailedEvent(p, cause)));
+            return null;
+        });
     }
 
     private void commonSetUp() throws SQLException {
@@ -264,9 +433,7 @@ public final class DatabaseManager {
                     Object profile = getProfile.invoke(connection);
                     UUID uuid = (UUID) getId.invoke(profile);
                     String name = (String) getName.invoke(profile);
-                    CompletableFuture.runAsync(() -> {
-                        loadPlayerOnConnect(uuid, name);
-                    });
+                    loadPlayerOnConnectAsync(uuid, name);
                 } catch (ReflectiveOperationException ex) {
                     throw new RuntimeException(ex);
                 }
@@ -283,9 +450,7 @@ public final class DatabaseManager {
             eventManager.register(this, PlayerLoginEvent.class, EventPriority.LOWEST, e -> {
                 UUID uuid = e.getPlayer().getUniqueId();
                 String name = e.getPlayer().getName();
-                CompletableFuture.runAsync(() -> {
-                    loadPlayerOnConnect(uuid, name);
-                });
+                loadPlayerOnConnectAsync(uuid, name);
             });
         }
 
@@ -310,21 +475,21 @@ public final class DatabaseManager {
             unloadPlayerOnQuit(e.getPlayer().getUniqueId());
         });
         eventManager.register(this, PluginDisableEvent.class, EventPriority.HIGHEST, e -> {
+            List<UUID> list = new LinkedList<>();
             synchronized (DatabaseManager.this) {
-                List<UUID> list = new LinkedList<>();
                 for (Entry<UUID, TempUserMetadata> en : tempLoaded.entrySet()) {
                     // Make sure they will be unloaded
                     if (en.getValue().pluginRequests.remove(e.getPlugin()) != null) {
                         list.add(en.getKey());
                     }
                 }
-                for (UUID u : list) {
-                    // Handle unload
-                    unloadOfflinePlayer(u, e.getPlugin());
-                }
+            }
+            for (UUID u : list) {
+                // Handle unload outside the lock, since it may call events
+                unloadOfflinePlayer(u, e.getPlugin());
             }
         });
-        CompletableFuture.runAsync(() -> {
+        runAsync(() -> {
             try {
                 database.clearUpTeams();
             } catch (SQLException e) {
@@ -341,6 +506,19 @@ public final class DatabaseManager {
     public void unregister() {
         if (eventManager.isEnabled())
             eventManager.unregister(this);
+        disableTeamRetention();
+        // Make sure every buffered progression is written before closing the connection
+        closeProgressionBuffer();
+        // Let the already submitted operations complete before closing the connection
+        executor.shutdown();
+        progressionWriter.shutdown();
+        try {
+            if (!executor.awaitTermination(EXECUTOR_SHUTDOWN_TIMEOUT, TimeUnit.SECONDS) || !progressionWriter.awaitTermination(EXECUTOR_SHUTDOWN_TIMEOUT, TimeUnit.SECONDS)) {
+                main.getLogger().warning("Some database operations did not complete in time.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
         try {
             database.close();
         } catch (SQLException e) {
@@ -350,19 +528,19 @@ public final class DatabaseManager {
             tempLoaded.clear();
             progressionCache.forEach((u, t) -> t.inCache.set(false)); // Invalidate TeamProgression
             progressionCache.clear();
+            teamsById.clear();
+            memberTeams.clear();
         }
     }
 
     /**
-     * Main function to load the provided player from the database.
+     * Main function to handle the provided player once they have been loaded from the database.
      * <p><strong>Should be called async.</strong>
      *
-     * @param uuid The {@link UUID} of player to load.
-     * @param name The name of player to load.
-     * @throws SQLException If anything goes wrong.
+     * @param uuid The {@link UUID} of the loaded player.
+     * @param entry The result of {@link #loadOrRegisterPlayer(UUID, String)}.
      */
-    private void loadPlayerMainFunction(final @NotNull UUID uuid, final @NotNull String name) throws SQLException {
-        Entry<TeamProgression, Boolean> entry = loadOrRegisterPlayer(uuid, name);
+    private void loadPlayerMainFunction(final @NotNull UUID uuid, final @NotNull Entry<TeamProgression, Boolean> entry) {
         final TeamProgression pro = entry.getKey();
         registerForJoinEvent(uuid, player -> {
             callEventCatchingExceptions(new PlayerLoadingCompletedEvent(player, pro));
@@ -371,46 +549,128 @@ public final class DatabaseManager {
                 callEventCatchingExceptions(new TeamUpdateEvent(pro, uuid, TeamUpdateEvent.Action.JOIN));
             }
             main.updatePlayer(player);
-            CompletableFuture.runAsync(() -> processUnredeemed(player, pro));
+            processUnredeemed(player, pro);
         });
     }
 
     /**
      * Load the provided player from the database. If they are not present, this method registers they.
+     * <p>If the player is already being loaded, the running load is joined and the player is registered
+     * only if it didn't find them.
      * <p><strong>Should be called async.</strong>
      *
      * @param uuid The {@link UUID} of player to load.
      * @param name The name of player to load.
-     * @return A pair containing the loaded {@link TeamProgression} and a {@code boolean},
+     * @return A {@link CompletableFuture} which provides a pair containing the loaded {@link TeamProgression} and a {@code boolean},
      *         which is {@code true} if and only if the player was not found in the database.
-     * @throws SQLException If anything goes wrong.
      */
     @NotNull
-    private synchronized Entry<TeamProgression, Boolean> loadOrRegisterPlayer(final @NotNull UUID uuid, final @NotNull String name) throws SQLException {
+    private CompletableFuture<Entry<TeamProgression, Boolean>> loadOrRegisterPlayer(final @NotNull UUID uuid, final @NotNull String name) {
+        TeamProgression cached = cacheOnlineTeam(uuid, null);
+        if (cached != null) {
+            updatePlayerName(uuid, name);
+            return CompletableFuture.completedFuture(new SimpleEntry<>(cached, false));
+        }
+
+        // Offline loading requests made while the player is loading share this load instead of querying the database again
+        final CompletableFuture<ObjectResult<TeamProgression>> load = new CompletableFuture<>();
+        final CompletableFuture<ObjectResult<TeamProgression>> pending = pendingLoads.putIfAbsent(uuid, load);
+        if (pending != null) {
+            // Join the running load, the player has to be registered only if it doesn't find them
+            return pending.<Entry<TeamProgression, Boolean>>thenComposeAsync(result -> {
+                if (result.hasResult()) {
+                    updatePlayerName(uuid, name);
+                    return CompletableFuture.completedFuture(new SimpleEntry<>(cacheOnlineTeam(uuid, result.getResult()), false));
+                }
+                if (!(result.getOccurredException() instanceof UserNotRegisteredException)) {
+                    return CompletableFuture.failedFuture(result.getOccurredException());
+                }
+                try {
+                    return CompletableFuture.completedFuture(registerAndCachePlayer(uuid, name));
+                } catch (Exception e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            }, executor);
+        }
+        try {
+            Entry<TeamProgression, Boolean> e = registerAndCachePlayer(uuid, name);
+            completeLoad(uuid, load, new ObjectResult<>(e.getKey()));
+            return CompletableFuture.completedFuture(e);
+        } catch (Exception e) {
+            completeLoad(uuid, load, new ObjectResult<>(e));
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Loads or registers the provided player and caches their team, unless it has been cached in the meantime.
+     *
+     * @see #loadOrRegisterPlayer(UUID, String)
+     */
+    @NotNull
+    private Entry<TeamProgression, Boolean> registerAndCachePlayer(final @NotNull UUID uuid, final @NotNull String name) throws SQLException {
+        // The lock isn't held while querying the database, so the team may be loaded in the meantime
+        Entry<TeamProgression, Boolean> e = database.loadOrRegisterPlayer(uuid, name);
+        updatePlayerName(uuid, name);
+        return new SimpleEntry<>(cacheOnlineTeam(uuid, e.getKey()), e.getValue());
+    }
+
+    /**
+     * Caches the team of the provided player who is connecting to the server. The already cached team is preferred,
+     * then the retained one and lastly the provided one. The load events are called if the team wasn't already cached.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @param loaded The team loaded from the database, or {@code null} if the player team hasn't been loaded.
+     * @return The cached team, or {@code null} if {@code loaded} is {@code null} and the team is neither cached nor retained.
+     */
+    @Nullable
+    @Contract("_, !null -> !null")
+    private TeamProgression cacheOnlineTeam(@NotNull UUID uuid, @Nullable TeamProgression loaded) {
+        final TeamProgression pro;
+        synchronized (this) {
+            TeamProgression cached = getCachedTeam(uuid, true);
+            if (cached != null) {
+                return cached;
+            }
+            TeamProgression retained = takeRetainedTeam(uuid);
+            pro = retained != null ? retained : loaded;
+            if (pro == null) {
+                return null;
+            }
+            pro.inCache.set(true); // Set TeamProgression valid
+            cacheTeam(uuid, pro);
+        }
+        callEventCatchingExceptions(new AsyncTeamLoadEvent(pro));
+        runSync(main, () -> callEventCatchingExceptions(new TeamLoadEvent(pro)));
+        return pro;
+    }
+
+    /**
+     * Returns the cached {@link TeamProgression} of the provided player, caching the player if any other team member is loaded.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @param online Whether the player is connecting to the server.
+     * @return The cached {@link TeamProgression} of the player team, or {@code null} if it isn't loaded.
+     */
+    @Nullable
+    private synchronized TeamProgression getCachedTeam(@NotNull UUID uuid, boolean online) {
         TeamProgression pro = progressionCache.get(uuid);
         if (pro != null) {
-            // Don't let player to be unloaded from cache
-            TempUserMetadata meta = tempLoaded.get(uuid);
-            if (meta != null) {
-                meta.isOnline = true;
+            if (online) {
+                // Don't let player to be unloaded from cache
+                TempUserMetadata meta = tempLoaded.get(uuid);
+                if (meta != null) {
+                    meta.isOnline = true;
+                }
             }
-            return new SimpleEntry<>(pro, false);
+            return pro;
         }
 
         pro = searchTeamProgressionDeeply(uuid);
         if (pro != null) {
-            progressionCache.put(uuid, pro); // Direct caching
-            updatePlayerName(uuid, name);
-            return new SimpleEntry<>(pro, false);
+            cacheTeam(uuid, pro); // Direct caching
         }
-
-        Entry<TeamProgression, Boolean> e = database.loadOrRegisterPlayer(uuid, name);
-        updatePlayerName(uuid, name);
-        e.getKey().inCache.set(true); // Set TeamProgression valid
-        progressionCache.put(uuid, e.getKey());
-        callEventCatchingExceptions(new AsyncTeamLoadEvent(e.getKey()));
-        runSync(main, () -> callEventCatchingExceptions(new TeamLoadEvent(e.getKey())));
-        return e;
+        return pro;
     }
 
     /**
@@ -421,23 +681,48 @@ public final class DatabaseManager {
      * @return The player team if found, {@code null} otherwise.
      */
     @Nullable
-    private synchronized TeamProgression searchTeamProgressionDeeply(@NotNull UUID uuid) {
-        for (TeamProgression progression : progressionCache.values()) {
-            if (progression.contains(uuid)) {
-                return progression;
-            }
+    private TeamProgression searchTeamProgressionDeeply(@NotNull UUID uuid) {
+        Integer teamId = memberTeams.get(uuid);
+        return teamId == null ? null : teamsById.get(teamId);
+    }
+
+    /**
+     * Caches the provided player with the provided team, adding the team to the indexes if it isn't already present.
+     * <p>Must be called while holding the lock on this object.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @param pro The team of the player.
+     */
+    private void cacheTeam(@NotNull UUID uuid, @NotNull TeamProgression pro) {
+        progressionCache.put(uuid, pro);
+        if (teamsById.put(pro.getTeamId(), pro) != pro) {
+            pro.forEachMember(member -> memberTeams.put(member, pro.getTeamId()));
         }
-        return null;
     }
 
     /**
-     * Process unredeemed advancements for the provided player and team. The player is assumed to be in the team.
-     * <p><strong>Should be called async.</strong>
+     * Invalidates the provided team and removes it from the indexes. Its members must have already been removed from the cache.
+     * <p>Must be called while holding the lock on this object.
+     *
+     * @param pro The team to remove.
+     */
+    private void uncacheTeam(@NotNull TeamProgression pro) {
+        pro.inCache.set(false); // Invalidate TeamProgression
+        teamsById.remove(pro.getTeamId(), pro);
+        pro.forEachMember(member -> memberTeams.remove(member, pro.getTeamId()));
+    }
+
+    /**
+     * Process unredeemed advancements for the provided player and team asynchronously. The player is assumed to be in the team.
      *
      * @param player The player.
      * @param pro The player's team.
      */
     private void processUnredeemed(final @NotNull Player player, final @NotNull TeamProgression pro) {
+        progressionsWritten().thenRunAsync(() -> processUnredeemedAsync(player, pro), executor);
+    }
+
+    private void processUnredeemedAsync(final @NotNull Player player, final @NotNull TeamProgression pro) {
         final List<Entry<AdvancementKey, Boolean>> list;
         try {
             list = database.getUnredeemed(pro.getTeamId());
@@ -461,7 +746,7 @@ public final class DatabaseManager {
                     }
                 }
                 if (advs.size() != 0)
-                    CompletableFuture.runAsync(() -> {
+                    runAsync(() -> {
                         try {
                             database.unsetUnredeemed(list, pro.getTeamId());
                         } catch (SQLException e) {
@@ -495,7 +780,7 @@ public final class DatabaseManager {
     private CompletableFuture<Result> updatePlayerName(@NotNull UUID uuid, @NotNull String name) {
         Preconditions.checkNotNull(uuid, "UUID is null.");
         Preconditions.checkNotNull(name, "Name is null.");
-        return CompletableFuture.supplyAsync(() -> {
+        return supplyAsync(() -> {
             try {
                 database.updatePlayerName(uuid, name);
             } catch (SQLException e) {
@@ -555,10 +840,8 @@ public final class DatabaseManager {
         Preconditions.checkNotNull(playerToMove, "Player to move is null.");
         validateTeamProgression(otherTeamProgression);
 
-        synchronized (DatabaseManager.this) {
-            if (!progressionCache.containsKey(playerToMove)) {
-                throw new UserNotLoadedException(playerToMove);
-            }
+        if (!progressionCache.containsKey(playerToMove)) {
+            throw new UserNotLoadedException(playerToMove);
         }
 
         if (otherTeamProgression.contains(playerToMove)) {
@@ -566,7 +849,8 @@ public final class DatabaseManager {
             return CompletableFuture.completedFuture(Result.SUCCESSFUL);
         }
 
-        return CompletableFuture.supplyAsync(() -> {
+        submitOpenBatch();
+        return progressionsWritten().thenApplyAsync(v -> {
             try {
                 database.movePlayer(playerToMove, otherTeamProgression.getTeamId());
             } catch (SQLException e) {
@@ -578,29 +862,32 @@ public final class DatabaseManager {
             }
 
             final TeamProgression pro;
-            boolean teamUnloaded;
+            final boolean teamUnloaded;
             synchronized (DatabaseManager.this) {
                 pro = progressionCache.get(playerToMove);
-                if (pro != null) {
-                    callEventCatchingExceptions(new AsyncTeamUpdateEvent(pro, playerToMove, Action.LEAVE));
-                }
 
                 otherTeamProgression.addMember(playerToMove);
-                progressionCache.put(playerToMove, otherTeamProgression);
+                cacheTeam(playerToMove, otherTeamProgression);
+                memberTeams.put(playerToMove, otherTeamProgression.getTeamId());
 
                 if (pro != null) {
                     pro.removeMember(playerToMove);
                     teamUnloaded = pro.noMemberMatch(progressionCache::containsKey);
                     if (teamUnloaded) {
-                        pro.inCache.set(false); // Invalidate TeamProgression
-                        callEventCatchingExceptions(new AsyncTeamUnloadEvent(pro));
+                        uncacheTeam(pro);
                     }
                 } else {
                     teamUnloaded = false;
                 }
-                callEventCatchingExceptions(new AsyncTeamUpdateEvent(otherTeamProgression, playerToMove, Action.JOIN));
             }
 
+            if (pro != null) {
+                callEventCatchingExceptions(new AsyncTeamUpdateEvent(pro, playerToMove, Action.LEAVE));
+                if (teamUnloaded)
+                    callEventCatchingExceptions(new AsyncTeamUnloadEvent(pro));
+            }
+            callEventCatchingExceptions(new AsyncTeamUpdateEvent(otherTeamProgression, playerToMove, Action.JOIN));
+
             runSync(main, () -> {
                 if (pro != null)
                     callEventCatchingExceptions(new TeamUpdateEvent(pro, playerToMove, TeamUpdateEvent.Action.LEAVE));
@@ -615,7 +902,7 @@ public final class DatabaseManager {
                 processUnredeemed(ptm, otherTeamProgression);
             }
             return Result.SUCCESSFUL;
-        });
+        }, executor);
     }
 
     /**
@@ -644,13 +931,12 @@ public final class DatabaseManager {
 
     private CompletableFuture<ObjectResult<@NotNull TeamProgression>> movePlayerInNewTeam(@NotNull UUID uuid, @Nullable Player ptr) throws UserNotLoadedException {
         Preconditions.checkNotNull(uuid, "UUID is null.");
-        synchronized (DatabaseManager.this) {
-            if (!progressionCache.containsKey(uuid)) {
-                throw new UserNotLoadedException(uuid);
-            }
+        if (!progressionCache.containsKey(uuid)) {
+            throw new UserNotLoadedException(uuid);
         }
 
-        return CompletableFuture.supplyAsync(() -> {
+        submitOpenBatch();
+        return progressionsWritten().thenApplyAsync(v -> {
             final TeamProgression newPro;
             try {
                 newPro = database.movePlayerInNewTeam(uuid);
@@ -665,27 +951,29 @@ public final class DatabaseManager {
             final boolean teamUnloaded;
             synchronized (DatabaseManager.this) {
                 pro = progressionCache.get(uuid);
-                if (pro != null) {
-                    callEventCatchingExceptions(new AsyncTeamUpdateEvent(pro, uuid, Action.LEAVE));
-                }
 
                 newPro.inCache.set(true); // Set TeamProgression valid
-                progressionCache.put(uuid, newPro);
+                cacheTeam(uuid, newPro);
 
                 if (pro != null) {
                     pro.removeMember(uuid);
                     teamUnloaded = pro.noMemberMatch(progressionCache::containsKey);
                     if (teamUnloaded) {
-                        pro.inCache.set(false); // Invalidate TeamProgression
-                        callEventCatchingExceptions(new AsyncTeamUnloadEvent(pro));
+                        uncacheTeam(pro);
                     }
                 } else {
                     teamUnloaded = false;
                 }
-                callEventCatchingExceptions(new AsyncTeamLoadEvent(newPro));
-                callEventCatchingExceptions(new AsyncTeamUpdateEvent(newPro, uuid, Action.JOIN));
             }
 
+            if (pro != null) {
+                callEventCatchingExceptions(new AsyncTeamUpdateEvent(pro, uuid, Action.LEAVE));
+                if (teamUnloaded)
+                    callEventCatchingExceptions(new AsyncTeamUnloadEvent(pro));
+            }
+            callEventCatchingExceptions(new AsyncTeamLoadEvent(newPro));
+            callEventCatchingExceptions(new AsyncTeamUpdateEvent(newPro, uuid, Action.JOIN));
+
             runSync(main, () -> {
                 if (pro != null)
                     callEventCatchingExceptions(new TeamUpdateEvent(pro, uuid, TeamUpdateEvent.Action.LEAVE));
@@ -697,7 +985,7 @@ public final class DatabaseManager {
                     main.updatePlayer(ptr);
             });
             return new ObjectResult<>(newPro);
-        });
+        }, executor);
     }
 
     /**
@@ -725,12 +1013,13 @@ public final class DatabaseManager {
         AdvancementUtils.checkSync();
         if (Bukkit.getPlayer(uuid) != null)
             throw new IllegalStateException("Player is online.");
-        synchronized (DatabaseManager.this) {
-            if (tempLoaded.containsKey(uuid))
-                throw new IllegalStateException("Player is temporary loaded.");
-        }
+        if (tempLoaded.containsKey(uuid))
+            throw new IllegalStateException("Player is temporary loaded.");
+        // The retained team would still contain the player
+        takeRetainedTeam(uuid);
 
-        return CompletableFuture.supplyAsync(() -> {
+        submitOpenBatch();
+        return progressionsWritten().thenApplyAsync(v -> {
             try {
                 database.unregisterPlayer(uuid);
             } catch (SQLException e) {
@@ -743,7 +1032,7 @@ public final class DatabaseManager {
 
             callEventCatchingExceptions(new AsyncPlayerUnregisteredEvent(uuid));
             return Result.SUCCESSFUL;
-        });
+        }, executor);
     }
 
     /**
@@ -827,12 +1116,25 @@ public final class DatabaseManager {
         Preconditions.checkArgument(progression.getSize() > 0, "TeamProgression doesn't contain any player.");
         AdvancementUtils.checkSync();
 
-        int old = progression.updateProgression(key, newProgression);
+        int old = progression.updateProgression(key, main.getAdvancement(key), newProgression);
 
         if (old != newProgression) { // Don't update if the progression isn't being changed
             callEventCatchingExceptions(new ProgressionUpdateEvent(progression, old, newProgression, key));
 
-            return new SimpleEntry<>(old, CompletableFuture.supplyAsync(() -> {
+            ProgressionBuffer buffer = progressionBuffer;
+            if (buffer != null) {
+                return new SimpleEntry<>(old, buffer.add(key, progression.getTeamId(), newProgression));
+            }
+            if (batchDepth > 0) {
+                if (batchedProgressions == null) {
+                    batchedProgressions = new LinkedHashMap<>();
+                    batchedResult = new CompletableFuture<>();
+                }
+                batchedProgressions.computeIfAbsent(progression.getTeamId(), id -> new LinkedHashMap<>()).put(key, newProgression);
+                return new SimpleEntry<>(old, batchedResult);
+            }
+
+            return new SimpleEntry<>(old, supplyAsync(() -> {
                 try {
                     database.updateAdvancement(key, progression.getTeamId(), newProgression);
                 } catch (SQLException e) {
@@ -848,6 +1150,221 @@ public final class DatabaseManager {
         return new SimpleEntry<>(old, CompletableFuture.completedFuture(Result.SUCCESSFUL));
     }
 
+    /**
+     * Runs the provided action, writing the progression updates it makes to the database in a single batch.
+     * <p>The updates are written after the action completes. Calls can be nested: the updates are written when the outermost call completes.
+     * Every {@link CompletableFuture} returned by {@link #updateProgressionWithCompletable(AdvancementKey, TeamProgression, int)}
+     * during the action provides the {@link Result} of the whole batch.
+     * <p>If write-behind is enabled (see {@link #enableWriteBehind(int, int, int)}), the updates are already batched and this method just runs the action.
+     *
+     * @param action The action to run.
+     * @throws AsyncExecutionException If it is not called from the main thread.
+     */
+    public void batchProgressionUpdates(@NotNull Runnable action) {
+        Preconditions.checkNotNull(action, "Runnable is null.");
+        batchProgressionUpdates(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the provided action, writing the progression updates it makes to the database in a single batch.
+     * <p>The updates are written after the action completes. Calls can be nested: the updates are written when the outermost call completes.
+     * Every {@link CompletableFuture} returned by {@link #updateProgressionWithCompletable(AdvancementKey, TeamProgression, int)}
+     * during the action provides the {@link Result} of the whole batch.
+     * <p>If write-behind is enabled (see {@link #enableWriteBehind(int, int, int)}), the updates are already batched and this method just runs the action.
+     *
+     * @param action The action to run.
+     * @param <T> The type of the value returned by the action.
+     * @return The value returned by the action.
+     * @throws AsyncExecutionException If it is not called from the main thread.
+     */
+    public <T> T batchProgressionUpdates(@NotNull Supplier<T> action) {
+        Preconditions.checkNotNull(action, "Supplier is null.");
+        AdvancementUtils.checkSync();
+        batchDepth++;
+        try {
+            return action.get();
+        } finally {
+            if (--batchDepth == 0) {
+                submitBatch();
+            }
+        }
+    }
+
+    /**
+     * Writes the progression updates collected until now by {@link #batchProgressionUpdates(Supplier)}.
+     * <p>Batches are written by the progression writer, so they are written in order without occupying the database threads.
+     * <p>Must be called on the main thread.
+     */
+    private void submitBatch() {
+        final Map<Integer, Map<AdvancementKey, Integer>> progressions = batchedProgressions;
+        final CompletableFuture<Result> result = batchedResult;
+        if (progressions == null || result == null) {
+            return;
+        }
+        batchedProgressions = null;
+        batchedResult = null;
+        lastBatchWrite = result;
+        result.completeAsync(() -> {
+            try {
+                database.updateAdvancements(progressions);
+            } catch (SQLException e) {
+                System.err.println("Cannot update advancements:");
+                e.printStackTrace();
+                return new Result(e);
+            } catch (Exception e) {
+                return new Result(e);
+            }
+            return Result.SUCCESSFUL;
+        }, progressionWriter);
+    }
+
+    /**
+     * Writes the progression updates of the running {@link #batchProgressionUpdates(Supplier)}, if any,
+     * so that the database operations scheduled after this call can see them.
+     */
+    private void submitOpenBatch() {
+        if (Bukkit.isPrimaryThread() && batchDepth > 0) {
+            submitBatch();
+        }
+    }
+
+    /**
+     * Enables the write-behind of progression updates.
+     * <p>When enabled, the progression updates are kept in memory and written to the database in batches.
+     * Multiple updates of the same advancement for the same team are coalesced, so only the latest progression is written.
+     * The pending updates are written every {@code flushInterval} ticks or when {@code batchSize} updates are pending,
+     * whichever comes first. Only one batch is written at a time, the updates made in the meantime are coalesced into the next one.
+     * At most {@code maxPending} updates can wait for the next batch: when they are reached, the updates of advancements
+     * not already pending for the team are rejected and their {@link CompletableFuture} provides a failed {@link Result}.
+     * Updates are written by a dedicated thread, so updating a progression never blocks.
+     * <p>Pending updates are always written before any other database operation and when the {@code DatabaseManager} is unregistered.
+     * <p>By default, write-behind is disabled and every progression update is written immediately.
+     *
+     * @param flushInterval The maximum delay (in ticks) between the update of a progression and its write. Must be greater than zero.
+     * @param batchSize The amount of pending updates which triggers a write. Must be greater than zero.
+     * @param maxPending The maximum amount of updates waiting for the next batch. Must be greater or equal to {@code batchSize}.
+     * @throws IllegalArgumentException If any argument is not valid.
+     */
+    public void enableWriteBehind(@Range(from = 1, to = Integer.MAX_VALUE) int flushInterval, @Range(from = 1, to = Integer.MAX_VALUE) int batchSize, @Range(from = 1, to = Integer.MAX_VALUE) int maxPending) {
+        Preconditions.checkArgument(flushInterval > 0, "Flush interval must be greater than zero.");
+        Preconditions.checkArgument(batchSize > 0, "Batch size must be greater than zero.");
+        Preconditions.checkArgument(maxPending >= batchSize, "Max pending updates must be greater or equal to batch size.");
+        AdvancementUtils.checkSync();
+        disableWriteBehind();
+        ProgressionBuffer buffer = new ProgressionBuffer(database, progressionWriter, batchSize, maxPending);
+        progressionBuffer = buffer;
+        progressionFlushTask = Bukkit.getScheduler().runTaskTimer(main.getOwningPlugin(), buffer::flush, flushInterval, flushInterval);
+    }
+
+    /**
+     * Disables the write-behind of progression updates, writing every pending update to the database.
+     * <p>This method blocks until every pending update has been written.
+     *
+     * @see #enableWriteBehind(int, int, int)
+     */
+    public void disableWriteBehind() {
+        AdvancementUtils.checkSync();
+        closeProgressionBuffer();
+    }
+
+    private void closeProgressionBuffer() {
+        if (progressionFlushTask != null) {
+            progressionFlushTask.cancel();
+            progressionFlushTask = null;
+        }
+        ProgressionBuffer buffer = progressionBuffer;
+        if (buffer != null) {
+            progressionBuffer = null;
+            buffer.close();
+        }
+    }
+
+    /**
+     * Returns whether the write-behind of progression updates is enabled.
+     *
+     * @return Whether the write-behind of progression updates is enabled.
+     * @see #enableWriteBehind(int, int, int)
+     */
+    public boolean isWriteBehindEnabled() {
+        return progressionBuffer != null;
+    }
+
+    /**
+     * Enables the retention of the teams of the players who quit.
+     * <p>When the last online member of a team quits, the team is unloaded as usual, but its {@link TeamProgression}
+     * is kept in memory for {@code gracePeriod} seconds. If a team member reconnects or is loaded in the meantime,
+     * the retained {@link TeamProgression} is cached again without querying the database.
+     * When more than {@code maxTeams} teams are retained, the least recently retained ones are discarded.
+     * <p>Retention must not be enabled if the database is shared with other servers, since the retained teams
+     * would not contain the changes made by them.
+     * <p>By default, retention is disabled.
+     *
+     * @param gracePeriod For how long (in seconds) the teams are retained. Must be greater than zero.
+     * @param maxTeams The maximum amount of retained teams. Must be greater than zero.
+     * @throws IllegalArgumentException If any argument is not valid.
+     */
+    public void enableTeamRetention(@Range(from = 1, to = Integer.MAX_VALUE) int gracePeriod, @Range(from = 1, to = Integer.MAX_VALUE) int maxTeams) {
+        Preconditions.checkArgument(gracePeriod > 0, "Grace period must be greater than zero.");
+        Preconditions.checkArgument(maxTeams > 0, "Max teams must be greater than zero.");
+        disableTeamRetention();
+        teamRetention = new TeamRetentionCache(gracePeriod, maxTeams);
+    }
+
+    /**
+     * Disables the retention of the teams of the players who quit, discarding every retained team.
+     *
+     * @see #enableTeamRetention(int, int)
+     */
+    public void disableTeamRetention() {
+        TeamRetentionCache retention = teamRetention;
+        if (retention != null) {
+            teamRetention = null;
+            retention.clear();
+        }
+    }
+
+    /**
+     * Returns whether the retention of the teams of the players who quit is enabled.
+     *
+     * @return Whether the retention of the teams of the players who quit is enabled.
+     * @see #enableTeamRetention(int, int)
+     */
+    public boolean isTeamRetentionEnabled() {
+        return teamRetention != null;
+    }
+
+    @Nullable
+    private TeamProgression getRetainedTeam(@NotNull UUID uuid) {
+        TeamRetentionCache retention = teamRetention;
+        return retention == null ? null : retention.get(uuid);
+    }
+
+    @Nullable
+    private TeamProgression takeRetainedTeam(@NotNull UUID uuid) {
+        TeamRetentionCache retention = teamRetention;
+        return retention == null ? null : retention.take(uuid);
+    }
+
+    /**
+     * Writes the pending progression updates to the database, if write-behind is enabled.
+     * <p>Database operations must be chained to the returned {@link CompletableFuture} instead of waiting for it,
+     * so that the database threads never wait for the progression writer.
+     *
+     * @return A {@link CompletableFuture} which completes when the batched and pending progression updates submitted
+     *         up to now have been written.
+     */
+    @NotNull
+    private CompletableFuture<Void> progressionsWritten() {
+        ProgressionBuffer buffer = progressionBuffer;
+        if (buffer == null) {
+            return CompletableFuture.allOf(lastBatchWrite);
+        }
+        return CompletableFuture.allOf(lastBatchWrite, buffer.flush());
+    }
+
     /**
      * Returns the {@link TeamProgression} of the team of the provided player.
      *
@@ -870,7 +1387,7 @@ public final class DatabaseManager {
      * @see UltimateAdvancementAPI#getTeamProgression(UUID)
      */
     @NotNull
-    public synchronized TeamProgression getTeamProgression(@NotNull UUID uuid) throws UserNotLoadedException {
+    public TeamProgression getTeamProgression(@NotNull UUID uuid) throws UserNotLoadedException {
         Preconditions.checkNotNull(uuid, "UUID is null.");
         TeamProgression pro = progressionCache.get(uuid);
         AdvancementUtils.checkTeamProgressionNotNull(pro, uuid);
@@ -909,7 +1426,7 @@ public final class DatabaseManager {
      * @see UltimateAdvancementAPI#isLoaded(UUID)
      */
     @Contract(pure = true, value = "null -> false")
-    public synchronized boolean isLoaded(UUID uuid) {
+    public boolean isLoaded(UUID uuid) {
         return progressionCache.containsKey(uuid);
     }
 
@@ -931,7 +1448,7 @@ public final class DatabaseManager {
      * @return Whether the provided player is online and loaded into the cache.
      */
     @Contract(pure = true, value = "null -> false")
-    public synchronized boolean isLoadedAndOnline(UUID uuid) {
+    public boolean isLoadedAndOnline(UUID uuid) {
         if (isLoaded(uuid)) {
             TempUserMetadata t = tempLoaded.get(uuid);
             return t == null || t.isOnline;
@@ -954,7 +1471,7 @@ public final class DatabaseManager {
      */
     @Contract(pure = true)
     @Range(from = 0, to = MAX_SIMULTANEOUS_LOADING_REQUESTS)
-    public synchronized int getLoadingRequestsAmount(@NotNull Plugin plugin, @NotNull UUID uuid, @NotNull CacheFreeingOption.Option type) {
+    public int getLoadingRequestsAmount(@NotNull Plugin plugin, @NotNull UUID uuid, @NotNull CacheFreeingOption.Option type) {
         Preconditions.checkNotNull(plugin, "Plugin is null.");
         Preconditions.checkNotNull(uuid, "UUID is null.");
         Preconditions.checkNotNull(type, "CacheFreeingOption.Option is null.");
@@ -996,7 +1513,8 @@ public final class DatabaseManager {
     public CompletableFuture<ObjectResult<@NotNull Boolean>> isUnredeemed(@NotNull AdvancementKey key, @NotNull TeamProgression pro) {
         Preconditions.checkNotNull(key, "AdvancementKey is null.");
         validateTeamProgression(pro);
-        return CompletableFuture.supplyAsync(() -> {
+        submitOpenBatch();
+        return progressionsWritten().thenApplyAsync(v -> {
             try {
                 return new ObjectResult<>(database.isUnredeemed(key, pro.getTeamId()));
             } catch (SQLException e) {
@@ -1007,7 +1525,7 @@ public final class DatabaseManager {
                 e.printStackTrace();
                 return new ObjectResult<>(e);
             }
-        });
+        }, executor);
     }
 
     /**
@@ -1037,7 +1555,8 @@ public final class DatabaseManager {
     public CompletableFuture<Result> setUnredeemed(@NotNull AdvancementKey key, boolean giveRewards, @NotNull TeamProgression pro) {
         Preconditions.checkNotNull(key, "AdvancementKey is null.");
         validateTeamProgression(pro);
-        return CompletableFuture.supplyAsync(() -> {
+        submitOpenBatch();
+        return progressionsWritten().thenApplyAsync(v -> {
             try {
                 database.setUnredeemed(key, giveRewards, pro.getTeamId());
             } catch (SQLException e) {
@@ -1048,7 +1567,7 @@ public final class DatabaseManager {
                 return new Result(e);
             }
             return Result.SUCCESSFUL;
-        });
+        }, executor);
     }
 
     /**
@@ -1076,7 +1595,8 @@ public final class DatabaseManager {
     public CompletableFuture<Result> unsetUnredeemed(@NotNull AdvancementKey key, @NotNull TeamProgression pro) {
         Preconditions.checkNotNull(key, "AdvancementKey is null.");
         validateTeamProgression(pro);
-        return CompletableFuture.supplyAsync(() -> {
+        submitOpenBatch();
+        return progressionsWritten().thenApplyAsync(v -> {
             try {
                 database.unsetUnredeemed(key, pro.getTeamId());
             } catch (SQLException e) {
@@ -1087,7 +1607,7 @@ public final class DatabaseManager {
                 return new Result(e);
             }
             return Result.SUCCESSFUL;
-        });
+        }, executor);
     }
 
     /**
@@ -1100,7 +1620,7 @@ public final class DatabaseManager {
     @NotNull
     public CompletableFuture<ObjectResult<@NotNull String>> getStoredPlayerName(@NotNull UUID uuid) {
         Preconditions.checkNotNull(uuid, "UUID is null.");
-        return CompletableFuture.supplyAsync(() -> {
+        return supplyAsync(() -> {
             try {
                 return new ObjectResult<>(database.getPlayerName(uuid));
             } catch (SQLException e) {
@@ -1141,25 +1661,201 @@ public final class DatabaseManager {
             handleCacheFreeingOption(uuid, pro, option); // Direct caching and handle requests
             return CompletableFuture.completedFuture(new ObjectResult<>(pro));
         }
-        return CompletableFuture.supplyAsync(() -> {
-            TeamProgression t;
+        submitOpenBatch();
+        return loadShared(uuid).thenApplyAsync(result -> {
+            if (result.isExceptionOccurred()) {
+                return result;
+            }
+            return new ObjectResult<>(cacheLoadedTeam(uuid, result.getResult(), option));
+        }, executor);
+    }
+
+    /**
+     * Loads the provided players from the database into the caching system.
+     * <p>The {@link CacheFreeingOption} is applied to every player as in {@link #loadOfflinePlayer(UUID, CacheFreeingOption)}.
+     * The players who aren't already loaded are fetched from the database in bulk (see {@link IDatabase#loadUUIDs(Collection)}).
+     * <p>Players who are not registered are not contained in the returned map.
+     *
+     * @param uuids The {@link UUID}s of the players to load.
+     * @param option The chosen {@link CacheFreeingOption}.
+     * @return A {@link CompletableFuture}&lt;{@link ObjectResult}&gt; which provides a map which maps the {@link UUID}
+     *         of every loaded player to their team's {@link TeamProgression}.
+     * @see UltimateAdvancementAPI#loadOfflinePlayers(Collection, CacheFreeingOption, Consumer)
+     */
+    @NotNull
+    public synchronized CompletableFuture<ObjectResult<@NotNull Map<UUID, TeamProgression>>> loadOfflinePlayers(@NotNull Collection<UUID> uuids, @NotNull CacheFreeingOption option) {
+        Preconditions.checkNotNull(uuids, "Collection is null.");
+        Preconditions.checkNotNull(option, "CacheFreeingOption is null.");
+        final Map<UUID, TeamProgression> loaded = new HashMap<>();
+        final List<UUID> toLoad = new LinkedList<>();
+        for (UUID uuid : new LinkedHashSet<>(uuids)) {
+            Preconditions.checkNotNull(uuid, "UUID is null.");
+            TeamProgression pro = progressionCache.get(uuid);
+            if (pro != null) {
+                handleCacheFreeingOption(uuid, null, option); // Handle requests
+                loaded.put(uuid, pro);
+                continue;
+            }
+            pro = searchTeamProgressionDeeply(uuid);
+            if (pro != null) {
+                handleCacheFreeingOption(uuid, pro, option); // Direct caching and handle requests
+                loaded.put(uuid, pro);
+                continue;
+            }
+            toLoad.add(uuid);
+        }
+        if (toLoad.isEmpty()) {
+            return CompletableFuture.completedFuture(new ObjectResult<>(loaded));
+        }
+        submitOpenBatch();
+        final Map<UUID, CompletableFuture<ObjectResult<TeamProgression>>> loads = loadShared(toLoad);
+        return CompletableFuture.allOf(loads.values().toArray(new CompletableFuture[0])).thenApplyAsync(v -> {
+            for (CompletableFuture<ObjectResult<TeamProgression>> load : loads.values()) {
+                ObjectResult<TeamProgression> result = load.join();
+                // Players who are not registered are skipped
+                if (result.isExceptionOccurred() && !(result.getOccurredException() instanceof UserNotRegisteredException)) {
+                    return new ObjectResult<>(result.getOccurredException());
+                }
+            }
+            for (Entry<UUID, CompletableFuture<ObjectResult<TeamProgression>>> e : loads.entrySet()) {
+                ObjectResult<TeamProgression> result = e.getValue().join();
+                if (result.hasResult()) {
+                    loaded.put(e.getKey(), cacheLoadedTeam(e.getKey(), result.getResult(), option));
+                }
+            }
+            return new ObjectResult<>(loaded);
+        }, executor);
+    }
+
+    /**
+     * Loads the team of the provided player from the database. If the player is already being loaded, the running load is returned instead.
+     * If the player team is retained, the retained {@link TeamProgression} is provided without querying the database.
+     *
+     * @param uuid The {@link UUID} of the player to load.
+     * @return A {@link CompletableFuture}&lt;{@link ObjectResult}&gt; which provides the loaded {@link TeamProgression}.
+     *         It must be passed to {@link #cacheLoadedTeam(UUID, TeamProgression, CacheFreeingOption)} before being returned to the caller.
+     */
+    @NotNull
+    private CompletableFuture<ObjectResult<TeamProgression>> loadShared(@NotNull UUID uuid) {
+        final CompletableFuture<ObjectResult<TeamProgression>> load = new CompletableFuture<>();
+        final CompletableFuture<ObjectResult<TeamProgression>> pending = pendingLoads.putIfAbsent(uuid, load);
+        if (pending != null) {
+            return pending;
+        }
+        final TeamProgression retained = getRetainedTeam(uuid);
+        if (retained != null) {
+            completeLoad(uuid, load, new ObjectResult<>(retained));
+            return load;
+        }
+        progressionsWritten().thenRunAsync(() -> {
+            ObjectResult<TeamProgression> result;
             try {
-                t = database.loadUUID(uuid);
+                result = new ObjectResult<>(database.loadUUID(uuid));
             } catch (SQLException e) {
                 System.err.println("Cannot load offline player " + uuid + ':');
                 e.printStackTrace();
-                return new ObjectResult<>(e);
+                result = new ObjectResult<>(e);
             } catch (Exception e) {
-                return new ObjectResult<>(e);
+                result = new ObjectResult<>(e);
+            }
+            completeLoad(uuid, load, result);
+        }, executor);
+        return load;
+    }
+
+    /**
+     * Loads the teams of the provided players from the database in bulk. The players who are already being loaded
+     * aren't queried again, their running loads are returned instead. Retained teams are used like in {@link #loadShared(UUID)}.
+     *
+     * @param uuids The {@link UUID}s of the players to load.
+     * @return A map which maps every provided {@link UUID} to the load of its team (see {@link #loadShared(UUID)}).
+     *         The loads of players who are not registered provide an {@link UserNotRegisteredException}.
+     */
+    @NotNull
+    private Map<UUID, CompletableFuture<ObjectResult<TeamProgression>>> loadShared(@NotNull Collection<UUID> uuids) {
+        final Map<UUID, CompletableFuture<ObjectResult<TeamProgression>>> loads = new LinkedHashMap<>();
+        final Map<UUID, CompletableFuture<ObjectResult<TeamProgression>>> toLoad = new LinkedHashMap<>();
+        for (UUID uuid : uuids) {
+            final CompletableFuture<ObjectResult<TeamProgression>> load = new CompletableFuture<>();
+            final CompletableFuture<ObjectResult<TeamProgression>> pending = pendingLoads.putIfAbsent(uuid, load);
+            if (pending != null) {
+                loads.put(uuid, pending);
+                continue;
             }
-            handleCacheFreeingOption(uuid, t, option); // Direct caching and handle requests
-            if (option.option != Option.DONT_CACHE) {
-                t.inCache.set(true); // Set TeamProgression valid
-                callEventCatchingExceptions(new AsyncTeamLoadEvent(t));
-                runSync(main, () -> callEventCatchingExceptions(new TeamLoadEvent(t)));
+            loads.put(uuid, load);
+            final TeamProgression retained = getRetainedTeam(uuid);
+            if (retained != null) {
+                completeLoad(uuid, load, new ObjectResult<>(retained));
+            } else {
+                toLoad.put(uuid, load);
             }
-            return new ObjectResult<>(t);
-        });
+        }
+        if (toLoad.isEmpty()) {
+            return loads;
+        }
+        progressionsWritten().thenRunAsync(() -> {
+            Map<UUID, TeamProgression> map;
+            try {
+                map = database.loadUUIDs(toLoad.keySet());
+            } catch (SQLException e) {
+                System.err.println("Cannot load offline players:");
+                e.printStackTrace();
+                toLoad.forEach((uuid, load) -> completeLoad(uuid, load, new ObjectResult<>(e)));
+                return;
+            } catch (Exception e) {
+                toLoad.forEach((uuid, load) -> completeLoad(uuid, load, new ObjectResult<>(e)));
+                return;
+            }
+            toLoad.forEach((uuid, load) -> {
+                TeamProgression t = map.get(uuid);
+                completeLoad(uuid, load, t != null ? new ObjectResult<>(t) : new ObjectResult<>(new UserNotRegisteredException("No user " + uuid + " has been found.")));
+            });
+        }, executor);
+        return loads;
+    }
+
+    private void completeLoad(@NotNull UUID uuid, @NotNull CompletableFuture<ObjectResult<TeamProgression>> load, @NotNull ObjectResult<TeamProgression> result) {
+        pendingLoads.remove(uuid, load);
+        load.complete(result);
+    }
+
+    /**
+     * Applies the provided {@link CacheFreeingOption} to a team loaded from the database and calls the load events if it gets cached.
+     * <p>If the player team has been cached or retained while it was loading, the cached or retained {@link TeamProgression}
+     * is used and the loaded one is discarded, so that every request gets the same object.
+     * <p>If the team isn't cached and {@link Option#DONT_CACHE} is used, a copy of the loaded team is returned.
+     *
+     * @param uuid The {@link UUID} of the loaded player.
+     * @param loaded The loaded {@link TeamProgression}.
+     * @param option The chosen {@link CacheFreeingOption}.
+     * @return The {@link TeamProgression} of the player team.
+     */
+    @NotNull
+    private TeamProgression cacheLoadedTeam(@NotNull UUID uuid, @NotNull TeamProgression loaded, @NotNull CacheFreeingOption option) {
+        final TeamProgression pro;
+        synchronized (this) {
+            TeamProgression cached = progressionCache.get(uuid);
+            if (cached != null) {
+                handleCacheFreeingOption(uuid, null, option); // Handle requests
+                return cached;
+            }
+            cached = searchTeamProgressionDeeply(uuid);
+            if (cached != null) {
+                handleCacheFreeingOption(uuid, cached, option); // Direct caching and handle requests
+                return cached;
+            }
+            if (option.option == Option.DONT_CACHE) {
+                // The loaded team may be retained or shared with other loads which cache it, so return a copy
+                return loaded.copy();
+            }
+            TeamProgression retained = takeRetainedTeam(uuid);
+            pro = retained != null ? retained : loaded;
+            handleCacheFreeingOption(uuid, pro, option); // Direct caching and handle requests
+            pro.inCache.set(true); // Set TeamProgression valid
+        }
+        callEventCatchingExceptions(new AsyncTeamLoadEvent(pro));
+        runSync(main, () -> callEventCatchingExceptions(new TeamLoadEvent(pro)));
+        return pro;
     }
 
     private void handleCacheFreeingOption(@NotNull UUID uuid, @Nullable TeamProgression pro, @NotNull CacheFreeingOption option) {
@@ -1177,7 +1873,7 @@ public final class DatabaseManager {
         TempUserMetadata meta = tempLoaded.computeIfAbsent(uuid, TempUserMetadata::new);
         meta.addRequest(option.requester, auto);
         if (pro != null) {
-            progressionCache.put(uuid, pro);
+            cacheTeam(uuid, pro);
         }
     }
 
@@ -1188,7 +1884,7 @@ public final class DatabaseManager {
      * @return Whether at least one loading request for the specified player is currently active.
      */
     @Contract(pure = true, value = "null -> false")
-    public synchronized boolean isOfflinePlayerLoaded(UUID uuid) {
+    public boolean isOfflinePlayerLoaded(UUID uuid) {
         return tempLoaded.containsKey(uuid);
     }
 
@@ -1201,7 +1897,7 @@ public final class DatabaseManager {
      * @see UltimateAdvancementAPI#isOfflinePlayerLoaded(UUID)
      */
     @Contract(pure = true, value = "null, null -> false; null, !null -> false; !null, null -> false")
-    public synchronized boolean isOfflinePlayerLoaded(UUID uuid, Plugin requester) {
+    public boolean isOfflinePlayerLoaded(UUID uuid, Plugin requester) {
         TempUserMetadata t = tempLoaded.get(uuid);
         return t != null && Integer.compareUnsigned(t.getRequests(requester), 0) > 0;
     }
@@ -1218,28 +1914,38 @@ public final class DatabaseManager {
         internalUnloadOfflinePlayer(uuid, requester, false);
     }
 
-    private synchronized void internalUnloadOfflinePlayer(@NotNull UUID uuid, @NotNull Plugin requester, boolean auto) {
+    private void internalUnloadOfflinePlayer(@NotNull UUID uuid, @NotNull Plugin requester, boolean auto) {
         Preconditions.checkNotNull(uuid, "UUID is null.");
         Preconditions.checkNotNull(requester, "Plugin is null.");
-        TempUserMetadata meta = tempLoaded.get(uuid);
-        if (meta != null) {
-            meta.removeRequest(requester, auto);
-            if (meta.canBeRemoved()) {
-                tempLoaded.remove(uuid);
-                if (!meta.isOnline) {
-                    TeamProgression t = progressionCache.remove(uuid);
-                    if (t != null && t.noMemberMatch(progressionCache::containsKey)) {
-                        t.inCache.set(false); // Invalidate TeamProgression
-                        callEventCatchingExceptions(new AsyncTeamUnloadEvent(t));
-                        if (Bukkit.isPrimaryThread()) {
-                            callEventCatchingExceptions(new TeamUnloadEvent(t));
-                        } else {
-                            runSync(main, () -> callEventCatchingExceptions(new TeamUnloadEvent(t)));
+        TeamProgression unloaded = null;
+        synchronized (this) {
+            TempUserMetadata meta = tempLoaded.get(uuid);
+            if (meta != null) {
+                meta.removeRequest(requester, auto);
+                if (meta.canBeRemoved()) {
+                    tempLoaded.remove(uuid);
+                    if (!meta.isOnline) {
+                        TeamProgression t = progressionCache.remove(uuid);
+                        if (t != null && t.noMemberMatch(progressionCache::containsKey)) {
+                            uncacheTeam(t);
+                            unloaded = t;
                         }
                     }
                 }
             }
         }
+        if (unloaded != null) {
+            callTeamUnloadEvents(unloaded);
+        }
+    }
+
+    private void callTeamUnloadEvents(@NotNull TeamProgression pro) {
+        callEventCatchingExceptions(new AsyncTeamUnloadEvent(pro));
+        if (Bukkit.isPrimaryThread()) {
+            callEventCatchingExceptions(new TeamUnloadEvent(pro));
+        } else {
+            runSync(main, () -> callEventCatchingExceptions(new TeamUnloadEvent(pro)));
+        }
     }
 
     private static <E extends Event> void callEventCatchingExceptions(E event) {
@@ -1253,8 +1959,8 @@ public final class DatabaseManager {
     private static final class TempUserMetadata {
 
         // Integer format: first 16 bits for automatic requests count and 16 bits for plugin requests count
-        final Map<Plugin, Integer> pluginRequests = new HashMap<>();
-        boolean isOnline;
+        final Map<Plugin, Integer> pluginRequests = new ConcurrentHashMap<>();
+        volatile boolean isOnline;
 
         public TempUserMetadata(UUID uuid) {
             this.isOnline = Bukkit.getPlayer(uuid) != null;
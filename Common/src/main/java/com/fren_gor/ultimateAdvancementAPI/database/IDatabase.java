@@ -8,9 +8,14 @@ import org.jetbrains.annotations.Range;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.UUID;
 
 import static com.fren_gor.ultimateAdvancementAPI.util.AdvancementUtils.uuidFromPlayer;
@@ -30,6 +35,8 @@ public interface IDatabase {
 
     /**
      * Sets up the database, like creating the tables.
+     * <p>Implementations should also migrate the tables of databases created by previous versions of the API
+     * to the current schema.
      *
      * @throws SQLException If an SQL exception occurs.
      */
@@ -114,6 +121,39 @@ public interface IDatabase {
      */
     TeamProgression loadUUID(@NotNull UUID uuid) throws SQLException, UserNotRegisteredException;
 
+    /**
+     * Loads the provided players from the database.
+     * <p>Players who are in the same team share the same {@link TeamProgression}.
+     * Players who are not registered are not contained in the returned map.
+     *
+     * @param uuids The {@link UUID}s of the players.
+     * @return A map which maps the {@link UUID} of every registered player to the {@link TeamProgression} of their team.
+     * @throws SQLException If an SQL exception occurs.
+     * @implSpec The default implementation calls {@link #loadUUID(UUID)} for every player whose team hasn't been loaded yet.
+     * @see #loadUUID(UUID)
+     */
+    default Map<UUID, TeamProgression> loadUUIDs(@NotNull Collection<UUID> uuids) throws SQLException {
+        final Set<UUID> requested = new HashSet<>(uuids);
+        final Map<UUID, TeamProgression> map = new HashMap<>();
+        for (UUID uuid : requested) {
+            if (map.containsKey(uuid)) {
+                continue; // The team has already been loaded
+            }
+            final TeamProgression pro;
+            try {
+                pro = loadUUID(uuid);
+            } catch (UserNotRegisteredException e) {
+                continue;
+            }
+            pro.forEachMember(member -> {
+                if (requested.contains(member)) {
+                    map.put(member, pro);
+                }
+            });
+        }
+        return map;
+    }
+
     /**
      * Updates the progression for the provided advancement and the specified team.
      *
@@ -124,6 +164,35 @@ public interface IDatabase {
      */
     void updateAdvancement(@NotNull AdvancementKey key, int teamId, @Range(from = 0, to = Integer.MAX_VALUE) int progression) throws SQLException;
 
+    /**
+     * Updates the progressions of the provided advancements for the specified team.
+     * <p>Implementations should do every update in a single transaction.
+     *
+     * @param teamId The team id.
+     * @param progressions The advancements mapped with their new progressions.
+     * @throws SQLException If an SQL exception occurs.
+     * @implSpec The default implementation calls {@link #updateAdvancements(Map)}.
+     */
+    default void updateAdvancements(int teamId, @NotNull Map<AdvancementKey, Integer> progressions) throws SQLException {
+        updateAdvancements(Collections.singletonMap(teamId, progressions));
+    }
+
+    /**
+     * Updates the progressions of the provided advancements for the specified teams.
+     * <p>Implementations should do every update in a single transaction.
+     *
+     * @param progressions A map which maps every team id to the new progressions of the team advancements.
+     * @throws SQLException If an SQL exception occurs.
+     * @implSpec The default implementation calls {@link #updateAdvancement(AdvancementKey, int, int)} for every advancement.
+     */
+    default void updateAdvancements(@NotNull Map<Integer, Map<AdvancementKey, Integer>> progressions) throws SQLException {
+        for (Entry<Integer, Map<AdvancementKey, Integer>> team : progressions.entrySet()) {
+            for (Entry<AdvancementKey, Integer> e : team.getValue().entrySet()) {
+                updateAdvancement(e.getKey(), team.getKey(), e.getValue());
+            }
+        }
+    }
+
     /**
      * Get the list of the unredeemed advancements of the provided team.
      *
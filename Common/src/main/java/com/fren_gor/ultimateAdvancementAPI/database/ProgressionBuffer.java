@@ -0,0 +1,220 @@
+package com.fren_gor.ultimateAdvancementAPI.database;
+
+import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Write-behind buffer for progression updates.
+ * <p>Updates are coalesced per advancement and team, so that only the latest progression is written to the database.
+ * The pending updates are written as a single batch when {@link #flush()} is called or when {@code batchSize} updates
+ * are pending. Only one batch is written at a time: while a batch is being written, new updates keep being coalesced
+ * into the next batch, which is written as soon as the current write completes.
+ * <p>At most {@code maxPending} distinct updates can wait for the next batch. When the buffer is full, updates of
+ * advancements which aren't already pending for the team are rejected. Adding an update never blocks.
+ * <p>This class is thread safe.
+ */
+final class ProgressionBuffer {
+
+    private final IDatabase database;
+    private final Executor executor;
+    private final int batchSize, maxPending;
+
+    private final Object lock = new Object();
+    // The updates waiting for the next batch
+    private Batch pending = new Batch();
+    // Whether a batch is being written
+    private boolean writing = false;
+    // Whether the pending updates must be written as soon as the current write completes
+    private boolean flushRequested = false;
+    private CompletableFuture<Void> lastWrite = CompletableFuture.completedFuture(null);
+    private boolean closed = false;
+
+    /**
+     * Creates a new {@code ProgressionBuffer}.
+     *
+     * @param database The database to write the updates to.
+     * @param executor The executor which writes the batches.
+     * @param batchSize The amount of pending updates which triggers a write.
+     * @param maxPending The maximum amount of updates waiting for the next batch.
+     */
+    ProgressionBuffer(@NotNull IDatabase database, @NotNull Executor executor, int batchSize, int maxPending) {
+        this.database = database;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Adds a progression update to the buffer.
+     * <p>This method never blocks.
+     *
+     * @param key The advancement key.
+     * @param teamId The team id.
+     * @param progression The new progression.
+     * @return A {@link CompletableFuture} which provides the {@link Result} of the write. Coalesced updates share the same future.
+     *         If the buffer is full, the {@link Result} of the rejection is provided.
+     * @throws IllegalStateException If the buffer has been closed.
+     */
+    @NotNull
+    CompletableFuture<Result> add(@NotNull AdvancementKey key, int teamId, int progression) {
+        final PendingKey pendingKey = new PendingKey(key, teamId);
+        final PendingUpdate update;
+        final Batch toWrite;
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("ProgressionBuffer is closed.");
+            }
+            PendingUpdate pendingUpdate = pending.updates.get(pendingKey);
+            if (pendingUpdate != null) {
+                // Coalesce with the pending update
+                pendingUpdate.progression = progression;
+                return pendingUpdate.future;
+            }
+            if (pending.updates.size() >= maxPending) {
+                update = null;
+                toWrite = null;
+            } else {
+                update = new PendingUpdate(progression);
+                pending.updates.put(pendingKey, update);
+                toWrite = pending.updates.size() >= batchSize ? startWriteLocked() : null;
+            }
+        }
+        if (update == null) {
+            System.err.println("Cannot update advancement " + key + " to team " + teamId + ": the write-behind buffer is full.");
+            return CompletableFuture.completedFuture(new Result(new RejectedExecutionException("The write-behind buffer is full.")));
+        }
+        submit(toWrite);
+        return update.future;
+    }
+
+    /**
+     * Flushes the pending updates. If a batch is being written, they are written as soon as it completes.
+     * <p>This method never blocks.
+     *
+     * @return A {@link CompletableFuture} which completes when every update added up to now has been written.
+     */
+    @NotNull
+    CompletableFuture<Void> flush() {
+        final Batch toWrite;
+        final CompletableFuture<Void> written;
+        synchronized (lock) {
+            written = pending.updates.isEmpty() ? lastWrite : pending.written;
+            toWrite = startWriteLocked();
+        }
+        submit(toWrite);
+        return written;
+    }
+
+    /**
+     * Writes every pending update and closes the buffer, waiting for the writes to complete.
+     */
+    void close() {
+        final Batch toWrite;
+        final CompletableFuture<Void> toWait;
+        synchronized (lock) {
+            closed = true;
+            toWait = pending.updates.isEmpty() ? lastWrite : pending.written;
+            toWrite = startWriteLocked();
+        }
+        submit(toWrite);
+        toWait.join();
+    }
+
+    /**
+     * Starts writing the pending updates, or requests them to be written after the current write if a batch is being written.
+     * <p>Must be called holding {@link #lock}. The returned batch must be passed to {@link #submit(Batch)}
+     * after releasing the lock.
+     *
+     * @return The batch to write, or {@code null} if no write has to be submitted.
+     */
+    @Nullable
+    private Batch startWriteLocked() {
+        if (pending.updates.isEmpty()) {
+            return null;
+        }
+        if (writing) {
+            flushRequested = true;
+            return null;
+        }
+        return takePendingLocked();
+    }
+
+    // Must be called holding lock
+    @NotNull
+    private Batch takePendingLocked() {
+        final Batch batch = pending;
+        pending = new Batch();
+        writing = true;
+        flushRequested = false;
+        lastWrite = batch.written;
+        return batch;
+    }
+
+    private void submit(@Nullable Batch batch) {
+        if (batch != null) {
+            executor.execute(() -> write(batch));
+        }
+    }
+
+    private void write(@NotNull Batch batch) {
+        Map<Integer, Map<AdvancementKey, Integer>> progressions = new HashMap<>();
+        for (Entry<PendingKey, PendingUpdate> e : batch.updates.entrySet()) {
+            progressions.computeIfAbsent(e.getKey().teamId(), id -> new LinkedHashMap<>()).put(e.getKey().key(), e.getValue().progression);
+        }
+
+        Result result;
+        try {
+            database.updateAdvancements(progressions);
+            result = Result.SUCCESSFUL;
+        } catch (SQLException e) {
+            System.err.println("Cannot update advancements:");
+            e.printStackTrace();
+            result = new Result(e);
+        } catch (Exception e) {
+            result = new Result(e);
+        }
+
+        final Batch next;
+        synchronized (lock) {
+            if (!pending.updates.isEmpty() && (flushRequested || pending.updates.size() >= batchSize)) {
+                next = takePendingLocked();
+            } else {
+                next = null;
+                writing = false;
+                flushRequested = false;
+            }
+        }
+        for (PendingUpdate update : batch.updates.values()) {
+            update.future.complete(result);
+        }
+        batch.written.complete(null);
+        submit(next);
+    }
+
+    private static final class Batch {
+        private final Map<PendingKey, PendingUpdate> updates = new LinkedHashMap<>();
+        private final CompletableFuture<Void> written = new CompletableFuture<>();
+    }
+
+    private record PendingKey(@NotNull AdvancementKey key, int teamId) {
+    }
+
+    private static final class PendingUpdate {
+        private final CompletableFuture<Result> future = new CompletableFuture<>();
+        private int progression;
+
+        private PendingUpdate(int progression) {
+            this.progression = progression;
+        }
+    }
+}
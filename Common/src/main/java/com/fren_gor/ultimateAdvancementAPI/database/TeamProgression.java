@@ -1,5 +1,6 @@
 package com.fren_gor.ultimateAdvancementAPI.database;
 
+import com.fren_gor.ultimateAdvancementAPI.AdvancementTab;
 import com.fren_gor.ultimateAdvancementAPI.advancement.Advancement;
 import com.fren_gor.ultimateAdvancementAPI.exceptions.IllegalOperationException;
 import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
@@ -14,12 +15,16 @@ import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Range;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -36,7 +41,12 @@ public final class TeamProgression {
     final AtomicBoolean inCache = new AtomicBoolean(false);
     private final int teamId;
     private final Set<UUID> players;
-    private final Map<AdvancementKey, Integer> advancements;
+    // Progressions of the advancements of initialised tabs, namespace -> progressions indexed by advancement ordinal.
+    // The array of a tab is allocated the first time the team accesses it
+    private final Map<String, TabProgressions> tabProgressions = new ConcurrentHashMap<>();
+    // Progressions which aren't stored in tabProgressions (like the ones of tabs not registered yet),
+    // namespace -> advancement key -> progression. Guarded by the lock on itself
+    private final Map<String, Map<AdvancementKey, Integer>> looseProgressions = new HashMap<>();
 
     /**
      * Creates a new TeamProgression for a team with one player in it.
@@ -50,7 +60,6 @@ public final class TeamProgression {
     public TeamProgression(int teamId, @NotNull UUID member) {
         validateCaller(StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE).getCallerClass());
         Preconditions.checkNotNull(member, "Member is null.");
-        this.advancements = new ConcurrentHashMap<>();
         this.teamId = teamId;
         players = new HashSet<>();
         players.add(member);
@@ -70,12 +79,46 @@ public final class TeamProgression {
         validateCaller(StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE).getCallerClass());
         Preconditions.checkNotNull(advancements, "Advancements is null.");
         Preconditions.checkNotNull(members, "Members is null.");
-        this.advancements = new ConcurrentHashMap<>(advancements);
+        for (Entry<AdvancementKey, Integer> e : advancements.entrySet()) {
+            Preconditions.checkNotNull(e.getKey(), "Advancement key is null.");
+            Preconditions.checkNotNull(e.getValue(), "Progression is null.");
+            looseProgressions.computeIfAbsent(e.getKey().getNamespace(), n -> new HashMap<>()).put(e.getKey(), e.getValue());
+        }
         this.teamId = teamId;
         players = Sets.newHashSetWithExpectedSize(members.size() + 4);
         players.addAll(members);
     }
 
+    private TeamProgression(@NotNull TeamProgression other) {
+        this.teamId = other.teamId;
+        synchronized (other.players) {
+            players = new HashSet<>(other.players);
+        }
+        synchronized (other.looseProgressions) {
+            for (Entry<String, Map<AdvancementKey, Integer>> e : other.looseProgressions.entrySet()) {
+                looseProgressions.put(e.getKey(), new HashMap<>(e.getValue()));
+            }
+            for (Entry<String, TabProgressions> e : other.tabProgressions.entrySet()) {
+                AtomicIntegerArray progressions = e.getValue().progressions;
+                AtomicIntegerArray copy = new AtomicIntegerArray(progressions.length());
+                for (int i = 0; i < progressions.length(); i++) {
+                    copy.set(i, progressions.get(i));
+                }
+                tabProgressions.put(e.getKey(), new TabProgressions(e.getValue().tab, copy));
+            }
+        }
+    }
+
+    /**
+     * Creates a copy of this team and of its progressions. The copy is not valid (see {@link #isValid()}).
+     *
+     * @return A copy of this team.
+     */
+    @NotNull
+    TeamProgression copy() {
+        return new TeamProgression(this);
+    }
+
     private void validateCaller(@NotNull Class<?> caller) throws IllegalOperationException {
         if (!IDatabase.class.isAssignableFrom(caller)) {
             throw new IllegalOperationException("TeamProgression can be instantiated only by database implementations (IDatabase).");
@@ -91,15 +134,107 @@ public final class TeamProgression {
     @Range(from = 0, to = Integer.MAX_VALUE)
     public int getProgression(@NotNull Advancement advancement) {
         Preconditions.checkNotNull(advancement, "Advancement is null.");
-        Integer progression = advancements.get(advancement.getKey());
-
-        if (progression != null) {
-            if (progression <= advancement.getMaxProgression())
-                return progression;
-            else
-                return advancement.getMaxProgression();
+        final int ordinal = advancement.getOrdinal();
+        final TabProgressions tab = tabProgressions.get(advancement.getKey().getNamespace());
+        final int progression;
+        if (tab != null && tab.tab == advancement.getAdvancementTab() && ordinal >= 0) {
+            progression = tab.progressions.get(ordinal);
         } else {
-            return 0;
+            progression = getLooseProgression(advancement);
+        }
+        return Math.min(progression, advancement.getMaxProgression());
+    }
+
+    private int getLooseProgression(@NotNull Advancement advancement) {
+        final AdvancementKey key = advancement.getKey();
+        synchronized (looseProgressions) {
+            TabProgressions tab = getTabProgressions(advancement.getAdvancementTab(), false);
+            if (tab == null) {
+                // The advancement may belong to a disposed tab replaced by a new one
+                tab = tabProgressions.get(key.getNamespace());
+            }
+            if (tab != null) {
+                int ordinal = tab.getOrdinal(advancement);
+                if (ordinal >= 0) {
+                    return tab.progressions.get(ordinal);
+                }
+            }
+            Map<AdvancementKey, Integer> loose = looseProgressions.get(key.getNamespace());
+            Integer progression = loose == null ? null : loose.get(key);
+            return progression == null ? 0 : progression;
+        }
+    }
+
+    /**
+     * Gets the progressions of the provided tab, allocating them if the tab is initialised and either {@code create}
+     * is {@code true} or any of its progressions is stored in {@link #looseProgressions}.
+     * <p>Must be called while holding the lock on {@link #looseProgressions}.
+     *
+     * @param tab The tab.
+     * @param create Whether to allocate the progressions even if the team has no progression for the tab.
+     * @return The progressions of the tab, or {@code null} if they aren't allocated.
+     */
+    @Nullable
+    private TabProgressions getTabProgressions(@NotNull AdvancementTab tab, boolean create) {
+        final String namespace = tab.getNamespace();
+        TabProgressions current = tabProgressions.get(namespace);
+        if (current != null) {
+            if (current.tab == tab) {
+                return current;
+            }
+            if (!current.tab.isDisposed()) {
+                // The provided tab has been disposed and replaced by current.tab
+                return null;
+            }
+            // current.tab has been disposed
+            moveToLooseProgressions(current);
+        }
+        // Ordinals are assigned at the end of the initialisation
+        if (!tab.isInitialised() || tab.isDisposed() || tab.getOrdinalsAmount() == 0) {
+            return null;
+        }
+        final Map<AdvancementKey, Integer> loose = looseProgressions.get(namespace);
+        if (loose == null && !create) {
+            return null;
+        }
+        final TabProgressions created = new TabProgressions(tab, new AtomicIntegerArray(tab.getOrdinalsAmount()));
+        if (loose != null) {
+            Iterator<Entry<AdvancementKey, Integer>> it = loose.entrySet().iterator();
+            while (it.hasNext()) {
+                Entry<AdvancementKey, Integer> e = it.next();
+                int ordinal = created.getOrdinal(e.getKey());
+                if (ordinal >= 0) {
+                    created.progressions.set(ordinal, e.getValue());
+                    it.remove();
+                }
+            }
+            if (loose.isEmpty()) {
+                looseProgressions.remove(namespace);
+            }
+        }
+        tabProgressions.put(namespace, created);
+        return created;
+    }
+
+    /**
+     * Moves the progressions of a disposed tab back to {@link #looseProgressions}.
+     * <p>Must be called while holding the lock on {@link #looseProgressions}.
+     *
+     * @param disposed The progressions of the disposed tab.
+     */
+    private void moveToLooseProgressions(@NotNull TabProgressions disposed) {
+        final String namespace = disposed.tab.getNamespace();
+        // Remove them before copying, see updateProgression
+        tabProgressions.remove(namespace);
+        Map<AdvancementKey, Integer> loose = looseProgressions.computeIfAbsent(namespace, n -> new HashMap<>());
+        for (int i = 0; i < disposed.progressions.length(); i++) {
+            int progression = disposed.progressions.get(i);
+            if (progression != 0) {
+                loose.put(disposed.tab.getAdvancementByOrdinal(i).getKey(), progression);
+            }
+        }
+        if (loose.isEmpty()) {
+            looseProgressions.remove(namespace);
         }
     }
 
@@ -238,12 +373,54 @@ public final class TeamProgression {
      * Sets the progression of the provided advancement for the team.
      *
      * @param key The key of the advancement.
+     * @param advancement The registered advancement with the provided key, or {@code null} if there's not.
      * @param progression The new progression to be set.
      * @return The previous progression.
      */
-    int updateProgression(@NotNull AdvancementKey key, @Range(from = 0, to = Integer.MAX_VALUE) int progression) {
+    int updateProgression(@NotNull AdvancementKey key, @Nullable Advancement advancement, @Range(from = 0, to = Integer.MAX_VALUE) int progression) {
         validateProgressionValue(progression);
-        Integer i = advancements.put(key, progression);
+        if (advancement != null && advancement.getOrdinal() >= 0) {
+            final TabProgressions tab = tabProgressions.get(key.getNamespace());
+            if (tab != null && tab.tab == advancement.getAdvancementTab()) {
+                final int old = tab.progressions.getAndSet(advancement.getOrdinal(), progression);
+                // When the tab is disposed, its progressions are removed from tabProgressions before being copied
+                // to looseProgressions (see moveToLooseProgressions). If they haven't been removed yet, the copy will see the write
+                if (tabProgressions.get(key.getNamespace()) == tab) {
+                    return old;
+                }
+                // The progressions have been moved concurrently and the write may have been lost, write it again
+                synchronized (looseProgressions) {
+                    updateLooseProgression(key, progression);
+                }
+                return old;
+            }
+            synchronized (looseProgressions) {
+                TabProgressions created = getTabProgressions(advancement.getAdvancementTab(), true);
+                if (created != null) {
+                    return created.progressions.getAndSet(advancement.getOrdinal(), progression);
+                }
+            }
+        }
+        synchronized (looseProgressions) {
+            return updateLooseProgression(key, progression);
+        }
+    }
+
+    // Must be called while holding the lock on looseProgressions
+    private int updateLooseProgression(@NotNull AdvancementKey key, int progression) {
+        TabProgressions tab = tabProgressions.get(key.getNamespace());
+        if (tab != null && tab.tab.isDisposed()) {
+            // Make sure the progressions of a disposed tab are moved to looseProgressions
+            moveToLooseProgressions(tab);
+            tab = null;
+        }
+        if (tab != null) {
+            int ordinal = tab.getOrdinal(key);
+            if (ordinal >= 0) {
+                return tab.progressions.getAndSet(ordinal, progression);
+            }
+        }
+        Integer i = looseProgressions.computeIfAbsent(key.getNamespace(), n -> new HashMap<>()).put(key, progression);
         return i == null ? 0 : i;
     }
 
@@ -332,4 +509,30 @@ public final class TeamProgression {
     public int getTeamId() {
         return teamId;
     }
+
+    /**
+     * The progressions of the advancements of an initialised tab, indexed by advancement ordinal (see {@link Advancement#getOrdinal()}).
+     */
+    private static final class TabProgressions {
+
+        private final AdvancementTab tab;
+        private final AtomicIntegerArray progressions;
+
+        TabProgressions(@NotNull AdvancementTab tab, @NotNull AtomicIntegerArray progressions) {
+            this.tab = tab;
+            this.progressions = progressions;
+        }
+
+        int getOrdinal(@NotNull Advancement advancement) {
+            return advancement.getAdvancementTab() == tab ? advancement.getOrdinal() : getOrdinal(advancement.getKey());
+        }
+
+        int getOrdinal(@NotNull AdvancementKey key) {
+            if (tab.isDisposed()) {
+                return -1;
+            }
+            Advancement advancement = tab.getAdvancement(key);
+            return advancement == null ? -1 : advancement.getOrdinal();
+        }
+    }
 }
@@ -0,0 +1,121 @@
+package com.fren_gor.ultimateAdvancementAPI.database;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the recently unloaded teams in memory for a grace period, so that a player who reconnects shortly after
+ * quitting can be loaded without querying the database.
+ * <p>Retained teams are not valid (see {@link TeamProgression#isValid()}) and must not be modified while retained.
+ * When more than {@code maxTeams} teams are retained, the least recently retained teams are evicted.
+ * <p>This class is thread safe.
+ */
+final class TeamRetentionCache {
+
+    private final long gracePeriod;
+    private final int maxTeams;
+
+    private final Object lock = new Object();
+    // Retained teams in retention order, team id -> retained team
+    private final LinkedHashMap<Integer, RetainedTeam> teams = new LinkedHashMap<>();
+    private final Map<UUID, Integer> members = new HashMap<>();
+
+    /**
+     * Creates a new {@code TeamRetentionCache}.
+     *
+     * @param gracePeriod For how long (in seconds) a team is retained.
+     * @param maxTeams The maximum amount of retained teams.
+     */
+    TeamRetentionCache(int gracePeriod, int maxTeams) {
+        this.gracePeriod = TimeUnit.SECONDS.toNanos(gracePeriod);
+        this.maxTeams = maxTeams;
+    }
+
+    /**
+     * Retains the provided team, replacing any other retained object of the same team.
+     *
+     * @param pro The unloaded team.
+     */
+    void retain(@NotNull TeamProgression pro) {
+        final long now = System.nanoTime();
+        synchronized (lock) {
+            remove(pro.getTeamId());
+            teams.put(pro.getTeamId(), new RetainedTeam(pro, now + gracePeriod));
+            pro.forEachMember(member -> members.put(member, pro.getTeamId()));
+            evict(now);
+        }
+    }
+
+    /**
+     * Gets the retained team of the provided player, without removing it from the cache.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @return The retained team of the player, or {@code null} if it isn't retained.
+     */
+    @Nullable
+    TeamProgression get(@NotNull UUID uuid) {
+        synchronized (lock) {
+            evict(System.nanoTime());
+            Integer teamId = members.get(uuid);
+            return teamId == null ? null : teams.get(teamId).pro();
+        }
+    }
+
+    /**
+     * Removes the retained team of the provided player from the cache.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @return The retained team of the player, or {@code null} if it isn't retained.
+     */
+    @Nullable
+    TeamProgression take(@NotNull UUID uuid) {
+        synchronized (lock) {
+            evict(System.nanoTime());
+            Integer teamId = members.get(uuid);
+            return teamId == null ? null : remove(teamId);
+        }
+    }
+
+    /**
+     * Clears the cache.
+     */
+    void clear() {
+        synchronized (lock) {
+            teams.clear();
+            members.clear();
+        }
+    }
+
+    @Nullable
+    private TeamProgression remove(int teamId) {
+        RetainedTeam retained = teams.remove(teamId);
+        if (retained == null) {
+            return null;
+        }
+        retained.pro().forEachMember(member -> members.remove(member, teamId));
+        return retained.pro();
+    }
+
+    private void evict(long now) {
+        // Teams are ordered by retention time, so the expired ones are at the beginning
+        Iterator<RetainedTeam> it = teams.values().iterator();
+        while (it.hasNext()) {
+            RetainedTeam retained = it.next();
+            if (teams.size() <= maxTeams && now - retained.expiration() < 0) {
+                return;
+            }
+            it.remove();
+            retained.pro().forEachMember(member -> members.remove(member, retained.pro().getTeamId()));
+        }
+    }
+
+    private record RetainedTeam(@NotNull TeamProgression pro, long expiration) {
+    }
+}
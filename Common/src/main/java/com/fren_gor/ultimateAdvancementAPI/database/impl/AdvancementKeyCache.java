@@ -0,0 +1,162 @@
+package com.fren_gor.ultimateAdvancementAPI.database.impl;
+
+import com.fren_gor.ultimateAdvancementAPI.exceptions.IllegalKeyException;
+import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Bidirectional cache between the {@link AdvancementKey}s and their ids in the {@code AdvancementKeys} table.
+ * <p>The cache is thread safe. Since ids are never changed once assigned, a cached id is valid until the transaction
+ * which inserted it is rolled back. In that case, {@link #clear()} must be called.
+ */
+final class AdvancementKeyCache {
+
+    private final Logger logger;
+    private final String insertStatement;
+    private final Map<AdvancementKey, Integer> ids = new ConcurrentHashMap<>();
+    private final Map<Integer, AdvancementKey> keys = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new {@code AdvancementKeyCache}.
+     *
+     * @param logger The logger used to report invalid keys found in the database.
+     * @param insertStatement The statement used to insert a new key. It must take the namespace and the key as parameters
+     *         and must not fail if the key already exists.
+     */
+    AdvancementKeyCache(@NotNull Logger logger, @NotNull String insertStatement) {
+        this.logger = Preconditions.checkNotNull(logger, "Logger is null.");
+        this.insertStatement = Preconditions.checkNotNull(insertStatement, "Insert statement is null.");
+    }
+
+    /**
+     * Loads every key stored in the {@code AdvancementKeys} table.
+     *
+     * @param conn The connection to use.
+     * @throws SQLException If an SQL exception occurs.
+     */
+    void loadAll(@NotNull Connection conn) throws SQLException {
+        try (Statement statement = conn.createStatement()) {
+            ResultSet r = statement.executeQuery("SELECT `ID`, `Namespace`, `Key` FROM `AdvancementKeys`;");
+            while (r.next()) {
+                AdvancementKey key = parse(r.getString(2), r.getString(3));
+                if (key != null) {
+                    put(r.getInt(1), key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the id of the provided key, if it is stored in the database.
+     *
+     * @param conn The connection to use on cache miss.
+     * @param key The advancement key.
+     * @return The id of the key, or {@code null} if it isn't stored in the database.
+     * @throws SQLException If an SQL exception occurs.
+     */
+    @Nullable
+    Integer getId(@NotNull Connection conn, @NotNull AdvancementKey key) throws SQLException {
+        Integer id = ids.get(key);
+        if (id != null) {
+            return id;
+        }
+        try (PreparedStatement ps = conn.prepareStatement("SELECT `ID` FROM `AdvancementKeys` WHERE `Namespace`=? AND `Key`=?;")) {
+            ps.setString(1, key.getNamespace());
+            ps.setString(2, key.getKey());
+            ResultSet r = ps.executeQuery();
+            if (!r.next()) {
+                return null;
+            }
+            id = r.getInt(1);
+        }
+        put(id, key);
+        return id;
+    }
+
+    /**
+     * Gets the id of the provided key, inserting it into the database if it isn't stored yet.
+     *
+     * @param conn The connection to use on cache miss. It must be able to write.
+     * @param key The advancement key.
+     * @return The id of the key.
+     * @throws SQLException If an SQL exception occurs.
+     */
+    int getOrCreateId(@NotNull Connection conn, @NotNull AdvancementKey key) throws SQLException {
+        Integer id = getId(conn, key);
+        if (id != null) {
+            return id;
+        }
+        try (PreparedStatement ps = conn.prepareStatement(insertStatement)) {
+            ps.setString(1, key.getNamespace());
+            ps.setString(2, key.getKey());
+            ps.execute();
+        }
+        id = getId(conn, key);
+        if (id == null) {
+            throw new SQLException("Cannot insert " + key + " into AdvancementKeys table.");
+        }
+        return id;
+    }
+
+    /**
+     * Gets the key with the provided id.
+     *
+     * @param conn The connection to use on cache miss.
+     * @param id The id of the key.
+     * @return The key with the provided id, or {@code null} if it doesn't exist or if it is invalid.
+     * @throws SQLException If an SQL exception occurs.
+     */
+    @Nullable
+    AdvancementKey getKey(@NotNull Connection conn, int id) throws SQLException {
+        AdvancementKey key = keys.get(id);
+        if (key != null) {
+            return key;
+        }
+        try (PreparedStatement ps = conn.prepareStatement("SELECT `Namespace`, `Key` FROM `AdvancementKeys` WHERE `ID`=?;")) {
+            ps.setInt(1, id);
+            ResultSet r = ps.executeQuery();
+            if (!r.next()) {
+                return null;
+            }
+            key = parse(r.getString(1), r.getString(2));
+        }
+        if (key != null) {
+            put(id, key);
+        }
+        return key;
+    }
+
+    /**
+     * Clears the cache.
+     */
+    void clear() {
+        ids.clear();
+        keys.clear();
+    }
+
+    private void put(int id, @NotNull AdvancementKey key) {
+        keys.put(id, key);
+        ids.put(key, id);
+    }
+
+    @Nullable
+    private AdvancementKey parse(String namespace, String key) {
+        try {
+            return new AdvancementKey(namespace, key);
+        } catch (IllegalKeyException e) {
+            logger.warning("Invalid AdvancementKey (" + namespace + ':' + key + ") encountered while reading AdvancementKeys table: " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -3,7 +3,6 @@ package com.fren_gor.ultimateAdvancementAPI.database.impl;
 import com.fren_gor.ultimateAdvancementAPI.AdvancementMain;
 import com.fren_gor.ultimateAdvancementAPI.database.IDatabase;
 import com.fren_gor.ultimateAdvancementAPI.database.TeamProgression;
-import com.fren_gor.ultimateAdvancementAPI.exceptions.IllegalKeyException;
 import com.fren_gor.ultimateAdvancementAPI.exceptions.UserNotRegisteredException;
 import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
 import com.google.common.base.Preconditions;
@@ -11,6 +10,7 @@ import net.byteflux.libby.Library;
 import net.byteflux.libby.LibraryManager;
 import net.byteflux.libby.classloader.IsolatedClassLoader;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Range;
 
 import javax.sql.DataSource;
@@ -22,22 +22,38 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
 import java.util.UUID;
 import java.util.logging.Logger;
 
+import static com.fren_gor.ultimateAdvancementAPI.database.impl.UUIDCodec.fromBytes;
+import static com.fren_gor.ultimateAdvancementAPI.database.impl.UUIDCodec.toBytes;
+
 /**
  * Class used to establish a connection to a MySQL database.
  */
 public class MySQL implements IDatabase {
 
+    /**
+     * The version of the schema of the database.
+     */
+    public static final int SCHEMA_VERSION = 4;
+
+    private static final int MAX_UUIDS_PER_QUERY = 250;
+
     private final Logger logger;
+    private final AdvancementKeyCache keyCache;
     private final IsolatedClassLoader classLoader;
     private final DataSource dataSource;
     private final Method close;
@@ -125,6 +141,7 @@ public class MySQL implements IDatabase {
             throw new SQLException("An exception occurred while testing the established connection.", e);
         }
         this.logger = logger;
+        this.keyCache = new AdvancementKeyCache(logger, "INSERT IGNORE INTO `AdvancementKeys` (`Namespace`, `Key`) VALUES (?, ?);");
     }
 
     /**
@@ -137,10 +154,156 @@ public class MySQL implements IDatabase {
             statement.addBatch("CREATE TABLE IF NOT EXISTS `Players` (`UUID` VARCHAR(36) NOT NULL, `Name` VARCHAR(16) NOT NULL, `TeamID` INTEGER NOT NULL, PRIMARY KEY(`UUID`), FOREIGN KEY(`TeamID`) REFERENCES `Teams`(`ID`) ON DELETE CASCADE ON UPDATE CASCADE) DEFAULT CHARSET = utf8mb4;");
             statement.addBatch("CREATE TABLE IF NOT EXISTS `Advancements` (`Namespace` VARCHAR(127) NOT NULL, `Key` VARCHAR(127) NOT NULL, `TeamID` INTEGER NOT NULL, `Progression` INTEGER NOT NULL DEFAULT 0, PRIMARY KEY(`Namespace`,`Key`,`TeamID`), FOREIGN KEY(`TeamID`) REFERENCES `Teams`(`ID`) ON DELETE CASCADE ON UPDATE CASCADE) DEFAULT CHARSET = utf8mb4;");
             statement.addBatch("CREATE TABLE IF NOT EXISTS `Unredeemed` (`Namespace` VARCHAR(127) NOT NULL, `Key` VARCHAR(127) NOT NULL, `TeamID` INTEGER NOT NULL, `GiveRewards` INTEGER NOT NULL, PRIMARY KEY(`Namespace`,`Key`,`TeamID`), FOREIGN KEY(`Namespace`, `Key`, `TeamID`) REFERENCES `Advancements`(`Namespace`, `Key`, `TeamID`) ON DELETE CASCADE ON UPDATE CASCADE) DEFAULT CHARSET = utf8mb4;");
+            statement.addBatch("CREATE TABLE IF NOT EXISTS `SchemaVersion` (`Version` INTEGER NOT NULL, PRIMARY KEY(`Version`)) DEFAULT CHARSET = utf8mb4;");
+            statement.executeBatch();
+            migrate(conn);
+            keyCache.loadAll(conn);
+        }
+    }
+
+    /**
+     * Migrates the schema of the database to {@link #SCHEMA_VERSION}.
+     * <p>The tables created by {@link #setUp()} have the schema of version {@code 1}.
+     * <p>Since MySQL commits DDL statements implicitly, every migration step is committed on its own.
+     * For this reason, every step checks what the previous (possibly failed) attempts have already done, so that
+     * a failed migration can be resumed by restarting the server.
+     *
+     * @param conn The connection to use.
+     * @throws SQLException If an SQL exception occurs or if the schema is newer than the supported one.
+     */
+    private void migrate(@NotNull Connection conn) throws SQLException {
+        final int version = getSchemaVersion(conn);
+        if (version > SCHEMA_VERSION) {
+            throw new SQLException("Database schema version " + version + " is newer than the supported one (" + SCHEMA_VERSION + ").");
+        }
+        if (version < 2) {
+            // InnoDB already indexes Advancements.TeamID and Players.TeamID, since they are foreign keys
+            try (Statement statement = conn.createStatement()) {
+                statement.addBatch("CREATE INDEX `Unredeemed_TeamID` ON `Unredeemed` (`TeamID`);");
+                statement.addBatch("CREATE INDEX `Players_Name` ON `Players` (`Name`);");
+                statement.executeBatch();
+            }
+            setSchemaVersion(conn, 2);
+        }
+        if (version < 3) {
+            // Store the advancement keys only once in the AdvancementKeys table and reference them by id
+            if (getColumnType(conn, "Advancements", "Namespace") != null) {
+                // Foreign key names are unique per database and, on some MySQL and MariaDB versions, they aren't
+                // renamed together with their table. Drop them, so that they cannot clash with the ones of the new tables
+                dropForeignKeys(conn, "Unredeemed");
+                dropForeignKeys(conn, "Advancements");
+                try (Statement statement = conn.createStatement()) {
+                    if (tableExists(conn, "Advancements_old")) {
+                        // A previous attempt failed after renaming the tables and setUp() created them again empty
+                        statement.execute("DROP TABLE IF EXISTS `Unredeemed`, `Advancements`;");
+                    } else {
+                        statement.execute("RENAME TABLE `Unredeemed` TO `Unredeemed_old`, `Advancements` TO `Advancements_old`;");
+                    }
+                }
+            }
+            try (Statement statement = conn.createStatement()) {
+                statement.addBatch("CREATE TABLE IF NOT EXISTS `AdvancementKeys` (`ID` INTEGER NOT NULL AUTO_INCREMENT, `Namespace` VARCHAR(127) NOT NULL, `Key` VARCHAR(127) NOT NULL, PRIMARY KEY(`ID`), UNIQUE(`Namespace`,`Key`)) DEFAULT CHARSET = utf8mb4;");
+                statement.addBatch("CREATE TABLE IF NOT EXISTS `Advancements` (`KeyID` INTEGER NOT NULL, `TeamID` INTEGER NOT NULL, `Progression` INTEGER NOT NULL DEFAULT 0, PRIMARY KEY(`KeyID`,`TeamID`), CONSTRAINT `Advancements_KeyID` FOREIGN KEY(`KeyID`) REFERENCES `AdvancementKeys`(`ID`) ON DELETE CASCADE ON UPDATE CASCADE, CONSTRAINT `Advancements_TeamID` FOREIGN KEY(`TeamID`) REFERENCES `Teams`(`ID`) ON DELETE CASCADE ON UPDATE CASCADE) DEFAULT CHARSET = utf8mb4;");
+                statement.addBatch("CREATE TABLE IF NOT EXISTS `Unredeemed` (`KeyID` INTEGER NOT NULL, `TeamID` INTEGER NOT NULL, `GiveRewards` INTEGER NOT NULL, PRIMARY KEY(`KeyID`,`TeamID`), INDEX `Unredeemed_TeamID` (`TeamID`), CONSTRAINT `Unredeemed_Advancement` FOREIGN KEY(`KeyID`, `TeamID`) REFERENCES `Advancements`(`KeyID`, `TeamID`) ON DELETE CASCADE ON UPDATE CASCADE) DEFAULT CHARSET = utf8mb4;");
+                // Unredeemed_old is dropped only after every row has been copied
+                if (tableExists(conn, "Unredeemed_old")) {
+                    // Rows referencing not-existent teams or advancements (if any) are discarded.
+                    // Rows already copied by a previous attempt are ignored
+                    statement.addBatch("INSERT IGNORE INTO `AdvancementKeys` (`Namespace`, `Key`) SELECT `Namespace`, `Key` FROM `Advancements_old` UNION SELECT `Namespace`, `Key` FROM `Unredeemed_old`;");
+                    statement.addBatch("INSERT IGNORE INTO `Advancements` (`KeyID`, `TeamID`, `Progression`) SELECT k.`ID`, a.`TeamID`, a.`Progression` FROM `Advancements_old` a JOIN `AdvancementKeys` k ON k.`Namespace`=a.`Namespace` AND k.`Key`=a.`Key` JOIN `Teams` t ON t.`ID`=a.`TeamID`;");
+                    statement.addBatch("INSERT IGNORE INTO `Unredeemed` (`KeyID`, `TeamID`, `GiveRewards`) SELECT k.`ID`, u.`TeamID`, u.`GiveRewards` FROM `Unredeemed_old` u JOIN `AdvancementKeys` k ON k.`Namespace`=u.`Namespace` AND k.`Key`=u.`Key` JOIN `Advancements` a ON a.`KeyID`=k.`ID` AND a.`TeamID`=u.`TeamID`;");
+                    statement.addBatch("DROP TABLE `Unredeemed_old`;");
+                }
+                statement.addBatch("DROP TABLE IF EXISTS `Advancements_old`;");
+                statement.executeBatch();
+            }
+            setSchemaVersion(conn, 3);
+        }
+        if (version < 4) {
+            // Store the player UUIDs as 16 bytes instead of text. The hexadecimal digits of a UUID match its binary encoding
+            if ("varchar".equalsIgnoreCase(getColumnType(conn, "Players", "UUID"))) {
+                // Drop the foreign key before renaming, see the migration to version 3
+                dropForeignKeys(conn, "Players");
+                try (Statement statement = conn.createStatement()) {
+                    if (tableExists(conn, "Players_old")) {
+                        // A previous attempt failed after renaming the table and setUp() created it again empty
+                        statement.execute("DROP TABLE IF EXISTS `Players`;");
+                    } else {
+                        statement.execute("RENAME TABLE `Players` TO `Players_old`;");
+                    }
+                }
+            }
+            try (Statement statement = conn.createStatement()) {
+                statement.addBatch("CREATE TABLE IF NOT EXISTS `Players` (`UUID` BINARY(16) NOT NULL, `Name` VARCHAR(16) NOT NULL, `TeamID` INTEGER NOT NULL, PRIMARY KEY(`UUID`), INDEX `Players_Name` (`Name`), CONSTRAINT `Players_TeamID` FOREIGN KEY(`TeamID`) REFERENCES `Teams`(`ID`) ON DELETE CASCADE ON UPDATE CASCADE) DEFAULT CHARSET = utf8mb4;");
+                if (tableExists(conn, "Players_old")) {
+                    // Rows already copied by a previous attempt are ignored
+                    statement.addBatch("INSERT IGNORE INTO `Players` (`UUID`, `Name`, `TeamID`) SELECT UNHEX(REPLACE(`UUID`, '-', '')), `Name`, `TeamID` FROM `Players_old` WHERE LENGTH(`UUID`)=36;");
+                    statement.addBatch("DROP TABLE `Players_old`;");
+                }
+                statement.executeBatch();
+            }
+            setSchemaVersion(conn, 4);
+        }
+    }
+
+    private static boolean tableExists(@NotNull Connection conn, @NotNull String table) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT 1 FROM information_schema.`TABLES` WHERE `TABLE_SCHEMA`=DATABASE() AND LOWER(`TABLE_NAME`)=LOWER(?);")) {
+            ps.setString(1, table);
+            return ps.executeQuery().next();
+        }
+    }
+
+    @Nullable
+    private static String getColumnType(@NotNull Connection conn, @NotNull String table, @NotNull String column) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT `DATA_TYPE` FROM information_schema.`COLUMNS` WHERE `TABLE_SCHEMA`=DATABASE() AND LOWER(`TABLE_NAME`)=LOWER(?) AND LOWER(`COLUMN_NAME`)=LOWER(?);")) {
+            ps.setString(1, table);
+            ps.setString(2, column);
+            ResultSet r = ps.executeQuery();
+            return r.next() ? r.getString(1) : null;
+        }
+    }
+
+    private static void dropForeignKeys(@NotNull Connection conn, @NotNull String table) throws SQLException {
+        final List<String> foreignKeys = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement("SELECT `CONSTRAINT_NAME` FROM information_schema.`TABLE_CONSTRAINTS` WHERE `TABLE_SCHEMA`=DATABASE() AND LOWER(`TABLE_NAME`)=LOWER(?) AND `CONSTRAINT_TYPE`='FOREIGN KEY';")) {
+            ps.setString(1, table);
+            ResultSet r = ps.executeQuery();
+            while (r.next()) {
+                foreignKeys.add(r.getString(1));
+            }
+        }
+        if (foreignKeys.isEmpty()) {
+            return;
+        }
+        try (Statement statement = conn.createStatement()) {
+            for (String foreignKey : foreignKeys) {
+                statement.addBatch("ALTER TABLE `" + table + "` DROP FOREIGN KEY `" + foreignKey + "`;");
+            }
             statement.executeBatch();
         }
     }
 
+    private int getSchemaVersion(@NotNull Connection conn) throws SQLException {
+        try (Statement statement = conn.createStatement()) {
+            ResultSet r = statement.executeQuery("SELECT MAX(`Version`) FROM `SchemaVersion`;");
+            if (r.next()) {
+                int version = r.getInt(1);
+                if (!r.wasNull()) {
+                    return version;
+                }
+            }
+            return 1; // Databases created before the introduction of SchemaVersion
+        }
+    }
+
+    private void setSchemaVersion(@NotNull Connection conn, int version) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("INSERT INTO `SchemaVersion` (`Version`) VALUES (?);")) {
+            ps.setInt(1, version);
+            ps.execute();
+        }
+        logger.info("Migrated database schema to version " + version + '.');
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -172,7 +335,7 @@ public class MySQL implements IDatabase {
     @Override
     public int getTeamId(@NotNull UUID uuid) throws SQLException, UserNotRegisteredException {
         try (Connection conn = openConnection(); PreparedStatement ps = conn.prepareStatement("SELECT `TeamID` FROM `Players` WHERE `UUID`=?;")) {
-            ps.setString(1, uuid.toString());
+            ps.setBytes(1, toBytes(uuid));
             ResultSet r = ps.executeQuery();
             if (r.next()) {
                 return r.getInt(1);
@@ -198,7 +361,7 @@ public class MySQL implements IDatabase {
             ResultSet r = ps.executeQuery();
             List<UUID> list = new LinkedList<>();
             while (r.next()) {
-                list.add(UUID.fromString(r.getString(1)));
+                list.add(fromBytes(r.getBytes(1)));
             }
             return list;
         }
@@ -215,18 +378,14 @@ public class MySQL implements IDatabase {
     }
 
     private Map<AdvancementKey, Integer> getTeamAdvancements(Connection connection, int teamId) throws SQLException {
-        try (PreparedStatement ps = connection.prepareStatement("SELECT `Namespace`,`Key`,`Progression` FROM `Advancements` WHERE `TeamID`=?;")) {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT `KeyID`,`Progression` FROM `Advancements` WHERE `TeamID`=?;")) {
             ps.setInt(1, teamId);
             ResultSet r = ps.executeQuery();
             Map<AdvancementKey, Integer> map = new HashMap<>();
             while (r.next()) {
-                String namespace = r.getString(1);
-                String key = r.getString(2);
-                int progression = r.getInt(3);
-                try {
-                    map.put(new AdvancementKey(namespace, key), progression);
-                } catch (IllegalKeyException e) {
-                    logger.warning("Invalid AdvancementKey (" + namespace + ':' + key + ") encountered while reading Advancements table: " + e.getMessage());
+                AdvancementKey key = keyCache.getKey(connection, r.getInt(1));
+                if (key != null) {
+                    map.put(key, r.getInt(2));
                 }
             }
             return map;
@@ -238,34 +397,38 @@ public class MySQL implements IDatabase {
      */
     @Override
     public Entry<TeamProgression, Boolean> loadOrRegisterPlayer(@NotNull UUID uuid, @NotNull String name) throws SQLException {
-        int teamId;
-        ResultSet r;
         try (Connection conn = openConnection()) {
-            try (PreparedStatement psTeamId = conn.prepareStatement("SELECT `TeamID` FROM `Players` WHERE `UUID`=?;")) {
-                psTeamId.setString(1, uuid.toString());
-
-                r = psTeamId.executeQuery();
-                if (!r.next()) { // Player isn't registered
-                    try (PreparedStatement psInsert = conn.prepareStatement("INSERT INTO `Teams` () VALUES ();", Statement.RETURN_GENERATED_KEYS); PreparedStatement psInsertPl = conn.prepareStatement("INSERT INTO `Players` (`UUID`, `Name`, `TeamID`) VALUES (?, ?, ?);")) {
-                        psInsert.executeUpdate();
-                        r = psInsert.getGeneratedKeys();
-                        if (!r.next()) {
-                            throw new SQLException("Cannot insert default values into Teams table.");
-                        }
-                        teamId = r.getInt(1);
-                        psInsertPl.setString(1, uuid.toString());
-                        psInsertPl.setString(2, name);
-                        psInsertPl.setInt(3, teamId);
-                        psInsertPl.execute();
-                        return new SimpleEntry<>(new TeamProgression(teamId, uuid), true);
-                    }
-                }
+            TeamProgression loaded = loadTeam(conn, uuid);
+            if (loaded != null) {
+                return new SimpleEntry<>(loaded, false);
+            }
 
-                teamId = r.getInt(1);
+            // Player isn't registered. Insert the team and the player in the same transaction
+            conn.setAutoCommit(false);
+            try (PreparedStatement psInsert = conn.prepareStatement("INSERT INTO `Teams` () VALUES ();", Statement.RETURN_GENERATED_KEYS); PreparedStatement psInsertPl = conn.prepareStatement("INSERT INTO `Players` (`UUID`, `Name`, `TeamID`) VALUES (?, ?, ?);")) {
+                psInsert.executeUpdate();
+                ResultSet r = psInsert.getGeneratedKeys();
+                if (!r.next()) {
+                    throw new SQLException("Cannot insert default values into Teams table.");
+                }
+                int teamId = r.getInt(1);
+                psInsertPl.setBytes(1, toBytes(uuid));
+                psInsertPl.setString(2, name);
+                psInsertPl.setInt(3, teamId);
+                psInsertPl.execute();
+                conn.commit();
+                return new SimpleEntry<>(new TeamProgression(teamId, uuid), true);
+            } catch (SQLException e) {
+                conn.rollback();
+                // The player may have been registered in the meantime by another server
+                loaded = loadTeam(conn, uuid);
+                if (loaded != null) {
+                    return new SimpleEntry<>(loaded, false);
+                }
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
-            List<UUID> list = getTeamMembers(conn, teamId);
-            Map<AdvancementKey, Integer> map = getTeamAdvancements(conn, teamId);
-            return new SimpleEntry<>(new TeamProgression(map, teamId, list), false);
         }
     }
 
@@ -274,38 +437,103 @@ public class MySQL implements IDatabase {
      */
     @Override
     public TeamProgression loadUUID(@NotNull UUID uuid) throws SQLException, UserNotRegisteredException {
-        int teamID = Integer.MIN_VALUE;
-        List<UUID> list = new LinkedList<>();
         try (Connection conn = openConnection()) {
-            try (PreparedStatement psTeamId = conn.prepareStatement("SELECT `UUID`, `TeamID` FROM `Players` WHERE `TeamID`=(SELECT `TeamID` FROM `Players` WHERE `UUID`=? LIMIT 1);")) {
-                psTeamId.setString(1, uuid.toString());
-                ResultSet r = psTeamId.executeQuery();
-                while (r.next()) {
-                    list.add(UUID.fromString(r.getString(1)));
-                    if (teamID == Integer.MIN_VALUE)
-                        teamID = r.getInt(2);
+            TeamProgression loaded = loadTeam(conn, uuid);
+            if (loaded == null) {
+                throw new UserNotRegisteredException("No user " + uuid + " has been found.");
+            }
+            return loaded;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>The players are loaded in batches, using a single query for every batch.
+     */
+    @Override
+    public Map<UUID, TeamProgression> loadUUIDs(@NotNull Collection<UUID> uuids) throws SQLException {
+        Preconditions.checkNotNull(uuids, "Collection is null.");
+        final Set<UUID> requested = new HashSet<>(uuids);
+        if (requested.isEmpty()) {
+            return new HashMap<>();
+        }
+        final Map<Integer, Set<UUID>> members = new HashMap<>();
+        final Map<Integer, Map<AdvancementKey, Integer>> advancements = new HashMap<>();
+        final List<UUID> list = new ArrayList<>(requested);
+        try (Connection conn = openConnection()) {
+            for (int i = 0; i < list.size(); i += MAX_UUIDS_PER_QUERY) {
+                List<UUID> batch = list.subList(i, Math.min(list.size(), i + MAX_UUIDS_PER_QUERY));
+                String in = String.join(", ", Collections.nCopies(batch.size(), "?"));
+                try (PreparedStatement ps = conn.prepareStatement("SELECT p.`TeamID`, p.`UUID`, NULL, NULL FROM `Players` p WHERE p.`TeamID` IN (SELECT `TeamID` FROM `Players` WHERE `UUID` IN (" + in + ")) UNION ALL SELECT a.`TeamID`, NULL, a.`KeyID`, a.`Progression` FROM `Advancements` a WHERE a.`TeamID` IN (SELECT `TeamID` FROM `Players` WHERE `UUID` IN (" + in + "));")) {
+                    int index = 1;
+                    for (int j = 0; j < 2; j++) {
+                        for (UUID uuid : batch) {
+                            ps.setBytes(index++, toBytes(uuid));
+                        }
+                    }
+                    ResultSet r = ps.executeQuery();
+                    while (r.next()) {
+                        final int teamId = r.getInt(1);
+                        final byte[] member = r.getBytes(2);
+                        // Make sure teams without advancements are present in both maps
+                        Map<AdvancementKey, Integer> teamAdvancements = advancements.computeIfAbsent(teamId, id -> new HashMap<>());
+                        if (member != null) {
+                            members.computeIfAbsent(teamId, id -> new HashSet<>()).add(fromBytes(member));
+                        } else {
+                            AdvancementKey key = keyCache.getKey(conn, r.getInt(3));
+                            if (key != null) {
+                                teamAdvancements.put(key, r.getInt(4));
+                            }
+                        }
+                    }
                 }
             }
+        }
 
-            if (teamID == Integer.MIN_VALUE)
-                throw new UserNotRegisteredException("No user " + uuid + " has been found.");
+        final Map<UUID, TeamProgression> map = new HashMap<>();
+        for (Entry<Integer, Set<UUID>> e : members.entrySet()) {
+            final TeamProgression pro = new TeamProgression(advancements.get(e.getKey()), e.getKey(), e.getValue());
+            for (UUID member : e.getValue()) {
+                if (requested.contains(member)) {
+                    map.put(member, pro);
+                }
+            }
+        }
+        return map;
+    }
 
-            try (PreparedStatement psAdv = conn.prepareStatement("SELECT `Namespace`, `Key`, `Progression` FROM `Advancements` WHERE `TeamID`=?;")) {
-                Map<AdvancementKey, Integer> map = new HashMap<>();
-                psAdv.setInt(1, teamID);
-                ResultSet r = psAdv.executeQuery();
-                while (r.next()) {
-                    String namespace = r.getString(1);
-                    String key = r.getString(2);
-                    int progression = r.getInt(3);
-                    try {
-                        map.put(new AdvancementKey(namespace, key), progression);
-                    } catch (IllegalKeyException e) {
-                        logger.warning("Invalid AdvancementKey (" + namespace + ':' + key + ") encountered while reading Advancements table: " + e.getMessage());
+    /**
+     * Loads the team of the provided player with a single query, which returns both the members and the advancements of the team.
+     *
+     * @param conn The connection to use.
+     * @param uuid The player {@link UUID}.
+     * @return The {@link TeamProgression} of the player team, or {@code null} if the player isn't registered.
+     * @throws SQLException If an SQL exception occurs.
+     */
+    @Nullable
+    private TeamProgression loadTeam(@NotNull Connection conn, @NotNull UUID uuid) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT p.`TeamID`, p.`UUID`, NULL, NULL FROM `Players` p WHERE p.`TeamID`=(SELECT `TeamID` FROM `Players` WHERE `UUID`=?) UNION ALL SELECT a.`TeamID`, NULL, a.`KeyID`, a.`Progression` FROM `Advancements` a WHERE a.`TeamID`=(SELECT `TeamID` FROM `Players` WHERE `UUID`=?);")) {
+            final byte[] bytes = toBytes(uuid);
+            ps.setBytes(1, bytes);
+            ps.setBytes(2, bytes);
+            ResultSet r = ps.executeQuery();
+            int teamId = Integer.MIN_VALUE;
+            List<UUID> members = new LinkedList<>();
+            Map<AdvancementKey, Integer> advancements = new HashMap<>();
+            while (r.next()) {
+                teamId = r.getInt(1);
+                byte[] member = r.getBytes(2);
+                if (member != null) {
+                    members.add(fromBytes(member));
+                } else {
+                    AdvancementKey key = keyCache.getKey(conn, r.getInt(3));
+                    if (key != null) {
+                        advancements.put(key, r.getInt(4));
                     }
                 }
-                return new TeamProgression(map, teamID, list);
             }
+            // A registered player is always returned as a member of their team
+            return teamId == Integer.MIN_VALUE ? null : new TeamProgression(advancements, teamId, members);
         }
     }
 
@@ -316,41 +544,87 @@ public class MySQL implements IDatabase {
     public void updateAdvancement(@NotNull AdvancementKey key, int teamId, @Range(from = 0, to = Integer.MAX_VALUE) int progression) throws SQLException {
         try (Connection conn = openConnection()) {
             if (progression <= 0) {
-                try (PreparedStatement ps = conn.prepareStatement("DELETE FROM `Advancements` WHERE `Namespace`=? AND `Key`=? AND `TeamID`=?;")) {
-                    ps.setString(1, key.getNamespace());
-                    ps.setString(2, key.getKey());
-                    ps.setInt(3, teamId);
-                    ps.execute();
+                Integer keyId = keyCache.getId(conn, key);
+                if (keyId != null) {
+                    try (PreparedStatement ps = conn.prepareStatement("DELETE FROM `Advancements` WHERE `KeyID`=? AND `TeamID`=?;")) {
+                        ps.setInt(1, keyId);
+                        ps.setInt(2, teamId);
+                        ps.execute();
+                    }
                 }
             } else {
-                try (PreparedStatement ps = conn.prepareStatement("INSERT INTO `Advancements` (`Namespace`, `Key`, `TeamID`, `Progression`) VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE `Progression`=VALUES(`Progression`);")) {
-                    ps.setString(1, key.getNamespace());
-                    ps.setString(2, key.getKey());
-                    ps.setInt(3, teamId);
-                    ps.setInt(4, progression);
+                try (PreparedStatement ps = conn.prepareStatement("INSERT INTO `Advancements` (`KeyID`, `TeamID`, `Progression`) VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE `Progression`=VALUES(`Progression`);")) {
+                    ps.setInt(1, keyCache.getOrCreateId(conn, key));
+                    ps.setInt(2, teamId);
+                    ps.setInt(3, progression);
                     ps.execute();
                 }
             }
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateAdvancements(@NotNull Map<Integer, Map<AdvancementKey, Integer>> progressions) throws SQLException {
+        try (Connection conn = openConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement delete = conn.prepareStatement("DELETE FROM `Advancements` WHERE `KeyID`=? AND `TeamID`=?;");
+                 PreparedStatement update = conn.prepareStatement("INSERT INTO `Advancements` (`KeyID`, `TeamID`, `Progression`) VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE `Progression`=VALUES(`Progression`);")) {
+                boolean deletes = false, updates = false;
+                for (Entry<Integer, Map<AdvancementKey, Integer>> team : progressions.entrySet()) {
+                    final int teamId = team.getKey();
+                    for (Entry<AdvancementKey, Integer> e : team.getValue().entrySet()) {
+                        final AdvancementKey key = e.getKey();
+                        final int progression = e.getValue();
+                        if (progression <= 0) {
+                            Integer keyId = keyCache.getId(conn, key);
+                            if (keyId != null) {
+                                delete.setInt(1, keyId);
+                                delete.setInt(2, teamId);
+                                delete.addBatch();
+                                deletes = true;
+                            }
+                        } else {
+                            update.setInt(1, keyCache.getOrCreateId(conn, key));
+                            update.setInt(2, teamId);
+                            update.setInt(3, progression);
+                            update.addBatch();
+                            updates = true;
+                        }
+                    }
+                }
+                if (deletes)
+                    delete.executeBatch();
+                if (updates)
+                    update.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                // Keys inserted by the rolled back transaction would otherwise remain cached
+                keyCache.clear();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public List<Entry<AdvancementKey, Boolean>> getUnredeemed(int teamId) throws SQLException {
-        try (Connection conn = openConnection(); PreparedStatement ps = conn.prepareStatement("SELECT `Namespace`, `Key`, `GiveRewards` FROM `Unredeemed` WHERE `TeamID`=?;")) {
+        try (Connection conn = openConnection(); PreparedStatement ps = conn.prepareStatement("SELECT `KeyID`, `GiveRewards` FROM `Unredeemed` WHERE `TeamID`=?;")) {
             ps.setInt(1, teamId);
             ResultSet r = ps.executeQuery();
             List<Entry<AdvancementKey, Boolean>> list = new LinkedList<>();
             while (r.next()) {
-                String namespace = r.getString(1);
-                String key = r.getString(2);
-                boolean giveRewards = r.getInt(3) != 0; // false iff r.getInt(3) == 0
-                try {
-                    list.add(new SimpleEntry<>(new AdvancementKey(namespace, key), giveRewards));
-                } catch (IllegalKeyException e) {
-                    logger.warning("Invalid AdvancementKey (" + namespace + ':' + key + ") encountered while reading Unredeemed table: " + e.getMessage());
+                AdvancementKey key = keyCache.getKey(conn, r.getInt(1));
+                boolean giveRewards = r.getInt(2) != 0; // false iff r.getInt(2) == 0
+                if (key != null) {
+                    list.add(new SimpleEntry<>(key, giveRewards));
                 }
             }
             return list;
@@ -362,11 +636,10 @@ public class MySQL implements IDatabase {
      */
     @Override
     public void setUnredeemed(@NotNull AdvancementKey key, boolean giveRewards, int teamId) throws SQLException {
-        try (Connection conn = openConnection(); PreparedStatement ps = conn.prepareStatement("INSERT IGNORE INTO `Unredeemed` (`Namespace`, `Key`, `TeamID`, `GiveRewards`) VALUES (?, ?, ?, ?);")) {
-            ps.setString(1, key.getNamespace());
-            ps.setString(2, key.getKey());
-            ps.setInt(3, teamId);
-            ps.setInt(4, giveRewards ? 1 : 0);
+        try (Connection conn = openConnection(); PreparedStatement ps = conn.prepareStatement("INSERT IGNORE INTO `Unredeemed` (`KeyID`, `TeamID`, `GiveRewards`) VALUES (?, ?, ?);")) {
+            ps.setInt(1, keyCache.getOrCreateId(conn, key));
+            ps.setInt(2, teamId);
+            ps.setInt(3, giveRewards ? 1 : 0);
             ps.execute();
         }
     }
@@ -376,12 +649,17 @@ public class MySQL implements IDatabase {
      */
     @Override
     public boolean isUnredeemed(@NotNull AdvancementKey key, int teamId) throws SQLException {
-        try (Connection conn = openConnection(); PreparedStatement ps = conn.prepareStatement("SELECT Count(*) FROM `Unredeemed` WHERE `Namespace`=? AND `Key`=? AND `TeamID`=?;")) {
-            ps.setString(1, key.getNamespace());
-            ps.setString(2, key.getKey());
-            ps.setInt(3, teamId);
-            ResultSet r = ps.executeQuery();
-            return r.next() && r.getInt(1) > 0;
+        try (Connection conn = openConnection()) {
+            Integer keyId = keyCache.getId(conn, key);
+            if (keyId == null) {
+                return false;
+            }
+            try (PreparedStatement ps = conn.prepareStatement("SELECT Count(*) FROM `Unredeemed` WHERE `KeyID`=? AND `TeamID`=?;")) {
+                ps.setInt(1, keyId);
+                ps.setInt(2, teamId);
+                ResultSet r = ps.executeQuery();
+                return r.next() && r.getInt(1) > 0;
+            }
         }
     }
 
@@ -390,11 +668,16 @@ public class MySQL implements IDatabase {
      */
     @Override
     public void unsetUnredeemed(@NotNull AdvancementKey key, int teamId) throws SQLException {
-        try (Connection conn = openConnection(); PreparedStatement ps = conn.prepareStatement("DELETE FROM `Unredeemed` WHERE `Namespace`=? AND `Key`=? AND `TeamID`=?;")) {
-            ps.setString(1, key.getNamespace());
-            ps.setString(2, key.getKey());
-            ps.setInt(3, teamId);
-            ps.execute();
+        try (Connection conn = openConnection()) {
+            Integer keyId = keyCache.getId(conn, key);
+            if (keyId == null) {
+                return;
+            }
+            try (PreparedStatement ps = conn.prepareStatement("DELETE FROM `Unredeemed` WHERE `KeyID`=? AND `TeamID`=?;")) {
+                ps.setInt(1, keyId);
+                ps.setInt(2, teamId);
+                ps.execute();
+            }
         }
     }
 
@@ -403,12 +686,14 @@ public class MySQL implements IDatabase {
      */
     @Override
     public void unsetUnredeemed(@NotNull List<Entry<AdvancementKey, Boolean>> keyList, int teamId) throws SQLException {
-        try (Connection conn = openConnection(); PreparedStatement ps = conn.prepareStatement("DELETE FROM `Unredeemed` WHERE `Namespace`=? AND `Key`=? AND `TeamID`=?;")) {
+        try (Connection conn = openConnection(); PreparedStatement ps = conn.prepareStatement("DELETE FROM `Unredeemed` WHERE `KeyID`=? AND `TeamID`=?;")) {
             for (Entry<AdvancementKey, ?> key : keyList) {
-                ps.setString(1, key.getKey().getNamespace());
-                ps.setString(2, key.getKey().getKey());
-                ps.setInt(3, teamId);
-                ps.execute();
+                Integer keyId = keyCache.getId(conn, key.getKey());
+                if (keyId != null) {
+                    ps.setInt(1, keyId);
+                    ps.setInt(2, teamId);
+                    ps.execute();
+                }
             }
         }
     }
@@ -419,7 +704,7 @@ public class MySQL implements IDatabase {
     @Override
     public void unregisterPlayer(@NotNull UUID uuid) throws SQLException {
         try (Connection conn = openConnection(); PreparedStatement stDelete = conn.prepareStatement("DELETE FROM `Players` WHERE `UUID`=?;")) {
-            stDelete.setString(1, uuid.toString());
+            stDelete.setBytes(1, toBytes(uuid));
             stDelete.execute();
         }
     }
@@ -437,7 +722,7 @@ public class MySQL implements IDatabase {
     private void movePlayer(Connection connection, @NotNull UUID uuid, int newTeamId) throws SQLException {
         try (PreparedStatement stUpdate = connection.prepareStatement("UPDATE `Players` SET `TeamID`=? WHERE `UUID`=?;")) {
             stUpdate.setInt(1, newTeamId);
-            stUpdate.setString(2, uuid.toString());
+            stUpdate.setBytes(2, toBytes(uuid));
             stUpdate.execute();
         }
     }
@@ -469,7 +754,7 @@ public class MySQL implements IDatabase {
             ResultSet r = ps.executeQuery();
             List<UUID> list = new LinkedList<>();
             while (r.next()) {
-                list.add(UUID.fromString(r.getString(1)));
+                list.add(fromBytes(r.getBytes(1)));
             }
             return list;
         }
@@ -481,7 +766,7 @@ public class MySQL implements IDatabase {
     @Override
     public String getPlayerName(@NotNull UUID uuid) throws SQLException, UserNotRegisteredException {
         try (Connection conn = openConnection(); PreparedStatement ps = conn.prepareStatement("SELECT `Name` FROM `Players` WHERE `UUID`=? LIMIT 1;")) {
-            ps.setString(1, uuid.toString());
+            ps.setBytes(1, toBytes(uuid));
             ResultSet r = ps.executeQuery();
             if (!r.next()) {
                 throw new UserNotRegisteredException("No user " + uuid + " has been found.");
@@ -497,7 +782,7 @@ public class MySQL implements IDatabase {
     public void updatePlayerName(@NotNull UUID uuid, @NotNull String name) throws SQLException {
         try (Connection conn = openConnection(); PreparedStatement ps = conn.prepareStatement("UPDATE `Players` SET `Name`=? WHERE `UUID`=?;")) {
             ps.setString(1, name);
-            ps.setString(2, uuid.toString());
+            ps.setBytes(2, toBytes(uuid));
             ps.execute();
         }
     }
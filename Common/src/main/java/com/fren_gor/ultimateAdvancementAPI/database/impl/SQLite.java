@@ -3,14 +3,15 @@ package com.fren_gor.ultimateAdvancementAPI.database.impl;
 import com.fren_gor.ultimateAdvancementAPI.AdvancementMain;
 import com.fren_gor.ultimateAdvancementAPI.database.IDatabase;
 import com.fren_gor.ultimateAdvancementAPI.database.TeamProgression;
-import com.fren_gor.ultimateAdvancementAPI.exceptions.IllegalKeyException;
 import com.fren_gor.ultimateAdvancementAPI.exceptions.UserNotRegisteredException;
 import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
 import com.google.common.base.Preconditions;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Range;
 import org.sqlite.SQLiteConfig;
 import org.sqlite.SQLiteConfig.Encoding;
+import org.sqlite.SQLiteConfig.JournalMode;
 import org.sqlite.SQLiteConfig.SynchronousMode;
 
 import java.io.File;
@@ -20,24 +21,68 @@ import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.sql.Statement;
 import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import static com.fren_gor.ultimateAdvancementAPI.database.impl.UUIDCodec.fromBytes;
+import static com.fren_gor.ultimateAdvancementAPI.database.impl.UUIDCodec.toBytes;
+
 /**
  * Class used to establish a connection to a SQLite database.
+ * <p>The database is opened in WAL mode. Every write is done by a single writer thread, which groups the writes
+ * submitted concurrently into a single transaction. Reads are done in parallel using a pool of read-only connections.
  */
 public class SQLite implements IDatabase {
 
+    /**
+     * The default synchronous level.
+     */
+    public static final SynchronousLevel DEFAULT_SYNCHRONOUS = SynchronousLevel.NORMAL;
+
+    /**
+     * The default amount of read-only connections.
+     */
+    public static final int DEFAULT_READ_CONNECTIONS = 2;
+
+    /**
+     * The version of the schema of the database.
+     */
+    public static final int SCHEMA_VERSION = 4;
+
+    private static final int MAX_UUIDS_PER_QUERY = 250;
+    private static final int BUSY_TIMEOUT = 5000;
+    private static final int MAX_WRITES_PER_TRANSACTION = 256;
+
     private final Logger logger;
+    private final AdvancementKeyCache keyCache;
     private final Connection connection;
+    @Nullable
+    private final BlockingQueue<Connection> readConnections;
+    private final List<Connection> allReadConnections = new ArrayList<>();
+    private final BlockingQueue<WriteTask<?>> writeQueue = new LinkedBlockingQueue<>();
+    private final WriteTask<?> stopWriter = new WriteTask<>(conn -> null);
+    private final Thread writer;
+    private boolean closed = false; // Guarded by writeQueue
 
     /**
      * Creates the SQLite connection.
@@ -47,7 +92,20 @@ public class SQLite implements IDatabase {
      * @throws Exception If anything goes wrong.
      */
     public SQLite(@NotNull AdvancementMain main, @NotNull File dbFile) throws Exception {
-        this(dbFile, Objects.requireNonNull(main, "AdvancementMain is null.").getLogger());
+        this(main, dbFile, DEFAULT_SYNCHRONOUS, DEFAULT_READ_CONNECTIONS);
+    }
+
+    /**
+     * Creates the SQLite connection.
+     *
+     * @param main The instance of the main class of the API.
+     * @param dbFile The SQLite database file. If it doesn't exist, it is created.
+     * @param synchronous The synchronous level of the database.
+     * @param readConnections The amount of read-only connections. Must be greater than zero.
+     * @throws Exception If anything goes wrong.
+     */
+    public SQLite(@NotNull AdvancementMain main, @NotNull File dbFile, @NotNull SynchronousLevel synchronous, @Range(from = 1, to = Integer.MAX_VALUE) int readConnections) throws Exception {
+        this(Objects.requireNonNull(dbFile, "Database file is null."), Objects.requireNonNull(main, "AdvancementMain is null.").getLogger(), synchronous, readConnections);
     }
 
     /**
@@ -60,22 +118,12 @@ public class SQLite implements IDatabase {
      */
     @Deprecated(forRemoval = true, since = "2.5.0")
     public SQLite(@NotNull File dbFile, @NotNull Logger logger) throws Exception {
-        Preconditions.checkNotNull(dbFile, "Database file is null.");
-        Preconditions.checkNotNull(logger, "Logger is null.");
-        if (!dbFile.exists() && !dbFile.createNewFile()) {
-            throw new IOException("Cannot create the database file.");
-        }
-        Class.forName("org.sqlite.JDBC");
-        SQLiteConfig config = new SQLiteConfig();
-        config.enforceForeignKeys(true);
-        config.setEncoding(Encoding.UTF8);
-        config.setSynchronous(SynchronousMode.FULL);
-        this.connection = DriverManager.getConnection("jdbc:sqlite:" + dbFile, config.toProperties());
-        this.logger = logger;
+        this(Objects.requireNonNull(dbFile, "Database file is null."), logger, DEFAULT_SYNCHRONOUS, DEFAULT_READ_CONNECTIONS);
     }
 
     /**
      * Creates a SQLite in memory database connection.
+     * <p>In-memory databases use a single connection, which is used for both reads and writes.
      *
      * @param logger The plugin {@link Logger}.
      * @throws Exception If anything goes wrong.
@@ -83,14 +131,54 @@ public class SQLite implements IDatabase {
      */
     @Deprecated(forRemoval = true, since = "2.5.0")
     protected SQLite(@NotNull Logger logger) throws Exception {
+        this(null, logger, SynchronousLevel.OFF, 0);
+    }
+
+    private SQLite(@Nullable File dbFile, @NotNull Logger logger, @NotNull SynchronousLevel synchronous, int readConnections) throws Exception {
         Preconditions.checkNotNull(logger, "Logger is null.");
+        Preconditions.checkNotNull(synchronous, "SynchronousLevel is null.");
+        if (dbFile != null) {
+            Preconditions.checkArgument(readConnections > 0, "Read connections must be greater than zero.");
+            if (!dbFile.exists() && !dbFile.createNewFile()) {
+                throw new IOException("Cannot create the database file.");
+            }
+        }
         Class.forName("org.sqlite.JDBC");
         SQLiteConfig config = new SQLiteConfig();
         config.enforceForeignKeys(true);
         config.setEncoding(Encoding.UTF8);
-        config.setSynchronous(SynchronousMode.FULL);
-        this.connection = DriverManager.getConnection("jdbc:sqlite::memory:", config.toProperties());
+        config.setSynchronous(synchronous.mode);
+        config.setBusyTimeout(BUSY_TIMEOUT);
+        if (dbFile == null) {
+            this.connection = DriverManager.getConnection("jdbc:sqlite::memory:", config.toProperties());
+            this.readConnections = null;
+        } else {
+            config.setJournalMode(JournalMode.WAL);
+            this.connection = DriverManager.getConnection("jdbc:sqlite:" + dbFile, config.toProperties());
+            try {
+                SQLiteConfig readConfig = new SQLiteConfig();
+                readConfig.setReadOnly(true);
+                readConfig.setEncoding(Encoding.UTF8);
+                readConfig.setBusyTimeout(BUSY_TIMEOUT);
+                this.readConnections = new ArrayBlockingQueue<>(readConnections);
+                for (int i = 0; i < readConnections; i++) {
+                    Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbFile, readConfig.toProperties());
+                    allReadConnections.add(conn);
+                    this.readConnections.add(conn);
+                }
+            } catch (SQLException e) {
+                for (Connection conn : allReadConnections) {
+                    conn.close();
+                }
+                connection.close();
+                throw e;
+            }
+        }
         this.logger = logger;
+        this.keyCache = new AdvancementKeyCache(logger, "INSERT OR IGNORE INTO `AdvancementKeys` (`Namespace`, `Key`) VALUES (?, ?);");
+        this.writer = new Thread(this::runWriter, "UltimateAdvancementAPI SQLite Writer Thread");
+        this.writer.setDaemon(true);
+        this.writer.start();
     }
 
     /**
@@ -98,18 +186,127 @@ public class SQLite implements IDatabase {
      */
     @Override
     public void setUp() throws SQLException {
-        try (Statement statement = openConnection().createStatement()) {
-            //statement.addBatch("PRAGMA foreign_keys = ON;");
-            statement.addBatch("CREATE TABLE IF NOT EXISTS `Teams` (`ID` INTEGER NOT NULL PRIMARY KEY AUTOINCREMENT);");
-            statement.addBatch("CREATE TABLE IF NOT EXISTS `Players` (`UUID` TEXT NOT NULL PRIMARY KEY, `Name` TEXT NOT NULL, `TeamID` INTEGER NOT NULL, FOREIGN KEY(`TeamID`) REFERENCES `Teams`(`ID`) ON DELETE CASCADE ON UPDATE CASCADE);");
-            statement.addBatch("CREATE TABLE IF NOT EXISTS `Advancements` (`Namespace` TEXT NOT NULL, `Key` TEXT NOT NULL, `TeamID` INTEGER NOT NULL, `Progression` INTEGER NOT NULL DEFAULT 0, PRIMARY KEY(`Namespace`,`Key`,`TeamID`), FOREIGN KEY(`TeamID`) REFERENCES `Teams`(`ID`) ON DELETE CASCADE ON UPDATE CASCADE);");
-            statement.addBatch("CREATE TABLE IF NOT EXISTS `Unredeemed` (`Namespace` TEXT NOT NULL, `Key` TEXT NOT NULL, `TeamID` INTEGER NOT NULL, `GiveRewards` INTEGER NOT NULL DEFAULT 0, PRIMARY KEY(`Namespace`,`Key`,`TeamID`), FOREIGN KEY(`Namespace`, `Key`,`TeamID`) REFERENCES `Advancements`(`Namespace`, `Key`,`TeamID`) ON DELETE CASCADE ON UPDATE CASCADE);");
-            statement.executeBatch();
+        write(conn -> {
+            try (Statement statement = conn.createStatement()) {
+                //statement.addBatch("PRAGMA foreign_keys = ON;");
+                statement.addBatch("CREATE TABLE IF NOT EXISTS `Teams` (`ID` INTEGER NOT NULL PRIMARY KEY AUTOINCREMENT);");
+                statement.addBatch("CREATE TABLE IF NOT EXISTS `Players` (`UUID` TEXT NOT NULL PRIMARY KEY, `Name` TEXT NOT NULL, `TeamID` INTEGER NOT NULL, FOREIGN KEY(`TeamID`) REFERENCES `Teams`(`ID`) ON DELETE CASCADE ON UPDATE CASCADE);");
+                statement.addBatch("CREATE TABLE IF NOT EXISTS `Advancements` (`Namespace` TEXT NOT NULL, `Key` TEXT NOT NULL, `TeamID` INTEGER NOT NULL, `Progression` INTEGER NOT NULL DEFAULT 0, PRIMARY KEY(`Namespace`,`Key`,`TeamID`), FOREIGN KEY(`TeamID`) REFERENCES `Teams`(`ID`) ON DELETE CASCADE ON UPDATE CASCADE);");
+                statement.addBatch("CREATE TABLE IF NOT EXISTS `Unredeemed` (`Namespace` TEXT NOT NULL, `Key` TEXT NOT NULL, `TeamID` INTEGER NOT NULL, `GiveRewards` INTEGER NOT NULL DEFAULT 0, PRIMARY KEY(`Namespace`,`Key`,`TeamID`), FOREIGN KEY(`Namespace`, `Key`,`TeamID`) REFERENCES `Advancements`(`Namespace`, `Key`,`TeamID`) ON DELETE CASCADE ON UPDATE CASCADE);");
+                statement.addBatch("CREATE TABLE IF NOT EXISTS `SchemaVersion` (`Version` INTEGER NOT NULL PRIMARY KEY);");
+                statement.executeBatch();
+            }
+            // Migrations are run by the writer thread, so they are done in a single transaction
+            migrate(conn);
+            keyCache.loadAll(conn);
+            return null;
+        });
+    }
+
+    /**
+     * Migrates the schema of the database to {@link #SCHEMA_VERSION}.
+     * <p>The tables created by {@link #setUp()} have the schema of version {@code 1}.
+     *
+     * @param conn The connection to use.
+     * @throws SQLException If an SQL exception occurs or if the schema is newer than the supported one.
+     */
+    private void migrate(@NotNull Connection conn) throws SQLException {
+        final int version = getSchemaVersion(conn);
+        if (version > SCHEMA_VERSION) {
+            throw new SQLException("Database schema version " + version + " is newer than the supported one (" + SCHEMA_VERSION + ").");
+        }
+        if (version < 2) {
+            // Index the columns used by the queries which don't filter by the whole primary key
+            try (Statement statement = conn.createStatement()) {
+                statement.addBatch("CREATE INDEX IF NOT EXISTS `Advancements_TeamID` ON `Advancements` (`TeamID`);");
+                statement.addBatch("CREATE INDEX IF NOT EXISTS `Unredeemed_TeamID` ON `Unredeemed` (`TeamID`);");
+                statement.addBatch("CREATE INDEX IF NOT EXISTS `Players_TeamID` ON `Players` (`TeamID`);");
+                statement.addBatch("CREATE INDEX IF NOT EXISTS `Players_Name` ON `Players` (`Name`);");
+                statement.executeBatch();
+            }
+            setSchemaVersion(conn, 2);
+        }
+        if (version < 3) {
+            // Store the advancement keys only once in the AdvancementKeys table and reference them by id
+            try (Statement statement = conn.createStatement()) {
+                statement.addBatch("CREATE TABLE `AdvancementKeys` (`ID` INTEGER NOT NULL PRIMARY KEY AUTOINCREMENT, `Namespace` TEXT NOT NULL, `Key` TEXT NOT NULL, UNIQUE(`Namespace`,`Key`));");
+                statement.addBatch("INSERT INTO `AdvancementKeys` (`Namespace`, `Key`) SELECT `Namespace`, `Key` FROM `Advancements` UNION SELECT `Namespace`, `Key` FROM `Unredeemed`;");
+                statement.addBatch("ALTER TABLE `Unredeemed` RENAME TO `Unredeemed_old`;");
+                statement.addBatch("ALTER TABLE `Advancements` RENAME TO `Advancements_old`;");
+                statement.addBatch("CREATE TABLE `Advancements` (`KeyID` INTEGER NOT NULL, `TeamID` INTEGER NOT NULL, `Progression` INTEGER NOT NULL DEFAULT 0, PRIMARY KEY(`KeyID`,`TeamID`), FOREIGN KEY(`KeyID`) REFERENCES `AdvancementKeys`(`ID`) ON DELETE CASCADE ON UPDATE CASCADE, FOREIGN KEY(`TeamID`) REFERENCES `Teams`(`ID`) ON DELETE CASCADE ON UPDATE CASCADE);");
+                statement.addBatch("CREATE TABLE `Unredeemed` (`KeyID` INTEGER NOT NULL, `TeamID` INTEGER NOT NULL, `GiveRewards` INTEGER NOT NULL DEFAULT 0, PRIMARY KEY(`KeyID`,`TeamID`), FOREIGN KEY(`KeyID`,`TeamID`) REFERENCES `Advancements`(`KeyID`,`TeamID`) ON DELETE CASCADE ON UPDATE CASCADE);");
+                // Rows referencing not-existent teams or advancements (if any) are discarded
+                statement.addBatch("INSERT INTO `Advancements` (`KeyID`, `TeamID`, `Progression`) SELECT k.`ID`, a.`TeamID`, a.`Progression` FROM `Advancements_old` a JOIN `AdvancementKeys` k ON k.`Namespace`=a.`Namespace` AND k.`Key`=a.`Key` JOIN `Teams` t ON t.`ID`=a.`TeamID`;");
+                statement.addBatch("INSERT INTO `Unredeemed` (`KeyID`, `TeamID`, `GiveRewards`) SELECT k.`ID`, u.`TeamID`, u.`GiveRewards` FROM `Unredeemed_old` u JOIN `AdvancementKeys` k ON k.`Namespace`=u.`Namespace` AND k.`Key`=u.`Key` JOIN `Advancements` a ON a.`KeyID`=k.`ID` AND a.`TeamID`=u.`TeamID`;");
+                statement.addBatch("DROP TABLE `Unredeemed_old`;");
+                statement.addBatch("DROP TABLE `Advancements_old`;");
+                statement.addBatch("CREATE INDEX `Advancements_TeamID` ON `Advancements` (`TeamID`);");
+                statement.addBatch("CREATE INDEX `Unredeemed_TeamID` ON `Unredeemed` (`TeamID`);");
+                statement.executeBatch();
+            }
+            setSchemaVersion(conn, 3);
+        }
+        if (version < 4) {
+            // Store the player UUIDs as 16 bytes instead of text
+            try (Statement statement = conn.createStatement()) {
+                statement.addBatch("ALTER TABLE `Players` RENAME TO `Players_old`;");
+                statement.addBatch("CREATE TABLE `Players` (`UUID` BLOB NOT NULL PRIMARY KEY, `Name` TEXT NOT NULL, `TeamID` INTEGER NOT NULL, FOREIGN KEY(`TeamID`) REFERENCES `Teams`(`ID`) ON DELETE CASCADE ON UPDATE CASCADE);");
+                statement.executeBatch();
+            }
+            // The bundled SQLite version doesn't provide unhex(), so the UUIDs are converted here
+            try (Statement select = conn.createStatement(); PreparedStatement insert = conn.prepareStatement("INSERT INTO `Players` (`UUID`, `Name`, `TeamID`) VALUES (?, ?, ?);")) {
+                ResultSet r = select.executeQuery("SELECT p.`UUID`, p.`Name`, p.`TeamID` FROM `Players_old` p JOIN `Teams` t ON t.`ID`=p.`TeamID`;");
+                boolean inserts = false;
+                while (r.next()) {
+                    String uuid = r.getString(1);
+                    try {
+                        insert.setBytes(1, toBytes(UUID.fromString(uuid)));
+                    } catch (IllegalArgumentException e) {
+                        logger.warning("Invalid UUID (" + uuid + ") encountered while migrating Players table: " + e.getMessage());
+                        continue;
+                    }
+                    insert.setString(2, r.getString(2));
+                    insert.setInt(3, r.getInt(3));
+                    insert.addBatch();
+                    inserts = true;
+                }
+                if (inserts)
+                    insert.executeBatch();
+            }
+            try (Statement statement = conn.createStatement()) {
+                statement.addBatch("DROP TABLE `Players_old`;");
+                statement.addBatch("CREATE INDEX `Players_TeamID` ON `Players` (`TeamID`);");
+                statement.addBatch("CREATE INDEX `Players_Name` ON `Players` (`Name`);");
+                statement.executeBatch();
+            }
+            setSchemaVersion(conn, 4);
         }
     }
 
+    private int getSchemaVersion(@NotNull Connection conn) throws SQLException {
+        try (Statement statement = conn.createStatement()) {
+            ResultSet r = statement.executeQuery("SELECT MAX(`Version`) FROM `SchemaVersion`;");
+            if (r.next()) {
+                int version = r.getInt(1);
+                if (!r.wasNull()) {
+                    return version;
+                }
+            }
+            return 1; // Databases created before the introduction of SchemaVersion
+        }
+    }
+
+    private void setSchemaVersion(@NotNull Connection conn, int version) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("INSERT INTO `SchemaVersion` (`Version`) VALUES (?);")) {
+            ps.setInt(1, version);
+            ps.execute();
+        }
+        logger.info("Migrated database schema to version " + version + '.');
+    }
+
     /**
      * {@inheritDoc}
+     * <p>The returned connection is the one used by the writer thread. Since it isn't thread safe, it should be used with care.
      */
     @Override
     public Connection openConnection() throws SQLException {
@@ -118,26 +315,192 @@ public class SQLite implements IDatabase {
 
     /**
      * {@inheritDoc}
+     * <p>The writes already submitted are completed before closing the connections.
      */
     @Override
     public void close() throws SQLException {
+        synchronized (writeQueue) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            writeQueue.add(stopWriter);
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Connection conn : allReadConnections) {
+            conn.close();
+        }
         connection.close();
     }
 
+    /**
+     * Runs the provided function on the writer thread and waits for the transaction containing it to be committed.
+     * <p>If the calling thread is the writer thread, the function is run directly.
+     *
+     * @param function The function to run.
+     * @param <T> The type of the result.
+     * @return The result of the function.
+     * @throws SQLException If an SQL exception occurs.
+     */
+    private <T> T write(@NotNull SQLFunction<T> function) throws SQLException {
+        if (Thread.currentThread() == writer) {
+            return function.apply(connection);
+        }
+        WriteTask<T> task = new WriteTask<>(function);
+        synchronized (writeQueue) {
+            if (closed) {
+                throw new SQLException("Database is closed.");
+            }
+            writeQueue.add(task);
+        }
+        try {
+            return task.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a write.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException ex) {
+                throw ex;
+            } else if (cause instanceof RuntimeException ex) {
+                throw ex;
+            } else if (cause instanceof Error err) {
+                throw err;
+            }
+            throw new SQLException(cause);
+        }
+    }
+
+    /**
+     * Runs the provided function using a read-only connection.
+     * <p>In-memory databases and the writer thread use the writer connection instead.
+     *
+     * @param function The function to run.
+     * @param <T> The type of the result.
+     * @return The result of the function.
+     * @throws SQLException If an SQL exception occurs.
+     */
+    private <T> T read(@NotNull SQLFunction<T> function) throws SQLException {
+        if (readConnections == null || Thread.currentThread() == writer) {
+            return write(function);
+        }
+        final Connection conn;
+        try {
+            conn = readConnections.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection.", e);
+        }
+        try {
+            return function.apply(conn);
+        } finally {
+            readConnections.add(conn);
+        }
+    }
+
+    private void runWriter() {
+        final List<WriteTask<?>> group = new ArrayList<>();
+        boolean stop = false;
+        while (!stop) {
+            try {
+                group.add(writeQueue.take());
+            } catch (InterruptedException e) {
+                continue; // The writer stops only when stopWriter is taken
+            }
+            writeQueue.drainTo(group, MAX_WRITES_PER_TRANSACTION - 1);
+            // Nothing can be added after stopWriter, so it's always the last task
+            if (group.get(group.size() - 1) == stopWriter) {
+                group.remove(group.size() - 1);
+                stop = true;
+            }
+            if (!group.isEmpty()) {
+                runTransaction(group);
+            }
+            group.clear();
+        }
+    }
+
+    private void runTransaction(@NotNull List<WriteTask<?>> group) {
+        try {
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            for (WriteTask<?> task : group) {
+                task.future.completeExceptionally(e);
+            }
+            return;
+        }
+
+        final List<WriteTask<?>> succeeded = new ArrayList<>(group.size());
+        try {
+            for (WriteTask<?> task : group) {
+                // Use a savepoint for every write, so that a failing one doesn't roll back the others
+                Savepoint savepoint = null;
+                try {
+                    savepoint = connection.setSavepoint();
+                    task.run(connection);
+                    connection.releaseSavepoint(savepoint);
+                    succeeded.add(task);
+                } catch (Throwable t) {
+                    if (savepoint != null) {
+                        try {
+                            connection.rollback(savepoint);
+                            connection.releaseSavepoint(savepoint);
+                        } catch (SQLException e) {
+                            t.addSuppressed(e);
+                        }
+                    }
+                    // Keys inserted by the rolled back write would otherwise remain cached
+                    keyCache.clear();
+                    task.future.completeExceptionally(t);
+                }
+            }
+
+            try {
+                connection.commit();
+            } catch (SQLException e) {
+                try {
+                    connection.rollback();
+                } catch (SQLException ex) {
+                    e.addSuppressed(ex);
+                }
+                keyCache.clear();
+                for (WriteTask<?> task : succeeded) {
+                    task.future.completeExceptionally(e);
+                }
+                return;
+            }
+            for (WriteTask<?> task : succeeded) {
+                task.complete();
+            }
+        } finally {
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                logger.log(Level.SEVERE, "Cannot restore auto-commit mode of the SQLite connection", e);
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public int getTeamId(@NotNull UUID uuid) throws SQLException, UserNotRegisteredException {
-        try (PreparedStatement ps = openConnection().prepareStatement("SELECT `TeamID` FROM `Players` WHERE `UUID`=?;")) {
-            ps.setString(1, uuid.toString());
-            ResultSet r = ps.executeQuery();
-            if (r.next()) {
-                return r.getInt(1);
-            } else {
-                throw new UserNotRegisteredException("No user " + uuid + " has been found.");
+        return read(conn -> {
+            try (PreparedStatement ps = conn.prepareStatement("SELECT `TeamID` FROM `Players` WHERE `UUID`=?;")) {
+                ps.setBytes(1, toBytes(uuid));
+                ResultSet r = ps.executeQuery();
+                if (r.next()) {
+                    return r.getInt(1);
+                } else {
+                    throw new UserNotRegisteredException("No user " + uuid + " has been found.");
+                }
             }
-        }
+        });
     }
 
     /**
@@ -145,12 +508,16 @@ public class SQLite implements IDatabase {
      */
     @Override
     public List<UUID> getTeamMembers(int teamId) throws SQLException {
-        try (PreparedStatement ps = openConnection().prepareStatement("SELECT `UUID` FROM `Players` WHERE `TeamID`=?;")) {
+        return read(conn -> getTeamMembers(conn, teamId));
+    }
+
+    private List<UUID> getTeamMembers(@NotNull Connection conn, int teamId) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT `UUID` FROM `Players` WHERE `TeamID`=?;")) {
             ps.setInt(1, teamId);
             ResultSet r = ps.executeQuery();
             List<UUID> list = new LinkedList<>();
             while (r.next()) {
-                list.add(UUID.fromString(r.getString(1)));
+                list.add(fromBytes(r.getBytes(1)));
             }
             return list;
         }
@@ -161,18 +528,18 @@ public class SQLite implements IDatabase {
      */
     @Override
     public Map<AdvancementKey, Integer> getTeamAdvancements(int teamId) throws SQLException {
-        try (PreparedStatement ps = openConnection().prepareStatement("SELECT `Namespace`,`Key`,`Progression` FROM `Advancements` WHERE `TeamID`=?;")) {
+        return read(conn -> getTeamAdvancements(conn, teamId));
+    }
+
+    private Map<AdvancementKey, Integer> getTeamAdvancements(@NotNull Connection conn, int teamId) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT `KeyID`,`Progression` FROM `Advancements` WHERE `TeamID`=?;")) {
             ps.setInt(1, teamId);
             ResultSet r = ps.executeQuery();
             Map<AdvancementKey, Integer> map = new HashMap<>();
             while (r.next()) {
-                String namespace = r.getString(1);
-                String key = r.getString(2);
-                int progression = r.getInt(3);
-                try {
-                    map.put(new AdvancementKey(namespace, key), progression);
-                } catch (IllegalKeyException e) {
-                    logger.warning("Invalid AdvancementKey (" + namespace + ':' + key + ") encountered while reading Advancements table: " + e.getMessage());
+                AdvancementKey key = keyCache.getKey(conn, r.getInt(1));
+                if (key != null) {
+                    map.put(key, r.getInt(2));
                 }
             }
             return map;
@@ -184,72 +551,137 @@ public class SQLite implements IDatabase {
      */
     @Override
     public Entry<TeamProgression, Boolean> loadOrRegisterPlayer(@NotNull UUID uuid, @NotNull String name) throws SQLException {
-        int teamId;
-        ResultSet r;
-        try (PreparedStatement psTeamId = openConnection().prepareStatement("SELECT `TeamID` FROM `Players` WHERE `UUID`=?;")) {
-            psTeamId.setString(1, uuid.toString());
-
-            r = psTeamId.executeQuery();
-            if (!r.next()) { // Player isn't registered
-                try (PreparedStatement psInsert = openConnection().prepareStatement("INSERT INTO `Teams` DEFAULT VALUES;")) {
-                    psInsert.executeUpdate();
-                    r = psInsert.getGeneratedKeys();
-                    if (!r.next()) {
-                        throw new SQLException("Cannot insert default values into Teams table.");
-                    }
-                    teamId = r.getInt(1);
-                }
-                try (PreparedStatement psInsertPl = openConnection().prepareStatement("INSERT INTO `Players` (`UUID`, `Name`, `TeamID`) VALUES (?, ?, ?);")) {
-                    psInsertPl.setString(1, uuid.toString());
-                    psInsertPl.setString(2, name);
-                    psInsertPl.setInt(3, teamId);
-                    psInsertPl.execute();
-                    return new SimpleEntry<>(new TeamProgression(teamId, uuid), true);
+        TeamProgression loaded = read(conn -> loadTeam(conn, uuid));
+        if (loaded != null) {
+            return new SimpleEntry<>(loaded, false);
+        }
+        // Player isn't registered. Check again on the writer thread, since the player may have been registered in the meantime.
+        // The writer runs the whole function in the same transaction, so the team and the player are inserted together
+        return write(conn -> {
+            TeamProgression t = loadTeam(conn, uuid);
+            if (t != null) {
+                return new SimpleEntry<>(t, false);
+            }
+            int teamId;
+            try (PreparedStatement psInsert = conn.prepareStatement("INSERT INTO `Teams` DEFAULT VALUES;")) {
+                psInsert.executeUpdate();
+                ResultSet r = psInsert.getGeneratedKeys();
+                if (!r.next()) {
+                    throw new SQLException("Cannot insert default values into Teams table.");
                 }
+                teamId = r.getInt(1);
+            }
+            try (PreparedStatement psInsertPl = conn.prepareStatement("INSERT INTO `Players` (`UUID`, `Name`, `TeamID`) VALUES (?, ?, ?);")) {
+                psInsertPl.setBytes(1, toBytes(uuid));
+                psInsertPl.setString(2, name);
+                psInsertPl.setInt(3, teamId);
+                psInsertPl.execute();
+                return new SimpleEntry<>(new TeamProgression(teamId, uuid), true);
             }
+        });
+    }
 
-            teamId = r.getInt(1);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TeamProgression loadUUID(@NotNull UUID uuid) throws SQLException, UserNotRegisteredException {
+        TeamProgression loaded = read(conn -> loadTeam(conn, uuid));
+        if (loaded == null) {
+            throw new UserNotRegisteredException("No user " + uuid + " has been found.");
         }
-        List<UUID> list = getTeamMembers(teamId);
-        Map<AdvancementKey, Integer> map = getTeamAdvancements(teamId);
-        return new SimpleEntry<>(new TeamProgression(map, teamId, list), false);
+        return loaded;
     }
 
     /**
      * {@inheritDoc}
+     * <p>The players are loaded in batches, using a single query for every batch.
      */
     @Override
-    public TeamProgression loadUUID(@NotNull UUID uuid) throws SQLException, UserNotRegisteredException {
-        int teamID = Integer.MIN_VALUE;
-        List<UUID> list = new LinkedList<>();
-        try (PreparedStatement psTeamId = openConnection().prepareStatement("SELECT `UUID`, `TeamID` FROM `Players` WHERE `TeamID`=(SELECT `TeamID` FROM `Players` WHERE `UUID`=? LIMIT 1);")) {
-            psTeamId.setString(1, uuid.toString());
-            ResultSet r = psTeamId.executeQuery();
-            while (r.next()) {
-                list.add(UUID.fromString(r.getString(1)));
-                if (teamID == Integer.MIN_VALUE)
-                    teamID = r.getInt(2);
+    public Map<UUID, TeamProgression> loadUUIDs(@NotNull Collection<UUID> uuids) throws SQLException {
+        Preconditions.checkNotNull(uuids, "Collection is null.");
+        final Set<UUID> requested = new HashSet<>(uuids);
+        if (requested.isEmpty()) {
+            return new HashMap<>();
+        }
+        final Map<Integer, Set<UUID>> members = new HashMap<>();
+        final Map<Integer, Map<AdvancementKey, Integer>> advancements = new HashMap<>();
+        final List<UUID> list = new ArrayList<>(requested);
+        read(conn -> {
+            for (int i = 0; i < list.size(); i += MAX_UUIDS_PER_QUERY) {
+                List<UUID> batch = list.subList(i, Math.min(list.size(), i + MAX_UUIDS_PER_QUERY));
+                String in = String.join(", ", Collections.nCopies(batch.size(), "?"));
+                try (PreparedStatement ps = conn.prepareStatement("SELECT p.`TeamID`, p.`UUID`, NULL, NULL FROM `Players` p WHERE p.`TeamID` IN (SELECT `TeamID` FROM `Players` WHERE `UUID` IN (" + in + ")) UNION ALL SELECT a.`TeamID`, NULL, a.`KeyID`, a.`Progression` FROM `Advancements` a WHERE a.`TeamID` IN (SELECT `TeamID` FROM `Players` WHERE `UUID` IN (" + in + "));")) {
+                    int index = 1;
+                    for (int j = 0; j < 2; j++) {
+                        for (UUID uuid : batch) {
+                            ps.setBytes(index++, toBytes(uuid));
+                        }
+                    }
+                    ResultSet r = ps.executeQuery();
+                    while (r.next()) {
+                        final int teamId = r.getInt(1);
+                        final byte[] member = r.getBytes(2);
+                        // Make sure teams without advancements are present in both maps
+                        Map<AdvancementKey, Integer> teamAdvancements = advancements.computeIfAbsent(teamId, id -> new HashMap<>());
+                        if (member != null) {
+                            members.computeIfAbsent(teamId, id -> new HashSet<>()).add(fromBytes(member));
+                        } else {
+                            AdvancementKey key = keyCache.getKey(conn, r.getInt(3));
+                            if (key != null) {
+                                teamAdvancements.put(key, r.getInt(4));
+                            }
+                        }
+                    }
+                }
+            }
+            return null;
+        });
+
+        final Map<UUID, TeamProgression> map = new HashMap<>();
+        for (Entry<Integer, Set<UUID>> e : members.entrySet()) {
+            final TeamProgression pro = new TeamProgression(advancements.get(e.getKey()), e.getKey(), e.getValue());
+            for (UUID member : e.getValue()) {
+                if (requested.contains(member)) {
+                    map.put(member, pro);
+                }
             }
         }
+        return map;
+    }
 
-        if (teamID == Integer.MIN_VALUE)
-            throw new UserNotRegisteredException("No user " + uuid + " has been found.");
-
-        try (PreparedStatement psAdv = openConnection().prepareStatement("SELECT `Namespace`, `Key`, `Progression` FROM `Advancements` WHERE `TeamID`=?;")) {
-            Map<AdvancementKey, Integer> map = new HashMap<>();
-            psAdv.setInt(1, teamID);
-            ResultSet r = psAdv.executeQuery();
+    /**
+     * Loads the team of the provided player with a single query, which returns both the members and the advancements of the team.
+     *
+     * @param conn The connection to use.
+     * @param uuid The player {@link UUID}.
+     * @return The {@link TeamProgression} of the player team, or {@code null} if the player isn't registered.
+     * @throws SQLException If an SQL exception occurs.
+     */
+    @Nullable
+    private TeamProgression loadTeam(@NotNull Connection conn, @NotNull UUID uuid) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT p.`TeamID`, p.`UUID`, NULL, NULL FROM `Players` p WHERE p.`TeamID`=(SELECT `TeamID` FROM `Players` WHERE `UUID`=?) UNION ALL SELECT a.`TeamID`, NULL, a.`KeyID`, a.`Progression` FROM `Advancements` a WHERE a.`TeamID`=(SELECT `TeamID` FROM `Players` WHERE `UUID`=?);")) {
+            final byte[] bytes = toBytes(uuid);
+            ps.setBytes(1, bytes);
+            ps.setBytes(2, bytes);
+            ResultSet r = ps.executeQuery();
+            int teamId = Integer.MIN_VALUE;
+            List<UUID> members = new LinkedList<>();
+            Map<AdvancementKey, Integer> advancements = new HashMap<>();
             while (r.next()) {
-                String namespace = r.getString(1);
-                String key = r.getString(2);
-                int progression = r.getInt(3);
-                try {
-                    map.put(new AdvancementKey(namespace, key), progression);
-                } catch (IllegalKeyException e) {
-                    logger.warning("Invalid AdvancementKey (" + namespace + ':' + key + ") encountered while reading Advancements table: " + e.getMessage());
+                teamId = r.getInt(1);
+                byte[] member = r.getBytes(2);
+                if (member != null) {
+                    members.add(fromBytes(member));
+                } else {
+                    AdvancementKey key = keyCache.getKey(conn, r.getInt(3));
+                    if (key != null) {
+                        advancements.put(key, r.getInt(4));
+                    }
                 }
             }
-            return new TeamProgression(map, teamID, list);
+            // A registered player is always returned as a member of their team
+            return teamId == Integer.MIN_VALUE ? null : new TeamProgression(advancements, teamId, members);
         }
     }
 
@@ -258,22 +690,66 @@ public class SQLite implements IDatabase {
      */
     @Override
     public void updateAdvancement(@NotNull AdvancementKey key, int teamId, @Range(from = 0, to = Integer.MAX_VALUE) int progression) throws SQLException {
-        if (progression <= 0) {
-            try (PreparedStatement ps = openConnection().prepareStatement("DELETE FROM `Advancements` WHERE `Namespace`=? AND `Key`=? AND `TeamID`=?;")) {
-                ps.setString(1, key.getNamespace());
-                ps.setString(2, key.getKey());
-                ps.setInt(3, teamId);
-                ps.execute();
+        write(conn -> {
+            if (progression <= 0) {
+                Integer keyId = keyCache.getId(conn, key);
+                if (keyId != null) {
+                    try (PreparedStatement ps = conn.prepareStatement("DELETE FROM `Advancements` WHERE `KeyID`=? AND `TeamID`=?;")) {
+                        ps.setInt(1, keyId);
+                        ps.setInt(2, teamId);
+                        ps.execute();
+                    }
+                }
+            } else {
+                try (PreparedStatement ps = conn.prepareStatement("INSERT OR REPLACE INTO `Advancements` (`KeyID`, `TeamID`, `Progression`) VALUES (?, ?, ?);")) {
+                    ps.setInt(1, keyCache.getOrCreateId(conn, key));
+                    ps.setInt(2, teamId);
+                    ps.setInt(3, progression);
+                    ps.execute();
+                }
             }
-        } else {
-            try (PreparedStatement ps = openConnection().prepareStatement("INSERT OR REPLACE INTO `Advancements` (`Namespace`, `Key`, `TeamID`, `Progression`) VALUES (?, ?, ?, ?);")) {
-                ps.setString(1, key.getNamespace());
-                ps.setString(2, key.getKey());
-                ps.setInt(3, teamId);
-                ps.setInt(4, progression);
-                ps.execute();
+            return null;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateAdvancements(@NotNull Map<Integer, Map<AdvancementKey, Integer>> progressions) throws SQLException {
+        write(conn -> {
+            try (PreparedStatement delete = conn.prepareStatement("DELETE FROM `Advancements` WHERE `KeyID`=? AND `TeamID`=?;");
+                 PreparedStatement update = conn.prepareStatement("INSERT OR REPLACE INTO `Advancements` (`KeyID`, `TeamID`, `Progression`) VALUES (?, ?, ?);")) {
+                boolean deletes = false, updates = false;
+                for (Entry<Integer, Map<AdvancementKey, Integer>> team : progressions.entrySet()) {
+                    final int teamId = team.getKey();
+                    for (Entry<AdvancementKey, Integer> e : team.getValue().entrySet()) {
+                        final AdvancementKey key = e.getKey();
+                        final int progression = e.getValue();
+                        if (progression <= 0) {
+                            Integer keyId = keyCache.getId(conn, key);
+                            if (keyId != null) {
+                                delete.setInt(1, keyId);
+                                delete.setInt(2, teamId);
+                                delete.addBatch();
+                                deletes = true;
+                            }
+                        } else {
+                            update.setInt(1, keyCache.getOrCreateId(conn, key));
+                            update.setInt(2, teamId);
+                            update.setInt(3, progression);
+                            update.addBatch();
+                            updates = true;
+                        }
+                    }
+                }
+                if (deletes)
+                    delete.executeBatch();
+                if (updates)
+                    update.executeBatch();
             }
-        }
+            return null;
+        });
     }
 
     /**
@@ -281,22 +757,21 @@ public class SQLite implements IDatabase {
      */
     @Override
     public List<Entry<AdvancementKey, Boolean>> getUnredeemed(int teamId) throws SQLException {
-        try (PreparedStatement ps = openConnection().prepareStatement("SELECT `Namespace`, `Key`, `GiveRewards` FROM `Unredeemed` WHERE `TeamID`=?;")) {
-            ps.setInt(1, teamId);
-            ResultSet r = ps.executeQuery();
-            List<Entry<AdvancementKey, Boolean>> list = new LinkedList<>();
-            while (r.next()) {
-                String namespace = r.getString(1);
-                String key = r.getString(2);
-                boolean giveRewards = r.getInt(3) != 0; // false iff r.getInt(3) == 0
-                try {
-                    list.add(new SimpleEntry<>(new AdvancementKey(namespace, key), giveRewards));
-                } catch (IllegalKeyException e) {
-                    logger.warning("Invalid AdvancementKey (" + namespace + ':' + key + ") encountered while reading Unredeemed table: " + e.getMessage());
+        return read(conn -> {
+            try (PreparedStatement ps = conn.prepareStatement("SELECT `KeyID`, `GiveRewards` FROM `Unredeemed` WHERE `TeamID`=?;")) {
+                ps.setInt(1, teamId);
+                ResultSet r = ps.executeQuery();
+                List<Entry<AdvancementKey, Boolean>> list = new LinkedList<>();
+                while (r.next()) {
+                    AdvancementKey key = keyCache.getKey(conn, r.getInt(1));
+                    boolean giveRewards = r.getInt(2) != 0; // false iff r.getInt(2) == 0
+                    if (key != null) {
+                        list.add(new SimpleEntry<>(key, giveRewards));
+                    }
                 }
+                return list;
             }
-            return list;
-        }
+        });
     }
 
     /**
@@ -304,13 +779,15 @@ public class SQLite implements IDatabase {
      */
     @Override
     public void setUnredeemed(@NotNull AdvancementKey key, boolean giveRewards, int teamId) throws SQLException {
-        try (PreparedStatement ps = openConnection().prepareStatement("INSERT OR IGNORE INTO `Unredeemed` (`Namespace`, `Key`, `TeamID`, `GiveRewards`) VALUES (?, ?, ?, ?);")) {
-            ps.setString(1, key.getNamespace());
-            ps.setString(2, key.getKey());
-            ps.setInt(3, teamId);
-            ps.setInt(4, giveRewards ? 1 : 0);
-            ps.execute();
-        }
+        write(conn -> {
+            try (PreparedStatement ps = conn.prepareStatement("INSERT OR IGNORE INTO `Unredeemed` (`KeyID`, `TeamID`, `GiveRewards`) VALUES (?, ?, ?);")) {
+                ps.setInt(1, keyCache.getOrCreateId(conn, key));
+                ps.setInt(2, teamId);
+                ps.setInt(3, giveRewards ? 1 : 0);
+                ps.execute();
+            }
+            return null;
+        });
     }
 
     /**
@@ -318,13 +795,18 @@ public class SQLite implements IDatabase {
      */
     @Override
     public boolean isUnredeemed(@NotNull AdvancementKey key, int teamId) throws SQLException {
-        try (PreparedStatement ps = openConnection().prepareStatement("SELECT Count(*) FROM `Unredeemed` WHERE `Namespace`=? AND `Key`=? AND `TeamID`=?;")) {
-            ps.setString(1, key.getNamespace());
-            ps.setString(2, key.getKey());
-            ps.setInt(3, teamId);
-            ResultSet r = ps.executeQuery();
-            return r.next() && r.getInt(1) > 0;
-        }
+        return read(conn -> {
+            Integer keyId = keyCache.getId(conn, key);
+            if (keyId == null) {
+                return false;
+            }
+            try (PreparedStatement ps = conn.prepareStatement("SELECT Count(*) FROM `Unredeemed` WHERE `KeyID`=? AND `TeamID`=?;")) {
+                ps.setInt(1, keyId);
+                ps.setInt(2, teamId);
+                ResultSet r = ps.executeQuery();
+                return r.next() && r.getInt(1) > 0;
+            }
+        });
     }
 
     /**
@@ -332,12 +814,18 @@ public class SQLite implements IDatabase {
      */
     @Override
     public void unsetUnredeemed(@NotNull AdvancementKey key, int teamId) throws SQLException {
-        try (PreparedStatement ps = openConnection().prepareStatement("DELETE FROM `Unredeemed` WHERE `Namespace`=? AND `Key`=? AND `TeamID`=?;")) {
-            ps.setString(1, key.getNamespace());
-            ps.setString(2, key.getKey());
-            ps.setInt(3, teamId);
-            ps.execute();
-        }
+        write(conn -> {
+            Integer keyId = keyCache.getId(conn, key);
+            if (keyId == null) {
+                return null;
+            }
+            try (PreparedStatement ps = conn.prepareStatement("DELETE FROM `Unredeemed` WHERE `KeyID`=? AND `TeamID`=?;")) {
+                ps.setInt(1, keyId);
+                ps.setInt(2, teamId);
+                ps.execute();
+            }
+            return null;
+        });
     }
 
     /**
@@ -345,14 +833,19 @@ public class SQLite implements IDatabase {
      */
     @Override
     public void unsetUnredeemed(@NotNull List<Entry<AdvancementKey, Boolean>> keyList, int teamId) throws SQLException {
-        try (PreparedStatement ps = openConnection().prepareStatement("DELETE FROM `Unredeemed` WHERE `Namespace`=? AND `Key`=? AND `TeamID`=?;")) {
-            for (Entry<AdvancementKey, ?> key : keyList) {
-                ps.setString(1, key.getKey().getNamespace());
-                ps.setString(2, key.getKey().getKey());
-                ps.setInt(3, teamId);
-                ps.execute();
+        write(conn -> {
+            try (PreparedStatement ps = conn.prepareStatement("DELETE FROM `Unredeemed` WHERE `KeyID`=? AND `TeamID`=?;")) {
+                for (Entry<AdvancementKey, ?> key : keyList) {
+                    Integer keyId = keyCache.getId(conn, key.getKey());
+                    if (keyId != null) {
+                        ps.setInt(1, keyId);
+                        ps.setInt(2, teamId);
+                        ps.execute();
+                    }
+                }
             }
-        }
+            return null;
+        });
     }
 
     /**
@@ -360,10 +853,13 @@ public class SQLite implements IDatabase {
      */
     @Override
     public void unregisterPlayer(@NotNull UUID uuid) throws SQLException {
-        try (PreparedStatement stDelete = openConnection().prepareStatement("DELETE FROM `Players` WHERE `UUID`=?;")) {
-            stDelete.setString(1, uuid.toString());
-            stDelete.execute();
-        }
+        write(conn -> {
+            try (PreparedStatement stDelete = conn.prepareStatement("DELETE FROM `Players` WHERE `UUID`=?;")) {
+                stDelete.setBytes(1, toBytes(uuid));
+                stDelete.execute();
+            }
+            return null;
+        });
     }
 
     /**
@@ -371,11 +867,14 @@ public class SQLite implements IDatabase {
      */
     @Override
     public void movePlayer(@NotNull UUID uuid, int newTeamId) throws SQLException {
-        try (PreparedStatement stUpdate = openConnection().prepareStatement("UPDATE `Players` SET `TeamID`=? WHERE `UUID`=?;")) {
-            stUpdate.setInt(1, newTeamId);
-            stUpdate.setString(2, uuid.toString());
-            stUpdate.execute();
-        }
+        write(conn -> {
+            try (PreparedStatement stUpdate = conn.prepareStatement("UPDATE `Players` SET `TeamID`=? WHERE `UUID`=?;")) {
+                stUpdate.setInt(1, newTeamId);
+                stUpdate.setBytes(2, toBytes(uuid));
+                stUpdate.execute();
+            }
+            return null;
+        });
     }
 
     /**
@@ -383,17 +882,19 @@ public class SQLite implements IDatabase {
      */
     @Override
     public TeamProgression movePlayerInNewTeam(@NotNull UUID uuid) throws SQLException {
-        int teamId;
-        try (PreparedStatement psInsert = openConnection().prepareStatement("INSERT INTO `Teams` DEFAULT VALUES;")) {
-            psInsert.executeUpdate();
-            ResultSet r = psInsert.getGeneratedKeys();
-            if (!r.next()) {
-                throw new SQLException("Cannot insert default values into Teams table.");
-            }
-            teamId = r.getInt(1);
-        }
-        movePlayer(uuid, teamId);
-        return new TeamProgression(teamId, uuid);
+        return write(conn -> {
+            int teamId;
+            try (PreparedStatement psInsert = conn.prepareStatement("INSERT INTO `Teams` DEFAULT VALUES;")) {
+                psInsert.executeUpdate();
+                ResultSet r = psInsert.getGeneratedKeys();
+                if (!r.next()) {
+                    throw new SQLException("Cannot insert default values into Teams table.");
+                }
+                teamId = r.getInt(1);
+            }
+            movePlayer(uuid, teamId); // Runs directly since this is the writer thread
+            return new TeamProgression(teamId, uuid);
+        });
     }
 
     /**
@@ -401,15 +902,17 @@ public class SQLite implements IDatabase {
      */
     @Override
     public List<UUID> getPlayersByName(@NotNull String name) throws SQLException {
-        try (PreparedStatement ps = openConnection().prepareStatement("SELECT `UUID` FROM `Players` WHERE `Name`=?;")) {
-            ps.setString(1, name);
-            ResultSet r = ps.executeQuery();
-            List<UUID> list = new LinkedList<>();
-            while (r.next()) {
-                list.add(UUID.fromString(r.getString(1)));
+        return read(conn -> {
+            try (PreparedStatement ps = conn.prepareStatement("SELECT `UUID` FROM `Players` WHERE `Name`=?;")) {
+                ps.setString(1, name);
+                ResultSet r = ps.executeQuery();
+                List<UUID> list = new LinkedList<>();
+                while (r.next()) {
+                    list.add(fromBytes(r.getBytes(1)));
+                }
+                return list;
             }
-            return list;
-        }
+        });
     }
 
     /**
@@ -417,14 +920,16 @@ public class SQLite implements IDatabase {
      */
     @Override
     public String getPlayerName(@NotNull UUID uuid) throws SQLException, UserNotRegisteredException {
-        try (PreparedStatement ps = openConnection().prepareStatement("SELECT `Name` FROM `Players` WHERE `UUID`=? LIMIT 1;")) {
-            ps.setString(1, uuid.toString());
-            ResultSet r = ps.executeQuery();
-            if (!r.next()) {
-                throw new UserNotRegisteredException("No user " + uuid + " has been found.");
+        return read(conn -> {
+            try (PreparedStatement ps = conn.prepareStatement("SELECT `Name` FROM `Players` WHERE `UUID`=? LIMIT 1;")) {
+                ps.setBytes(1, toBytes(uuid));
+                ResultSet r = ps.executeQuery();
+                if (!r.next()) {
+                    throw new UserNotRegisteredException("No user " + uuid + " has been found.");
+                }
+                return r.getString(1);
             }
-            return r.getString(1);
-        }
+        });
     }
 
     /**
@@ -432,11 +937,14 @@ public class SQLite implements IDatabase {
      */
     @Override
     public void updatePlayerName(@NotNull UUID uuid, @NotNull String name) throws SQLException {
-        try (PreparedStatement ps = openConnection().prepareStatement("UPDATE `Players` SET `Name`=? WHERE `UUID`=?;")) {
-            ps.setString(1, name);
-            ps.setString(2, uuid.toString());
-            ps.execute();
-        }
+        write(conn -> {
+            try (PreparedStatement ps = conn.prepareStatement("UPDATE `Players` SET `Name`=? WHERE `UUID`=?;")) {
+                ps.setString(1, name);
+                ps.setBytes(2, toBytes(uuid));
+                ps.execute();
+            }
+            return null;
+        });
     }
 
     /**
@@ -444,8 +952,60 @@ public class SQLite implements IDatabase {
      */
     @Override
     public void clearUpTeams() throws SQLException {
-        try (PreparedStatement ps = openConnection().prepareStatement("DELETE FROM `Teams` WHERE `ID` NOT IN (SELECT `TeamID` FROM `Players` GROUP BY `TeamID`);")) {
-            ps.execute();
+        write(conn -> {
+            try (PreparedStatement ps = conn.prepareStatement("DELETE FROM `Teams` WHERE `ID` NOT IN (SELECT `TeamID` FROM `Players` GROUP BY `TeamID`);")) {
+                ps.execute();
+            }
+            return null;
+        });
+    }
+
+    /**
+     * The synchronous levels of a SQLite database.
+     *
+     * @see <a href="https://www.sqlite.org/pragma.html#pragma_synchronous">SQLite documentation</a>
+     */
+    public enum SynchronousLevel {
+        /**
+         * The database doesn't wait for the data to be written to disk. Fastest, but the database may get corrupted on power loss.
+         */
+        OFF(SynchronousMode.OFF),
+        /**
+         * The database syncs less often than {@link #FULL}. In WAL mode it cannot be corrupted, but the last commits may be lost on power loss.
+         */
+        NORMAL(SynchronousMode.NORMAL),
+        /**
+         * The database syncs on every commit.
+         */
+        FULL(SynchronousMode.FULL);
+
+        private final SynchronousMode mode;
+
+        SynchronousLevel(@NotNull SynchronousMode mode) {
+            this.mode = mode;
+        }
+    }
+
+    @FunctionalInterface
+    private interface SQLFunction<T> {
+        T apply(@NotNull Connection conn) throws SQLException;
+    }
+
+    private static final class WriteTask<T> {
+        private final SQLFunction<T> function;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private T result;
+
+        private WriteTask(@NotNull SQLFunction<T> function) {
+            this.function = function;
+        }
+
+        private void run(@NotNull Connection conn) throws SQLException {
+            result = function.apply(conn);
+        }
+
+        private void complete() {
+            future.complete(result);
         }
     }
 }
@@ -0,0 +1,51 @@
+package com.fren_gor.ultimateAdvancementAPI.database.impl;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * Utility class to store {@link UUID}s in the database as 16 bytes.
+ * <p>The most significant bits are stored first, both in big-endian order. Thus, the encoding matches the
+ * hexadecimal representation of the {@link UUID} (without dashes).
+ */
+final class UUIDCodec {
+
+    /**
+     * The length in bytes of an encoded {@link UUID}.
+     */
+    static final int UUID_LENGTH = 16;
+
+    /**
+     * Encodes the provided {@link UUID}.
+     *
+     * @param uuid The {@link UUID} to encode.
+     * @return The encoded {@link UUID}.
+     */
+    @NotNull
+    static byte[] toBytes(@NotNull UUID uuid) {
+        return ByteBuffer.allocate(UUID_LENGTH).putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits()).array();
+    }
+
+    /**
+     * Decodes the provided {@link UUID}.
+     *
+     * @param bytes The encoded {@link UUID}.
+     * @return The decoded {@link UUID}.
+     * @throws SQLException If the provided array is {@code null} or its length is not {@link #UUID_LENGTH}.
+     */
+    @NotNull
+    static UUID fromBytes(byte[] bytes) throws SQLException {
+        if (bytes == null || bytes.length != UUID_LENGTH) {
+            throw new SQLException("Invalid UUID encoding.");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private UUIDCodec() {
+        throw new UnsupportedOperationException("Utility class.");
+    }
+}
@@ -0,0 +1,60 @@
+package com.fren_gor.ultimateAdvancementAPI.nms.mocked1_17_R1.advancement;
+
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.MinecraftKeyWrapper;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.advancement.AdvancementDisplayWrapper;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.advancement.AdvancementWrapper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+public class AdvancementWrapper_mocked1_17_R1 extends AdvancementWrapper {
+
+    private final MinecraftKeyWrapper key;
+    private final AdvancementWrapper parent;
+    private final AdvancementDisplayWrapper display;
+    private final int maxProgression;
+
+    public AdvancementWrapper_mocked1_17_R1(@NotNull MinecraftKeyWrapper key, @NotNull AdvancementDisplayWrapper display, @Range(from = 1, to = Integer.MAX_VALUE) int maxProgression) {
+        this.key = key;
+        this.parent = null;
+        this.display = display;
+        this.maxProgression = maxProgression;
+    }
+
+    public AdvancementWrapper_mocked1_17_R1(@NotNull MinecraftKeyWrapper key, @NotNull AdvancementWrapper parent, @NotNull AdvancementDisplayWrapper display, @Range(from = 1, to = Integer.MAX_VALUE) int maxProgression) {
+        this.key = key;
+        this.parent = parent;
+        this.display = display;
+        this.maxProgression = maxProgression;
+    }
+
+    @Override
+    @NotNull
+    public MinecraftKeyWrapper getKey() {
+        return key;
+    }
+
+    @Override
+    @Nullable
+    public AdvancementWrapper getParent() {
+        return parent;
+    }
+
+    @Override
+    @NotNull
+    public AdvancementDisplayWrapper getDisplay() {
+        return display;
+    }
+
+    @Override
+    @Range(from = 1, to = Integer.MAX_VALUE)
+    public int getMaxProgression() {
+        return maxProgression;
+    }
+
+    @Override
+    @NotNull
+    public Object toNMS() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,69 @@
+package com.fren_gor.ultimateAdvancementAPI.nms.mocked1_17_R1.packets;
+
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.MinecraftKeyWrapper;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.advancement.AdvancementWrapper;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets.PacketPlayOutAdvancementsWrapper;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Packet which stores its content, so that tests can inspect what would have been sent.
+ */
+public class PacketPlayOutAdvancementsWrapper_mocked1_17_R1 extends PacketPlayOutAdvancementsWrapper {
+
+    private final boolean reset;
+    private final Set<AdvancementWrapper> advancements;
+    private final Map<AdvancementWrapper, Integer> progressions;
+    private final Set<MinecraftKeyWrapper> removed;
+
+    public PacketPlayOutAdvancementsWrapper_mocked1_17_R1() {
+        this(true, Collections.emptySet(), Collections.emptyMap(), Collections.emptySet());
+    }
+
+    public PacketPlayOutAdvancementsWrapper_mocked1_17_R1(@NotNull Map<AdvancementWrapper, Integer> toSend) {
+        this(toSend, true);
+    }
+
+    public PacketPlayOutAdvancementsWrapper_mocked1_17_R1(@NotNull Map<AdvancementWrapper, Integer> toSend, boolean sendAdvancements) {
+        this(false, sendAdvancements ? toSend.keySet() : Collections.emptySet(), toSend, Collections.emptySet());
+    }
+
+    public PacketPlayOutAdvancementsWrapper_mocked1_17_R1(@NotNull Set<MinecraftKeyWrapper> toRemove) {
+        this(false, Collections.emptySet(), Collections.emptyMap(), toRemove);
+    }
+
+    private PacketPlayOutAdvancementsWrapper_mocked1_17_R1(boolean reset, @NotNull Set<AdvancementWrapper> advancements, @NotNull Map<AdvancementWrapper, Integer> progressions, @NotNull Set<MinecraftKeyWrapper> removed) {
+        this.reset = reset;
+        this.advancements = Set.copyOf(advancements);
+        this.progressions = Map.copyOf(progressions);
+        this.removed = Set.copyOf(removed);
+    }
+
+    public boolean isReset() {
+        return reset;
+    }
+
+    @NotNull
+    public Set<AdvancementWrapper> getAdvancements() {
+        return advancements;
+    }
+
+    @NotNull
+    public Map<AdvancementWrapper, Integer> getProgressions() {
+        return progressions;
+    }
+
+    @NotNull
+    public Set<MinecraftKeyWrapper> getRemoved() {
+        return removed;
+    }
+
+    @Override
+    public void sendTo(@NotNull Player player) {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,111 @@
+package com.fren_gor.ultimateAdvancementAPI.tests;
+
+import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
+import org.bukkit.Bukkit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.*;
+
+public class AdvancementKeyCacheTest {
+
+    private static Constructor<?> constructor;
+    private static Method loadAll, getId, getOrCreateId, getKey, clear;
+
+    private MockedStatic<Bukkit> bukkitMock;
+    private Connection connection;
+    private Object cache;
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        Class<?> advancementKeyCacheClass = Class.forName("com.fren_gor.ultimateAdvancementAPI.database.impl.AdvancementKeyCache");
+
+        constructor = advancementKeyCacheClass.getDeclaredConstructor(Logger.class, String.class);
+        constructor.setAccessible(true);
+        loadAll = advancementKeyCacheClass.getDeclaredMethod("loadAll", Connection.class);
+        loadAll.setAccessible(true);
+        getId = advancementKeyCacheClass.getDeclaredMethod("getId", Connection.class, AdvancementKey.class);
+        getId.setAccessible(true);
+        getOrCreateId = advancementKeyCacheClass.getDeclaredMethod("getOrCreateId", Connection.class, AdvancementKey.class);
+        getOrCreateId.setAccessible(true);
+        getKey = advancementKeyCacheClass.getDeclaredMethod("getKey", Connection.class, int.class);
+        getKey.setAccessible(true);
+        clear = advancementKeyCacheClass.getDeclaredMethod("clear");
+        clear.setAccessible(true);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        bukkitMock = Utils.mockServer();
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE `AdvancementKeys` (`ID` INTEGER NOT NULL PRIMARY KEY AUTOINCREMENT, `Namespace` TEXT NOT NULL, `Key` TEXT NOT NULL, UNIQUE(`Namespace`,`Key`));");
+        }
+        cache = constructor.newInstance(Logger.getLogger("AdvancementKeyCacheTest"), "INSERT OR IGNORE INTO `AdvancementKeys` (`Namespace`, `Key`) VALUES (?, ?);");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        bukkitMock.close();
+        bukkitMock = null;
+        connection.close();
+        connection = null;
+        cache = null;
+    }
+
+    @Test
+    public void getOrCreateIdTest() throws Exception {
+        AdvancementKey first = new AdvancementKey("namespace", "first");
+        AdvancementKey second = new AdvancementKey("namespace", "second");
+
+        assertNull(getId.invoke(cache, connection, first));
+        int firstId = (int) getOrCreateId.invoke(cache, connection, first);
+        int secondId = (int) getOrCreateId.invoke(cache, connection, second);
+        assertNotEquals(firstId, secondId);
+        assertEquals(firstId, (int) getOrCreateId.invoke(cache, connection, first));
+        assertEquals(firstId, (int) (Integer) getId.invoke(cache, connection, first));
+        assertEquals(second, getKey.invoke(cache, connection, secondId));
+        assertNull(getKey.invoke(cache, connection, secondId + 100));
+    }
+
+    @Test
+    public void cacheTest() throws Exception {
+        AdvancementKey key = new AdvancementKey("namespace", "key");
+        int id = (int) getOrCreateId.invoke(cache, connection, key);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM `AdvancementKeys`;");
+        }
+        // Served by the cache
+        assertEquals(id, (int) (Integer) getId.invoke(cache, connection, key));
+        assertEquals(key, getKey.invoke(cache, connection, id));
+
+        clear.invoke(cache);
+        assertNull(getId.invoke(cache, connection, key));
+        assertNull(getKey.invoke(cache, connection, id));
+    }
+
+    @Test
+    public void loadAllTest() throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO `AdvancementKeys` (`ID`, `Namespace`, `Key`) VALUES (1, 'namespace', 'valid'), (2, 'Invalid Namespace', 'key');");
+        }
+        loadAll.invoke(cache, connection);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM `AdvancementKeys`;");
+        }
+        assertEquals(new AdvancementKey("namespace", "valid"), getKey.invoke(cache, connection, 1));
+        // Invalid keys are skipped
+        assertNull(getKey.invoke(cache, connection, 2));
+    }
+}
@@ -0,0 +1,188 @@
+package com.fren_gor.ultimateAdvancementAPI.tests;
+
+import com.fren_gor.ultimateAdvancementAPI.database.IDatabase;
+import com.fren_gor.ultimateAdvancementAPI.database.Result;
+import com.fren_gor.ultimateAdvancementAPI.tests.InterfaceImplementer.ImplementedMethod;
+import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
+import org.bukkit.Bukkit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.*;
+
+public class ProgressionBufferTest {
+
+    private static Constructor<?> constructor;
+    private static Method add, flush, close;
+
+    private MockedStatic<Bukkit> bukkitMock;
+    private final List<Map<Integer, Map<AdvancementKey, Integer>>> writes = new ArrayList<>();
+    private final List<Runnable> tasks = new ArrayList<>();
+    private IDatabase database;
+    private AdvancementKey first, second;
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        Class<?> progressionBufferClass = Class.forName("com.fren_gor.ultimateAdvancementAPI.database.ProgressionBuffer");
+
+        constructor = progressionBufferClass.getDeclaredConstructor(IDatabase.class, Executor.class, int.class, int.class);
+        constructor.setAccessible(true);
+        add = progressionBufferClass.getDeclaredMethod("add", AdvancementKey.class, int.class, int.class);
+        add.setAccessible(true);
+        flush = progressionBufferClass.getDeclaredMethod("flush");
+        flush.setAccessible(true);
+        close = progressionBufferClass.getDeclaredMethod("close");
+        close.setAccessible(true);
+    }
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        bukkitMock = Utils.mockServer();
+        database = InterfaceImplementer.implement(IDatabase.class, new ImplementedMethod("updateAdvancements", (o, args) -> {
+            writes.add((Map<Integer, Map<AdvancementKey, Integer>>) args[0]);
+            return null;
+        }));
+        first = new AdvancementKey("namespace", "first");
+        second = new AdvancementKey("namespace", "second");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        bukkitMock.close();
+        bukkitMock = null;
+        writes.clear();
+        tasks.clear();
+        database = null;
+    }
+
+    @Test
+    public void coalesceTest() throws Exception {
+        Object buffer = constructor.newInstance(database, (Executor) tasks::add, 100, 1000);
+
+        CompletableFuture<?> firstUpdate = (CompletableFuture<?>) add.invoke(buffer, first, 1, 1);
+        CompletableFuture<?> coalesced = (CompletableFuture<?>) add.invoke(buffer, first, 1, 2);
+        CompletableFuture<?> otherTeam = (CompletableFuture<?>) add.invoke(buffer, first, 2, 3);
+        CompletableFuture<?> otherKey = (CompletableFuture<?>) add.invoke(buffer, second, 1, 4);
+        assertSame(firstUpdate, coalesced);
+        assertNotSame(firstUpdate, otherTeam);
+        assertNotSame(firstUpdate, otherKey);
+        assertTrue(tasks.isEmpty());
+
+        CompletableFuture<?> flushed = (CompletableFuture<?>) flush.invoke(buffer);
+        assertEquals(1, tasks.size());
+        assertFalse(flushed.isDone());
+        assertFalse(firstUpdate.isDone());
+
+        runTasks();
+        assertEquals(List.of(Map.of(1, Map.of(first, 2, second, 4), 2, Map.of(first, 3))), writes);
+        assertTrue(flushed.isDone());
+        assertTrue(((Result) firstUpdate.join()).isSucceeded());
+        assertTrue(((Result) otherTeam.join()).isSucceeded());
+        assertTrue(((Result) otherKey.join()).isSucceeded());
+
+        // Nothing left to write
+        assertTrue(((CompletableFuture<?>) flush.invoke(buffer)).isDone());
+        assertTrue(tasks.isEmpty());
+    }
+
+    @Test
+    public void batchSizeTest() throws Exception {
+        Object buffer = constructor.newInstance(database, (Executor) tasks::add, 2, 1000);
+
+        add.invoke(buffer, first, 1, 1);
+        add.invoke(buffer, first, 1, 2);
+        assertTrue(tasks.isEmpty());
+        add.invoke(buffer, second, 1, 3);
+        assertEquals(1, tasks.size());
+
+        runTasks();
+        assertEquals(List.of(Map.of(1, Map.of(first, 2, second, 3))), writes);
+    }
+
+    @Test
+    public void coalesceWhileWritingTest() throws Exception {
+        Object buffer = constructor.newInstance(database, (Executor) tasks::add, 2, 1000);
+
+        add.invoke(buffer, first, 1, 1);
+        add.invoke(buffer, second, 1, 2);
+        assertEquals(1, tasks.size());
+        // A batch is being written, the new updates are coalesced into the next one
+        CompletableFuture<?> update = (CompletableFuture<?>) add.invoke(buffer, first, 1, 3);
+        assertSame(update, add.invoke(buffer, first, 1, 4));
+        CompletableFuture<?> flushed = (CompletableFuture<?>) flush.invoke(buffer);
+        add.invoke(buffer, second, 1, 5);
+        add.invoke(buffer, first, 2, 6);
+        assertEquals(1, tasks.size());
+
+        // The next batch is written as soon as the current one completes
+        runTasks();
+        assertEquals(1, tasks.size());
+        assertFalse(update.isDone());
+        runTasks();
+        assertTrue(tasks.isEmpty());
+        assertEquals(List.of(
+                Map.of(1, Map.of(first, 1, second, 2)),
+                Map.of(1, Map.of(first, 4, second, 5), 2, Map.of(first, 6))
+        ), writes);
+        assertTrue(update.isDone());
+        assertTrue(flushed.isDone());
+    }
+
+    @Test
+    public void fullBufferTest() throws Exception {
+        AdvancementKey third = new AdvancementKey("namespace", "third");
+        Object buffer = constructor.newInstance(database, (Executor) tasks::add, 2, 3);
+
+        add.invoke(buffer, first, 1, 1);
+        add.invoke(buffer, second, 1, 2);
+        assertEquals(1, tasks.size());
+        add.invoke(buffer, first, 1, 3);
+        add.invoke(buffer, second, 1, 4);
+        add.invoke(buffer, third, 1, 5);
+        // The buffer is full, updates of pending advancements are still coalesced
+        add.invoke(buffer, third, 1, 6);
+        CompletableFuture<?> rejected = (CompletableFuture<?>) add.invoke(buffer, first, 2, 7);
+        assertTrue(rejected.isDone());
+        assertTrue(((Result) rejected.join()).isExceptionOccurred());
+        assertEquals(1, tasks.size());
+
+        runTasks();
+        runTasks();
+        assertEquals(List.of(
+                Map.of(1, Map.of(first, 1, second, 2)),
+                Map.of(1, Map.of(first, 3, second, 4, third, 6))
+        ), writes);
+    }
+
+    @Test
+    public void closeTest() throws Exception {
+        Object buffer = constructor.newInstance(database, (Executor) Runnable::run, 100, 1000);
+
+        CompletableFuture<?> update = (CompletableFuture<?>) add.invoke(buffer, first, 1, 1);
+        close.invoke(buffer);
+        assertTrue(update.isDone());
+        assertEquals(List.of(Map.of(1, Map.of(first, 1))), writes);
+
+        InvocationTargetException e = assertThrows(InvocationTargetException.class, () -> add.invoke(buffer, first, 1, 2));
+        assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+
+    private void runTasks() {
+        List<Runnable> toRun = new ArrayList<>(tasks);
+        tasks.clear();
+        toRun.forEach(Runnable::run);
+    }
+}
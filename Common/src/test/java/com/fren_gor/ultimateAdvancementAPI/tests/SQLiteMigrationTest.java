@@ -0,0 +1,177 @@
+package com.fren_gor.ultimateAdvancementAPI.tests;
+
+import com.fren_gor.ultimateAdvancementAPI.AdvancementMain;
+import com.fren_gor.ultimateAdvancementAPI.database.TeamProgression;
+import com.fren_gor.ultimateAdvancementAPI.database.impl.SQLite;
+import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
+import org.bukkit.Bukkit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.MockedStatic;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SQLiteMigrationTest {
+
+    // More than the UUIDs loaded by a single query
+    private static final int PLAYERS = 300;
+    private static final int TEAMS = 3;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private MockedStatic<Bukkit> bukkitMock;
+    private File dbFile;
+    private final List<UUID> players = new ArrayList<>();
+    private SQLite database;
+
+    @Before
+    public void setUp() throws Exception {
+        bukkitMock = Utils.mockServer();
+        dbFile = folder.newFile("database.db");
+
+        // Create a database with the schema of version 1, which had no SchemaVersion table
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbFile); Statement statement = conn.createStatement()) {
+            statement.execute("PRAGMA foreign_keys = ON;");
+            statement.addBatch("CREATE TABLE `Teams` (`ID` INTEGER NOT NULL PRIMARY KEY AUTOINCREMENT);");
+            statement.addBatch("CREATE TABLE `Players` (`UUID` TEXT NOT NULL PRIMARY KEY, `Name` TEXT NOT NULL, `TeamID` INTEGER NOT NULL, FOREIGN KEY(`TeamID`) REFERENCES `Teams`(`ID`) ON DELETE CASCADE ON UPDATE CASCADE);");
+            statement.addBatch("CREATE TABLE `Advancements` (`Namespace` TEXT NOT NULL, `Key` TEXT NOT NULL, `TeamID` INTEGER NOT NULL, `Progression` INTEGER NOT NULL DEFAULT 0, PRIMARY KEY(`Namespace`,`Key`,`TeamID`), FOREIGN KEY(`TeamID`) REFERENCES `Teams`(`ID`) ON DELETE CASCADE ON UPDATE CASCADE);");
+            statement.addBatch("CREATE TABLE `Unredeemed` (`Namespace` TEXT NOT NULL, `Key` TEXT NOT NULL, `TeamID` INTEGER NOT NULL, `GiveRewards` INTEGER NOT NULL DEFAULT 0, PRIMARY KEY(`Namespace`,`Key`,`TeamID`), FOREIGN KEY(`Namespace`, `Key`,`TeamID`) REFERENCES `Advancements`(`Namespace`, `Key`,`TeamID`) ON DELETE CASCADE ON UPDATE CASCADE);");
+            for (int i = 1; i <= TEAMS; i++) {
+                statement.addBatch("INSERT INTO `Teams` (`ID`) VALUES (" + i + ");");
+            }
+            statement.addBatch("INSERT INTO `Advancements` (`Namespace`, `Key`, `TeamID`, `Progression`) VALUES ('namespace', 'first', 1, 5), ('namespace', 'second', 1, 1), ('namespace', 'first', 2, 3), ('other', 'first', 2, 7);");
+            statement.addBatch("INSERT INTO `Unredeemed` (`Namespace`, `Key`, `TeamID`, `GiveRewards`) VALUES ('namespace', 'second', 1, 1), ('other', 'first', 2, 0);");
+            statement.executeBatch();
+
+            try (PreparedStatement ps = conn.prepareStatement("INSERT INTO `Players` (`UUID`, `Name`, `TeamID`) VALUES (?, ?, ?);")) {
+                for (int i = 0; i < PLAYERS; i++) {
+                    UUID uuid = UUID.randomUUID();
+                    players.add(uuid);
+                    ps.setString(1, uuid.toString());
+                    ps.setString(2, "Player" + i);
+                    ps.setInt(3, teamOf(i));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            // Invalid UUIDs are skipped by the migration
+            statement.execute("INSERT INTO `Players` (`UUID`, `Name`, `TeamID`) VALUES ('invalid', 'Invalid', 1);");
+        }
+
+        AdvancementMain main = mock(AdvancementMain.class);
+        when(main.getLogger()).thenReturn(Logger.getLogger("SQLiteMigrationTest"));
+        database = new SQLite(main, dbFile);
+        database.setUp();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        database.close();
+        database = null;
+        bukkitMock.close();
+        bukkitMock = null;
+        players.clear();
+    }
+
+    @Test
+    public void schemaTest() throws Exception {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbFile); Statement statement = conn.createStatement()) {
+            ResultSet r = statement.executeQuery("SELECT MAX(`Version`) FROM `SchemaVersion`;");
+            assertTrue(r.next());
+            assertEquals(SQLite.SCHEMA_VERSION, r.getInt(1));
+
+            // The old tables have been dropped
+            r = statement.executeQuery("SELECT COUNT(*) FROM `sqlite_master` WHERE `type`='table' AND `name` LIKE '%_old';");
+            assertTrue(r.next());
+            assertEquals(0, r.getInt(1));
+
+            // Every advancement key is stored once
+            r = statement.executeQuery("SELECT COUNT(*) FROM `AdvancementKeys`;");
+            assertTrue(r.next());
+            assertEquals(3, r.getInt(1));
+
+            // The UUIDs are stored as 16 bytes
+            r = statement.executeQuery("SELECT COUNT(*), SUM(typeof(`UUID`)='blob' AND length(`UUID`)=16) FROM `Players`;");
+            assertTrue(r.next());
+            assertEquals(PLAYERS, r.getInt(1));
+            assertEquals(PLAYERS, r.getInt(2));
+
+            // No row violates a foreign key
+            r = statement.executeQuery("PRAGMA foreign_key_check;");
+            assertFalse(r.next());
+        }
+    }
+
+    @Test
+    public void advancementsTest() throws Exception {
+        AdvancementKey first = new AdvancementKey("namespace", "first");
+        AdvancementKey second = new AdvancementKey("namespace", "second");
+        AdvancementKey otherFirst = new AdvancementKey("other", "first");
+
+        assertEquals(Map.of(first, 5, second, 1), database.getTeamAdvancements(1));
+        assertEquals(Map.of(first, 3, otherFirst, 7), database.getTeamAdvancements(2));
+        assertEquals(Map.of(), database.getTeamAdvancements(3));
+
+        assertEquals(List.of(new SimpleEntry<>(second, true)), database.getUnredeemed(1));
+        assertEquals(List.of(new SimpleEntry<>(otherFirst, false)), database.getUnredeemed(2));
+    }
+
+    @Test
+    public void unredeemedForeignKeyTest() throws Exception {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbFile); Statement statement = conn.createStatement()) {
+            statement.execute("PRAGMA foreign_keys = ON;");
+            // Deleting an advancement deletes its unredeemed entry too
+            statement.execute("DELETE FROM `Advancements` WHERE `TeamID`=1 AND `KeyID`=(SELECT `ID` FROM `AdvancementKeys` WHERE `Namespace`='namespace' AND `Key`='second');");
+            ResultSet r = statement.executeQuery("SELECT COUNT(*) FROM `Unredeemed` WHERE `TeamID`=1;");
+            assertTrue(r.next());
+            assertEquals(0, r.getInt(1));
+        }
+        assertEquals(List.of(), database.getUnredeemed(1));
+    }
+
+    @Test
+    public void loadUUIDsTest() throws Exception {
+        List<UUID> toLoad = new ArrayList<>(players);
+        UUID notRegistered = UUID.randomUUID();
+        toLoad.add(notRegistered);
+
+        Map<UUID, TeamProgression> loaded = database.loadUUIDs(toLoad);
+        assertEquals(PLAYERS, loaded.size());
+        assertFalse(loaded.containsKey(notRegistered));
+        for (int i = 0; i < PLAYERS; i++) {
+            UUID uuid = players.get(i);
+            TeamProgression pro = loaded.get(uuid);
+            assertNotNull("Player " + i + " has not been loaded", pro);
+            assertEquals(teamOf(i), pro.getTeamId());
+            assertTrue(pro.contains(uuid));
+            assertEquals(PLAYERS / TEAMS, pro.getSize());
+        }
+        // Members of the same team share the same TeamProgression
+        assertSame(loaded.get(players.get(0)), loaded.get(players.get(TEAMS)));
+
+        assertEquals(teamOf(1), database.loadUUID(players.get(1)).getTeamId());
+    }
+
+    private static int teamOf(int player) {
+        return player % TEAMS + 1;
+    }
+}
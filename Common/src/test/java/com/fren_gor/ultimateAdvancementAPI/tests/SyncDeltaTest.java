@@ -0,0 +1,170 @@
+package com.fren_gor.ultimateAdvancementAPI.tests;
+
+import com.fren_gor.ultimateAdvancementAPI.nms.mocked1_17_R1.packets.PacketPlayOutAdvancementsWrapper_mocked1_17_R1;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.MinecraftKeyWrapper;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.advancement.AdvancementWrapper;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class SyncDeltaTest {
+
+    private static Constructor<?> sentAdvancementsConstructor, syncDeltaConstructor;
+    private static Field removePacket, sendPacket, progressPacket;
+    private static Method isEmpty, isProgressOnly;
+
+    private MockedStatic<Bukkit> bukkitMock;
+    // first and third are children of root, second is a child of first
+    private AdvancementWrapper root, first, second, third;
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        Class<?> sentAdvancementsClass = Class.forName("com.fren_gor.ultimateAdvancementAPI.AdvancementTab$SentAdvancements");
+        Class<?> syncDeltaClass = Class.forName("com.fren_gor.ultimateAdvancementAPI.AdvancementTab$SyncDelta");
+
+        sentAdvancementsConstructor = sentAdvancementsClass.getDeclaredConstructor(Map.class, Map.class, boolean.class);
+        sentAdvancementsConstructor.setAccessible(true);
+        syncDeltaConstructor = syncDeltaClass.getDeclaredConstructor(sentAdvancementsClass, sentAdvancementsClass);
+        syncDeltaConstructor.setAccessible(true);
+        removePacket = syncDeltaClass.getDeclaredField("removePacket");
+        removePacket.setAccessible(true);
+        sendPacket = syncDeltaClass.getDeclaredField("sendPacket");
+        sendPacket.setAccessible(true);
+        progressPacket = syncDeltaClass.getDeclaredField("progressPacket");
+        progressPacket.setAccessible(true);
+        isEmpty = syncDeltaClass.getDeclaredMethod("isEmpty");
+        isEmpty.setAccessible(true);
+        isProgressOnly = syncDeltaClass.getDeclaredMethod("isProgressOnly");
+        isProgressOnly.setAccessible(true);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        bukkitMock = Utils.mockServer();
+        root = root("root", 1);
+        first = child("first", root, 1);
+        second = child("second", first, 1);
+        third = child("third", root, 1);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        bukkitMock.close();
+        bukkitMock = null;
+    }
+
+    @Test
+    public void noChangeTest() throws Exception {
+        Object delta = delta(sent(root, 0, first, 1), sent(root, 0, first, 1));
+        assertTrue((boolean) isEmpty.invoke(delta));
+        assertNull(packet(removePacket, delta));
+        assertNull(packet(sendPacket, delta));
+        assertNull(packet(progressPacket, delta));
+    }
+
+    @Test
+    public void addedAdvancementTest() throws Exception {
+        Object delta = delta(sent(root, 0), sent(root, 0, first, 1));
+        assertFalse((boolean) isEmpty.invoke(delta));
+        assertFalse((boolean) isProgressOnly.invoke(delta));
+        assertNull(packet(removePacket, delta));
+        assertNull(packet(progressPacket, delta));
+        assertEquals(Set.of(first), packet(sendPacket, delta).getAdvancements());
+        assertEquals(Map.of(first, 1), packet(sendPacket, delta).getProgressions());
+    }
+
+    @Test
+    public void removedAdvancementTest() throws Exception {
+        Object delta = delta(sent(root, 0, first, 0, second, 0, third, 0), sent(root, 0, third, 0));
+        assertNull(packet(sendPacket, delta));
+        assertNull(packet(progressPacket, delta));
+        assertEquals(Set.of(first.getKey(), second.getKey()), packet(removePacket, delta).getRemoved());
+    }
+
+    @Test
+    public void changedDefinitionTest() throws Exception {
+        // The client removes second together with first, so it must be sent again even if it didn't change
+        AdvancementWrapper changed = child("first", root, 2);
+        Object delta = delta(sent(root, 0, first, 1, second, 0, third, 0), sent(root, 0, changed, 1, second, 0, third, 0));
+        assertNull(packet(progressPacket, delta));
+        assertEquals(Set.of(first.getKey()), packet(removePacket, delta).getRemoved());
+        PacketPlayOutAdvancementsWrapper_mocked1_17_R1 send = packet(sendPacket, delta);
+        assertEquals(Set.of(changed, second), send.getAdvancements());
+        assertEquals(Map.of(changed, 1, second, 0), send.getProgressions());
+        assertSame(changed, send.getAdvancements().stream().filter(first::equals).findAny().orElseThrow());
+    }
+
+    @Test
+    public void progressOnlyTest() throws Exception {
+        Object delta = delta(sent(root, 0, first, 0, second, 0), sent(root, 1, first, 0, second, 1));
+        assertTrue((boolean) isProgressOnly.invoke(delta));
+        assertNull(packet(removePacket, delta));
+        assertNull(packet(sendPacket, delta));
+        PacketPlayOutAdvancementsWrapper_mocked1_17_R1 progress = packet(progressPacket, delta);
+        // Only the progressions are sent, the client keeps its advancements
+        assertTrue(progress.getAdvancements().isEmpty());
+        assertEquals(Map.of(root, 1, second, 1), progress.getProgressions());
+    }
+
+    @Test
+    public void visibilityFlipTest() throws Exception {
+        // first becomes hidden, so it disappears from the sent advancements together with its child
+        Object hide = delta(sent(root, 0, first, 0, second, 0, third, 0), sent(root, 0, third, 0));
+        assertEquals(Set.of(first.getKey(), second.getKey()), packet(removePacket, hide).getRemoved());
+        assertNull(packet(sendPacket, hide));
+
+        // first becomes visible again while third becomes hidden
+        Object flip = delta(sent(root, 0, third, 1), sent(root, 0, first, 1));
+        assertEquals(Set.of(third.getKey()), packet(removePacket, flip).getRemoved());
+        assertEquals(Map.of(first, 1), packet(sendPacket, flip).getProgressions());
+        assertNull(packet(progressPacket, flip));
+    }
+
+    @NotNull
+    private Object delta(@NotNull Object previous, @NotNull Object current) throws Exception {
+        return syncDeltaConstructor.newInstance(previous, current);
+    }
+
+    // Alternates advancements and their progressions
+    @NotNull
+    private static Object sent(@NotNull Object... advancementsAndProgressions) throws Exception {
+        Map<MinecraftKeyWrapper, AdvancementWrapper> definitions = new HashMap<>();
+        Map<MinecraftKeyWrapper, Integer> progressions = new HashMap<>();
+        for (int i = 0; i < advancementsAndProgressions.length; i += 2) {
+            AdvancementWrapper wrapper = (AdvancementWrapper) advancementsAndProgressions[i];
+            definitions.put(wrapper.getKey(), wrapper);
+            progressions.put(wrapper.getKey(), (Integer) advancementsAndProgressions[i + 1]);
+        }
+        return sentAdvancementsConstructor.newInstance(definitions, progressions, false);
+    }
+
+    @Nullable
+    private static PacketPlayOutAdvancementsWrapper_mocked1_17_R1 packet(@NotNull Field packet, @NotNull Object delta) throws Exception {
+        return (PacketPlayOutAdvancementsWrapper_mocked1_17_R1) packet.get(delta);
+    }
+
+    // Definitions are compared using the identity of their display, so the displays aren't needed
+    @NotNull
+    private static AdvancementWrapper root(@NotNull String key, int maxProgression) throws Exception {
+        return AdvancementWrapper.craftRootAdvancement(MinecraftKeyWrapper.craft("namespace", key), null, maxProgression);
+    }
+
+    @NotNull
+    private static AdvancementWrapper child(@NotNull String key, @NotNull AdvancementWrapper parent, int maxProgression) throws Exception {
+        return AdvancementWrapper.craftBaseAdvancement(MinecraftKeyWrapper.craft("namespace", key), parent, null, maxProgression);
+    }
+}
@@ -0,0 +1,164 @@
+package com.fren_gor.ultimateAdvancementAPI.tests;
+
+import com.fren_gor.ultimateAdvancementAPI.AdvancementTab;
+import com.fren_gor.ultimateAdvancementAPI.advancement.Advancement;
+import com.fren_gor.ultimateAdvancementAPI.database.IDatabase;
+import com.fren_gor.ultimateAdvancementAPI.database.TeamProgression;
+import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TeamProgressionTest {
+
+    private static Method updateProgression;
+
+    private MockedStatic<Bukkit> bukkitMock;
+    private AdvancementKey first, second;
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        updateProgression = TeamProgression.class.getDeclaredMethod("updateProgression", AdvancementKey.class, Advancement.class, int.class);
+        updateProgression.setAccessible(true);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        bukkitMock = Utils.mockServer();
+        first = new AdvancementKey("namespace", "first");
+        second = new AdvancementKey("namespace", "second");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        bukkitMock.close();
+        bukkitMock = null;
+    }
+
+    @Test
+    public void tabLifecycleTest() throws Exception {
+        TeamProgression team = TeamFactory.newTeam(Map.of(first, 1));
+
+        // Progress before the tab is registered
+        AdvancementTab tab = mockTab();
+        Advancement firstAdv = mockAdvancement(tab, first, -1);
+        Advancement secondAdv = mockAdvancement(tab, second, -1);
+        assertEquals(1, team.getProgression(firstAdv));
+        assertEquals(0, update(team, second, secondAdv, 2));
+        assertEquals(2, team.getProgression(secondAdv));
+
+        // Register the tab
+        registerTab(tab, firstAdv, secondAdv);
+        assertEquals(1, team.getProgression(firstAdv));
+        assertEquals(2, team.getProgression(secondAdv));
+        assertEquals(1, update(team, first, firstAdv, 3));
+        assertEquals(3, team.getProgression(firstAdv));
+
+        // Dispose the tab
+        when(tab.isDisposed()).thenReturn(true);
+        assertEquals(3, team.getProgression(firstAdv));
+        assertEquals(2, update(team, second, secondAdv, 4));
+        assertEquals(4, team.getProgression(secondAdv));
+        assertEquals(3, update(team, first, null, 5));
+
+        // Register a new tab with the same namespace
+        AdvancementTab newTab = mockTab();
+        Advancement newFirstAdv = mockAdvancement(newTab, first, -1);
+        Advancement newSecondAdv = mockAdvancement(newTab, second, -1);
+        registerTab(newTab, newSecondAdv, newFirstAdv);
+        assertEquals(5, team.getProgression(newFirstAdv));
+        assertEquals(4, team.getProgression(newSecondAdv));
+        assertEquals(4, update(team, second, newSecondAdv, 6));
+
+        // Read back through both the old and the new advancements
+        assertEquals(6, team.getProgression(newSecondAdv));
+        assertEquals(6, team.getProgression(secondAdv));
+        assertEquals(5, team.getProgression(firstAdv));
+    }
+
+    @Test
+    public void writeDuringTabReplacementTest() throws Exception {
+        TeamProgression team = TeamFactory.newTeam(Map.of());
+        AdvancementTab tab = mockTab();
+        Advancement firstAdv = mockAdvancement(tab, first, -1);
+        registerTab(tab, firstAdv);
+        assertEquals(0, update(team, first, firstAdv, 1));
+
+        AdvancementTab newTab = mockTab();
+        Advancement newFirstAdv = mockAdvancement(newTab, first, -1);
+        registerTab(newTab, newFirstAdv);
+
+        // Dispose the tab and let the new one move its progressions right before the write
+        AtomicBoolean replaced = new AtomicBoolean(false);
+        when(tab.isDisposed()).thenAnswer(invocation -> replaced.get());
+        when(firstAdv.getAdvancementTab()).thenAnswer(invocation -> {
+            if (replaced.compareAndSet(false, true)) {
+                assertEquals(1, team.getProgression(newFirstAdv));
+            }
+            return tab;
+        });
+        assertEquals(1, update(team, first, firstAdv, 2));
+        assertTrue(replaced.get());
+
+        // The write must not be lost
+        assertEquals(2, team.getProgression(newFirstAdv));
+        assertEquals(2, team.getProgression(firstAdv));
+    }
+
+    private static int update(@NotNull TeamProgression team, @NotNull AdvancementKey key, Advancement advancement, int progression) throws Exception {
+        return (int) updateProgression.invoke(team, key, advancement, progression);
+    }
+
+    @NotNull
+    private static AdvancementTab mockTab() {
+        AdvancementTab tab = mock(AdvancementTab.class);
+        when(tab.getNamespace()).thenReturn("namespace");
+        when(tab.isInitialised()).thenReturn(false);
+        when(tab.isDisposed()).thenReturn(false);
+        return tab;
+    }
+
+    @NotNull
+    private static Advancement mockAdvancement(@NotNull AdvancementTab tab, @NotNull AdvancementKey key, int ordinal) {
+        Advancement advancement = mock(Advancement.class);
+        when(advancement.getKey()).thenReturn(key);
+        when(advancement.getAdvancementTab()).thenReturn(tab);
+        when(advancement.getOrdinal()).thenReturn(ordinal);
+        when(advancement.getMaxProgression()).thenReturn(100);
+        when(tab.getAdvancement(key)).thenReturn(advancement);
+        return advancement;
+    }
+
+    // Assigns the ordinals in the provided order and initialises the tab
+    private static void registerTab(@NotNull AdvancementTab tab, @NotNull Advancement... advancements) {
+        for (int i = 0; i < advancements.length; i++) {
+            when(advancements[i].getOrdinal()).thenReturn(i);
+            when(tab.getAdvancementByOrdinal(i)).thenReturn(advancements[i]);
+        }
+        when(tab.getOrdinalsAmount()).thenReturn(advancements.length);
+        when(tab.isInitialised()).thenReturn(true);
+    }
+
+    // TeamProgression can be instantiated only by IDatabase implementations
+    private static abstract class TeamFactory implements IDatabase {
+
+        @NotNull
+        static TeamProgression newTeam(@NotNull Map<AdvancementKey, Integer> progressions) {
+            return new TeamProgression(progressions, 1, List.of(UUID.randomUUID()));
+        }
+    }
+}
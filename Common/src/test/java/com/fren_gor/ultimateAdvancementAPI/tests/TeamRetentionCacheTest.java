@@ -0,0 +1,117 @@
+package com.fren_gor.ultimateAdvancementAPI.tests;
+
+import com.fren_gor.ultimateAdvancementAPI.database.IDatabase;
+import com.fren_gor.ultimateAdvancementAPI.database.TeamProgression;
+import org.jetbrains.annotations.NotNull;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class TeamRetentionCacheTest {
+
+    private static Constructor<?> constructor;
+    private static Method retain, get, take, clear;
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        Class<?> teamRetentionCacheClass = Class.forName("com.fren_gor.ultimateAdvancementAPI.database.TeamRetentionCache");
+
+        constructor = teamRetentionCacheClass.getDeclaredConstructor(int.class, int.class);
+        constructor.setAccessible(true);
+        retain = teamRetentionCacheClass.getDeclaredMethod("retain", TeamProgression.class);
+        retain.setAccessible(true);
+        get = teamRetentionCacheClass.getDeclaredMethod("get", UUID.class);
+        get.setAccessible(true);
+        take = teamRetentionCacheClass.getDeclaredMethod("take", UUID.class);
+        take.setAccessible(true);
+        clear = teamRetentionCacheClass.getDeclaredMethod("clear");
+        clear.setAccessible(true);
+    }
+
+    @Test
+    public void retainTest() throws Exception {
+        Object cache = constructor.newInstance(60, 10);
+        UUID first = UUID.randomUUID(), second = UUID.randomUUID();
+        TeamProgression team = TeamFactory.newTeam(1, first, second);
+
+        assertNull(get.invoke(cache, first));
+        retain.invoke(cache, team);
+        assertSame(team, get.invoke(cache, first));
+        assertSame(team, get.invoke(cache, second));
+        assertNull(get.invoke(cache, UUID.randomUUID()));
+
+        // Taking a team removes it for every member
+        assertSame(team, take.invoke(cache, second));
+        assertNull(get.invoke(cache, first));
+        assertNull(take.invoke(cache, first));
+    }
+
+    @Test
+    public void replaceTest() throws Exception {
+        Object cache = constructor.newInstance(60, 10);
+        UUID moved = UUID.randomUUID(), member = UUID.randomUUID();
+        TeamProgression oldTeam = TeamFactory.newTeam(1, moved, member);
+        TeamProgression newTeam = TeamFactory.newTeam(1, member);
+
+        retain.invoke(cache, oldTeam);
+        retain.invoke(cache, newTeam);
+        assertNull(get.invoke(cache, moved));
+        assertSame(newTeam, get.invoke(cache, member));
+    }
+
+    @Test
+    public void expirationTest() throws Exception {
+        Object cache = constructor.newInstance(0, 10);
+        UUID uuid = UUID.randomUUID();
+        retain.invoke(cache, TeamFactory.newTeam(1, uuid));
+        assertNull(get.invoke(cache, uuid));
+
+        cache = constructor.newInstance(1, 10);
+        UUID expiring = UUID.randomUUID(), retained = UUID.randomUUID();
+        retain.invoke(cache, TeamFactory.newTeam(1, expiring));
+        Thread.sleep(600);
+        TeamProgression team = TeamFactory.newTeam(2, retained);
+        retain.invoke(cache, team);
+        Thread.sleep(600);
+        assertNull(get.invoke(cache, expiring));
+        assertSame(team, get.invoke(cache, retained));
+    }
+
+    @Test
+    public void evictionTest() throws Exception {
+        Object cache = constructor.newInstance(60, 2);
+        UUID a = UUID.randomUUID(), b = UUID.randomUUID(), c = UUID.randomUUID();
+        TeamProgression teamA = TeamFactory.newTeam(1, a);
+        TeamProgression teamB = TeamFactory.newTeam(2, b);
+        TeamProgression teamC = TeamFactory.newTeam(3, c);
+
+        retain.invoke(cache, teamA);
+        retain.invoke(cache, teamB);
+        // Retaining a team again makes it the most recently retained one
+        retain.invoke(cache, teamA);
+        retain.invoke(cache, teamC);
+        assertNull(get.invoke(cache, b));
+        assertSame(teamA, get.invoke(cache, a));
+        assertSame(teamC, get.invoke(cache, c));
+
+        clear.invoke(cache);
+        assertNull(get.invoke(cache, a));
+        assertNull(get.invoke(cache, c));
+    }
+
+    // TeamProgression can be instantiated only by IDatabase implementations
+    private static abstract class TeamFactory implements IDatabase {
+
+        @NotNull
+        static TeamProgression newTeam(int teamId, @NotNull UUID... members) {
+            return new TeamProgression(Collections.emptyMap(), teamId, List.of(members));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.fren_gor.ultimateAdvancementAPI.tests;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class UUIDCodecTest {
+
+    private static Method toBytes, fromBytes;
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        Class<?> uuidCodecClass = Class.forName("com.fren_gor.ultimateAdvancementAPI.database.impl.UUIDCodec");
+
+        toBytes = uuidCodecClass.getDeclaredMethod("toBytes", UUID.class);
+        toBytes.setAccessible(true);
+        fromBytes = uuidCodecClass.getDeclaredMethod("fromBytes", byte[].class);
+        fromBytes.setAccessible(true);
+    }
+
+    @Test
+    public void roundTripTest() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            UUID uuid = UUID.randomUUID();
+            byte[] bytes = (byte[]) toBytes.invoke(null, uuid);
+            assertEquals(16, bytes.length);
+            assertEquals(uuid, fromBytes.invoke(null, (Object) bytes));
+        }
+        UUID zero = new UUID(0, 0);
+        assertEquals(zero, fromBytes.invoke(null, (Object) toBytes.invoke(null, zero)));
+        UUID max = new UUID(-1, -1);
+        assertEquals(max, fromBytes.invoke(null, (Object) toBytes.invoke(null, max)));
+    }
+
+    @Test
+    public void encodingOrderTest() throws Exception {
+        // The encoding must match the hexadecimal representation of the UUID
+        UUID uuid = UUID.fromString("00112233-4455-6677-8899-aabbccddeeff");
+        byte[] bytes = (byte[]) toBytes.invoke(null, uuid);
+        for (int i = 0; i < bytes.length; i++) {
+            assertEquals((byte) (i * 0x11), bytes[i]);
+        }
+    }
+
+    @Test
+    public void invalidLengthTest() {
+        assertInvalid(null);
+        assertInvalid(new byte[0]);
+        assertInvalid(new byte[15]);
+        assertInvalid(new byte[17]);
+        assertInvalid(new byte[36]);
+    }
+
+    private static void assertInvalid(byte[] bytes) {
+        InvocationTargetException e = assertThrows(InvocationTargetException.class, () -> fromBytes.invoke(null, (Object) bytes));
+        assertTrue(e.getCause() instanceof SQLException);
+    }
+}
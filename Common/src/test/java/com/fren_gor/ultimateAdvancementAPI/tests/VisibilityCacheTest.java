@@ -0,0 +1,211 @@
+package com.fren_gor.ultimateAdvancementAPI.tests;
+
+import com.fren_gor.ultimateAdvancementAPI.advancement.Advancement;
+import com.fren_gor.ultimateAdvancementAPI.advancement.BaseAdvancement;
+import com.fren_gor.ultimateAdvancementAPI.database.IDatabase;
+import com.fren_gor.ultimateAdvancementAPI.database.TeamProgression;
+import com.fren_gor.ultimateAdvancementAPI.util.AdvancementKey;
+import com.fren_gor.ultimateAdvancementAPI.visibilities.IVisibility;
+import com.fren_gor.ultimateAdvancementAPI.visibilities.ParentGrantedVisibility;
+import com.fren_gor.ultimateAdvancementAPI.visibilities.VanillaVisibility;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class VisibilityCacheTest {
+
+    private static Constructor<?> constructor;
+    private static Method setChildren, get, put, invalidate, remove;
+    private static ClassValue<?> visibilityMethods;
+    private static Method method, cacheable;
+
+    private MockedStatic<Bukkit> bukkitMock;
+    private Object cache;
+    private TeamProgression team, otherTeam;
+    // first and sibling are children of root, second is a child of first and third is a child of second
+    private AdvancementKey root, first, second, third, sibling;
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        Class<?> visibilityCacheClass = Class.forName("com.fren_gor.ultimateAdvancementAPI.VisibilityCache");
+
+        constructor = visibilityCacheClass.getDeclaredConstructor(String.class);
+        constructor.setAccessible(true);
+        setChildren = visibilityCacheClass.getDeclaredMethod("setChildren", Map.class);
+        setChildren.setAccessible(true);
+        get = visibilityCacheClass.getDeclaredMethod("get", TeamProgression.class, AdvancementKey.class);
+        get.setAccessible(true);
+        put = visibilityCacheClass.getDeclaredMethod("put", TeamProgression.class, AdvancementKey.class, boolean.class);
+        put.setAccessible(true);
+        invalidate = visibilityCacheClass.getDeclaredMethod("invalidate", TeamProgression.class, AdvancementKey.class);
+        invalidate.setAccessible(true);
+        remove = visibilityCacheClass.getDeclaredMethod("remove", TeamProgression.class);
+        remove.setAccessible(true);
+
+        Field visibilityMethodsField = Advancement.class.getDeclaredField("VISIBILITY_METHODS");
+        visibilityMethodsField.setAccessible(true);
+        visibilityMethods = (ClassValue<?>) visibilityMethodsField.get(null);
+        Class<?> visibilityMethodClass = Class.forName("com.fren_gor.ultimateAdvancementAPI.advancement.Advancement$VisibilityMethod");
+        method = visibilityMethodClass.getDeclaredMethod("method");
+        method.setAccessible(true);
+        cacheable = visibilityMethodClass.getDeclaredMethod("cacheable");
+        cacheable.setAccessible(true);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        bukkitMock = Utils.mockServer();
+        root = new AdvancementKey("namespace", "root");
+        first = new AdvancementKey("namespace", "first");
+        second = new AdvancementKey("namespace", "second");
+        third = new AdvancementKey("namespace", "third");
+        sibling = new AdvancementKey("namespace", "sibling");
+        team = TeamFactory.newTeam(1);
+        otherTeam = TeamFactory.newTeam(2);
+
+        cache = constructor.newInstance("namespace");
+        setChildren.invoke(cache, Map.of(
+                root, Set.of(first, sibling),
+                first, Set.of(second),
+                second, Set.of(third),
+                third, Collections.emptySet(),
+                sibling, Collections.emptySet()
+        ));
+        for (TeamProgression pro : List.of(team, otherTeam)) {
+            for (AdvancementKey key : List.of(root, first, second, third, sibling)) {
+                put.invoke(cache, pro, key, true);
+            }
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        bukkitMock.close();
+        bukkitMock = null;
+        cache = null;
+    }
+
+    @Test
+    public void parentGrantTest() throws Exception {
+        // Granting first changes the visibility of its children (ParentGrantedVisibility) and grandchildren (VanillaVisibility)
+        invalidate.invoke(cache, team, first);
+        assertNull(get.invoke(cache, team, first));
+        assertNull(get.invoke(cache, team, second));
+        assertNull(get.invoke(cache, team, third));
+        assertEquals(true, get.invoke(cache, team, root));
+        assertEquals(true, get.invoke(cache, team, sibling));
+
+        // Only the team whose progression changed is invalidated
+        for (AdvancementKey key : List.of(root, first, second, third, sibling)) {
+            assertEquals(true, get.invoke(cache, otherTeam, key));
+        }
+    }
+
+    @Test
+    public void rootGrantTest() throws Exception {
+        invalidate.invoke(cache, team, root);
+        assertNull(get.invoke(cache, team, root));
+        assertNull(get.invoke(cache, team, first));
+        assertNull(get.invoke(cache, team, second));
+        assertNull(get.invoke(cache, team, sibling));
+        // The visibility of a great-grandchild doesn't depend on the root progression
+        assertEquals(true, get.invoke(cache, team, third));
+    }
+
+    @Test
+    public void unknownAdvancementTest() throws Exception {
+        // Advancements of other tabs don't affect the cache
+        invalidate.invoke(cache, team, new AdvancementKey("other", "first"));
+        assertEquals(true, get.invoke(cache, team, third));
+
+        // The dependents of an unregistered advancement of the tab are unknown, so the whole team is invalidated
+        invalidate.invoke(cache, team, new AdvancementKey("namespace", "task"));
+        for (AdvancementKey key : List.of(root, first, second, third, sibling)) {
+            assertNull(get.invoke(cache, team, key));
+            assertEquals(true, get.invoke(cache, otherTeam, key));
+        }
+    }
+
+    @Test
+    public void teamUnloadTest() throws Exception {
+        remove.invoke(cache, team);
+        for (AdvancementKey key : List.of(root, first, second, third, sibling)) {
+            assertNull(get.invoke(cache, team, key));
+            assertEquals(true, get.invoke(cache, otherTeam, key));
+        }
+    }
+
+    @Test
+    public void setChildrenTest() throws Exception {
+        setChildren.invoke(cache, Map.of(root, Collections.emptySet()));
+        assertNull(get.invoke(cache, team, root));
+        assertNull(get.invoke(cache, otherTeam, root));
+    }
+
+    @Test
+    public void cacheableVisibilityTest() throws Exception {
+        assertCacheable(ParentGrantedAdvancement.class, true);
+        assertCacheable(VanillaAdvancement.class, true);
+        // Custom visibilities may depend on anything, so they are never cached
+        assertCacheable(CustomVisibilityAdvancement.class, false);
+        assertCacheable(BaseAdvancement.class, false);
+        assertNull(method.invoke(visibilityMethods.get(BaseAdvancement.class)));
+        assertNotNull(method.invoke(visibilityMethods.get(CustomVisibilityAdvancement.class)));
+    }
+
+    private static void assertCacheable(@NotNull Class<? extends Advancement> advancementClass, boolean expected) throws Exception {
+        assertEquals(advancementClass.getName(), expected, cacheable.invoke(visibilityMethods.get(advancementClass)));
+    }
+
+    public interface CustomVisibility extends IVisibility {
+
+        @Override
+        default boolean isVisible(@NotNull Advancement advancement, @NotNull TeamProgression progression) {
+            return true;
+        }
+    }
+
+    // The following classes are never instantiated, only the visibility interfaces they implement are inspected
+
+    private static abstract class ParentGrantedAdvancement extends BaseAdvancement implements ParentGrantedVisibility {
+        private ParentGrantedAdvancement() {
+            super(null, null, null);
+        }
+    }
+
+    private static abstract class VanillaAdvancement extends BaseAdvancement implements VanillaVisibility {
+        private VanillaAdvancement() {
+            super(null, null, null);
+        }
+    }
+
+    private static abstract class CustomVisibilityAdvancement extends BaseAdvancement implements CustomVisibility {
+        private CustomVisibilityAdvancement() {
+            super(null, null, null);
+        }
+    }
+
+    // TeamProgression can be instantiated only by IDatabase implementations
+    private static abstract class TeamFactory implements IDatabase {
+
+        @NotNull
+        static TeamProgression newTeam(int teamId) {
+            return new TeamProgression(Collections.emptyMap(), teamId, List.of(UUID.randomUUID()));
+        }
+    }
+}
@@ -10,7 +10,7 @@ import org.jetbrains.annotations.NotNull;
 
 public class PacketPlayOutSelectAdvancementTabWrapper_v1_15_R1 extends PacketPlayOutSelectAdvancementTabWrapper {
 
-    private final PacketPlayOutSelectAdvancementTab packet;
+    final PacketPlayOutSelectAdvancementTab packet;
 
     public PacketPlayOutSelectAdvancementTabWrapper_v1_15_R1() {
         packet = new PacketPlayOutSelectAdvancementTab();
@@ -0,0 +1,66 @@
+package com.fren_gor.ultimateAdvancementAPI.nms.v1_16_R2;
+
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.AdvancementScreenListenerWrapper;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.MinecraftKeyWrapper;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelPipeline;
+import net.minecraft.server.v1_16_R2.PacketPlayInAdvancements;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+public class AdvancementScreenListenerWrapper_v1_16_R2 extends AdvancementScreenListenerWrapper {
+
+    private static final String HANDLER_NAME = "ultimateadvancementapi_advancement_screen";
+    private static final String PACKET_HANDLER = "packet_handler";
+
+    public static void inject(@NotNull Player player, @NotNull Consumer<@Nullable MinecraftKeyWrapper> listener) throws ReflectiveOperationException {
+        Channel channel = Util.getChannel(player);
+        // Modify the pipeline from the event loop to avoid races with Netty
+        channel.eventLoop().execute(() -> {
+            ChannelPipeline pipeline = channel.pipeline();
+            if (pipeline.get(HANDLER_NAME) != null) {
+                pipeline.remove(HANDLER_NAME);
+            }
+            if (pipeline.get(PACKET_HANDLER) != null) {
+                pipeline.addBefore(PACKET_HANDLER, HANDLER_NAME, new AdvancementScreenHandler(listener));
+            }
+        });
+    }
+
+    public static void uninject(@NotNull Player player) throws ReflectiveOperationException {
+        Channel channel = Util.getChannel(player);
+        channel.eventLoop().execute(() -> {
+            ChannelPipeline pipeline = channel.pipeline();
+            if (pipeline.get(HANDLER_NAME) != null) {
+                pipeline.remove(HANDLER_NAME);
+            }
+        });
+    }
+
+    private static final class AdvancementScreenHandler extends ChannelInboundHandlerAdapter {
+
+        private final Consumer<@Nullable MinecraftKeyWrapper> listener;
+
+        public AdvancementScreenHandler(@NotNull Consumer<@Nullable MinecraftKeyWrapper> listener) {
+            this.listener = Objects.requireNonNull(listener, "Listener is null.");
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+            if (msg instanceof PacketPlayInAdvancements packet) {
+                try {
+                    listener.accept(packet.c() == PacketPlayInAdvancements.Status.OPENED_TAB && packet.d() != null ? new MinecraftKeyWrapper_v1_16_R2(packet.d()) : null);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+            super.channelRead(ctx, msg);
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package com.fren_gor.ultimateAdvancementAPI.nms.v1_17_R1;
 
+import com.fren_gor.ultimateAdvancementAPI.nms.util.CriterionNames;
+import com.fren_gor.ultimateAdvancementAPI.nms.util.ReflectionUtil;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Maps;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import io.netty.channel.Channel;
 import net.md_5.bungee.api.chat.BaseComponent;
 import net.md_5.bungee.chat.ComponentSerializer;
 import net.minecraft.advancements.Advancement;
@@ -9,6 +14,7 @@ import net.minecraft.advancements.AdvancementProgress;
 import net.minecraft.advancements.Criterion;
 import net.minecraft.advancements.CriterionProgress;
 import net.minecraft.advancements.critereon.ImpossibleTrigger;
+import net.minecraft.network.Connection;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.TextComponent;
 import net.minecraft.network.protocol.Packet;
@@ -19,25 +25,50 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class Util {
 
+    // Max number of criterion progresses kept by the progress templates cache
+    private static final long MAX_CACHED_CRITERIA = 1 << 16;
+    private static final Criterion IMPOSSIBLE_CRITERION = new Criterion(new ImpossibleTrigger.TriggerInstance());
+    private static final Map<Integer, Map<String, Criterion>> CRITERIA = new ConcurrentHashMap<>();
+    private static final Map<Integer, String[][]> REQUIREMENTS = new ConcurrentHashMap<>();
+    // Keyed by (maxProgression << 32 | progression), weighted by the max progression
+    private static final Cache<Long, AdvancementProgress> PROGRESS_TEMPLATES = CacheBuilder.newBuilder()
+            .maximumWeight(MAX_CACHED_CRITERIA)
+            .weigher((Long key, AdvancementProgress progress) -> Math.max(1, (int) (key >>> 32)))
+            .build();
+
     @NotNull
     public static Map<String, Criterion> getAdvancementCriteria(@Range(from = 1, to = Integer.MAX_VALUE) int maxProgression) {
         Preconditions.checkArgument(maxProgression >= 1, "Max progression must be >= 1.");
 
-        Map<String, Criterion> advCriteria = Maps.newHashMapWithExpectedSize(maxProgression);
+        // Criteria are immutable, so every advancement with the same max progression can share them
+        return CRITERIA.computeIfAbsent(maxProgression, Util::createAdvancementCriteria);
+    }
+
+    @NotNull
+    private static Map<String, Criterion> createAdvancementCriteria(int maxProgression) {
+        ImmutableMap.Builder<String, Criterion> builder = ImmutableMap.builder();
         for (int i = 0; i < maxProgression; i++) {
-            advCriteria.put(String.valueOf(i), new Criterion(new ImpossibleTrigger.TriggerInstance()));
+            builder.put(CriterionNames.getName(i), IMPOSSIBLE_CRITERION);
         }
-
-        return advCriteria;
+        return builder.build();
     }
 
     @NotNull
     public static String[][] getAdvancementRequirements(@NotNull Map<String, Criterion> advCriteria) {
         Preconditions.checkNotNull(advCriteria, "Advancement criteria map is null.");
 
+        if (advCriteria == CRITERIA.get(advCriteria.size())) {
+            return REQUIREMENTS.computeIfAbsent(advCriteria.size(), size -> createAdvancementRequirements(advCriteria));
+        }
+        return createAdvancementRequirements(advCriteria);
+    }
+
+    @NotNull
+    private static String[][] createAdvancementRequirements(@NotNull Map<String, Criterion> advCriteria) {
         String[][] array = new String[advCriteria.size()][1];
         int index = 0;
         for (String name : advCriteria.keySet()) {
@@ -52,14 +83,21 @@ public class Util {
         Preconditions.checkNotNull(mcAdv, "NMS Advancement is null.");
         Preconditions.checkArgument(progression >= 0, "Progression must be >= 0.");
 
-        AdvancementProgress advPrg = new AdvancementProgress();
-        advPrg.update(mcAdv.getCriteria(), mcAdv.getRequirements());
-
-        for (int i = 0; i < progression; i++) {
-            CriterionProgress criteriaPrg = advPrg.getCriterion(String.valueOf(i));
-            if (criteriaPrg != null) {
-                criteriaPrg.grant();
+        // Every criteria map is created by getAdvancementCriteria(int), so the progress only depends on the max progression
+        final int maxProgression = mcAdv.getCriteria().size();
+        final long key = ((long) maxProgression << 32) | Math.min(progression, maxProgression);
+        AdvancementProgress advPrg = PROGRESS_TEMPLATES.getIfPresent(key);
+        if (advPrg == null) {
+            advPrg = new AdvancementProgress();
+            advPrg.update(mcAdv.getCriteria(), mcAdv.getRequirements());
+            for (int i = 0; i < progression && i < maxProgression; i++) {
+                CriterionProgress criteriaPrg = advPrg.getCriterion(CriterionNames.getName(i));
+                if (criteriaPrg != null) {
+                    criteriaPrg.grant();
+                }
             }
+            // The returned progress must never be modified, since it's shared between packets
+            PROGRESS_TEMPLATES.put(key, advPrg);
         }
 
         return advPrg;
@@ -88,6 +126,14 @@ public class Util {
         ((CraftPlayer) player).getHandle().connection.send(packet);
     }
 
+    @NotNull
+    public static Channel getChannel(@NotNull Player player) throws ReflectiveOperationException {
+        Preconditions.checkNotNull(player, "Player is null.");
+        // Look up fields by type, since their names and visibility aren't the same across mappings
+        Connection connection = ReflectionUtil.getFieldValueByType(((CraftPlayer) player).getHandle().connection, Connection.class);
+        return ReflectionUtil.getFieldValueByType(connection, Channel.class);
+    }
+
     private Util() {
         throw new UnsupportedOperationException("Utility class.");
     }
@@ -0,0 +1,44 @@
+package com.fren_gor.ultimateAdvancementAPI.nms.v1_17_R1.packets;
+
+import com.fren_gor.ultimateAdvancementAPI.nms.v1_17_R1.Util;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets.ISendable;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets.PacketBundleWrapper;
+import com.google.common.base.Preconditions;
+import net.minecraft.network.protocol.Packet;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PacketBundleWrapper_v1_17_R1 extends PacketBundleWrapper {
+
+    private final List<Packet<?>> packets;
+
+    public PacketBundleWrapper_v1_17_R1(@NotNull List<ISendable> packets) {
+        this.packets = new ArrayList<>(packets.size());
+        for (ISendable sendable : packets) {
+            this.packets.add(toNMS(sendable));
+        }
+    }
+
+    @Override
+    public void sendTo(@NotNull Player player) {
+        Preconditions.checkNotNull(player, "Player is null.");
+        // Bundle packets aren't available, send the packets one after the other through the player connection
+        for (Packet<?> packet : packets) {
+            Util.sendTo(player, packet);
+        }
+    }
+
+    @NotNull
+    private static Packet<?> toNMS(@NotNull ISendable sendable) {
+        if (sendable instanceof PacketPlayOutAdvancementsWrapper_v1_17_R1 wrapper) {
+            return wrapper.packet;
+        }
+        if (sendable instanceof PacketPlayOutSelectAdvancementTabWrapper_v1_17_R1 wrapper) {
+            return wrapper.packet;
+        }
+        throw new IllegalArgumentException("Unsupported packet " + sendable + '.');
+    }
+}
@@ -21,20 +21,25 @@ import java.util.Set;
 
 public class PacketPlayOutAdvancementsWrapper_v1_17_R1 extends PacketPlayOutAdvancementsWrapper {
 
-    private final ClientboundUpdateAdvancementsPacket packet;
+    final ClientboundUpdateAdvancementsPacket packet;
 
     public PacketPlayOutAdvancementsWrapper_v1_17_R1() {
         this.packet = new ClientboundUpdateAdvancementsPacket(true, Collections.emptyList(), Collections.emptySet(), Collections.emptyMap());
     }
 
-    @SuppressWarnings("unchecked")
     public PacketPlayOutAdvancementsWrapper_v1_17_R1(@NotNull Map<AdvancementWrapper, Integer> toSend) {
+        this(toSend, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    public PacketPlayOutAdvancementsWrapper_v1_17_R1(@NotNull Map<AdvancementWrapper, Integer> toSend, boolean sendAdvancements) {
         Map<ResourceLocation, AdvancementProgress> map = Maps.newHashMapWithExpectedSize(toSend.size());
         for (Entry<AdvancementWrapper, Integer> e : toSend.entrySet()) {
             AdvancementWrapper adv = e.getKey();
             map.put((ResourceLocation) adv.getKey().toNMS(), Util.getAdvancementProgress((Advancement) adv.toNMS(), e.getValue()));
         }
-        this.packet = new ClientboundUpdateAdvancementsPacket(false, (Collection<Advancement>) ListSet.fromWrapperSet(toSend.keySet()), Collections.emptySet(), map);
+        Collection<Advancement> advancements = sendAdvancements ? (Collection<Advancement>) ListSet.fromWrapperSet(toSend.keySet()) : Collections.emptyList();
+        this.packet = new ClientboundUpdateAdvancementsPacket(false, advancements, Collections.emptySet(), map);
     }
 
     @SuppressWarnings("unchecked")
@@ -10,7 +10,7 @@ import org.jetbrains.annotations.NotNull;
 
 public class PacketPlayOutSelectAdvancementTabWrapper_v1_17_R1 extends PacketPlayOutSelectAdvancementTabWrapper {
 
-    private final ClientboundSelectAdvancementsTabPacket packet;
+    final ClientboundSelectAdvancementsTabPacket packet;
 
     public PacketPlayOutSelectAdvancementTabWrapper_v1_17_R1() {
         packet = new ClientboundSelectAdvancementsTabPacket((ResourceLocation) null);
@@ -0,0 +1,42 @@
+package com.fren_gor.ultimateAdvancementAPI.nms.v1_20_R4.packets;
+
+import com.fren_gor.ultimateAdvancementAPI.nms.v1_20_R4.Util;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets.ISendable;
+import com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets.PacketBundleWrapper;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientboundBundlePacket;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PacketBundleWrapper_v1_20_R4 extends PacketBundleWrapper {
+
+    private final ClientboundBundlePacket packet;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public PacketBundleWrapper_v1_20_R4(@NotNull List<ISendable> packets) {
+        List<Packet<?>> nmsPackets = new ArrayList<>(packets.size());
+        for (ISendable sendable : packets) {
+            nmsPackets.add(toNMS(sendable));
+        }
+        this.packet = new ClientboundBundlePacket((List) nmsPackets);
+    }
+
+    @Override
+    public void sendTo(@NotNull Player player) {
+        Util.sendTo(player, packet);
+    }
+
+    @NotNull
+    private static Packet<?> toNMS(@NotNull ISendable sendable) {
+        if (sendable instanceof PacketPlayOutAdvancementsWrapper_v1_20_R4 wrapper) {
+            return wrapper.packet;
+        }
+        if (sendable instanceof PacketPlayOutSelectAdvancementTabWrapper_v1_20_R4 wrapper) {
+            return wrapper.packet;
+        }
+        throw new IllegalArgumentException("Unsupported packet " + sendable + '.');
+    }
+}
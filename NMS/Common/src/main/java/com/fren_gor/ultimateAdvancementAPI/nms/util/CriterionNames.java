@@ -0,0 +1,56 @@
+package com.fren_gor.ultimateAdvancementAPI.nms.util;
+
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import java.util.Arrays;
+
+/**
+ * Table of the names of the criteria of advancements.
+ * <p>The criterion names of every advancement are {@code "0"}, {@code "1"}, ..., {@code "maxProgression - 1"}.
+ * This class interns them once, so that advancements and progressions share the same {@link String} instances
+ * instead of allocating new ones on every update.
+ * <p><strong>This class is thread safe.</strong>
+ */
+public final class CriterionNames {
+
+    private static volatile String[] names = new String[0];
+
+    static {
+        grow(64);
+    }
+
+    /**
+     * Gets the name of the criterion at the specified index.
+     *
+     * @param index The index of the criterion.
+     * @return The interned name of the criterion, which is {@code String.valueOf(index)}.
+     * @throws IllegalArgumentException If the index is negative.
+     */
+    @NotNull
+    public static String getName(@Range(from = 0, to = Integer.MAX_VALUE) int index) {
+        Preconditions.checkArgument(index >= 0, "Index must be >= 0.");
+        String[] names = CriterionNames.names;
+        if (index >= names.length) {
+            names = grow(index + 1);
+        }
+        return names[index];
+    }
+
+    private static synchronized String[] grow(int minLength) {
+        String[] old = names;
+        if (old.length >= minLength) {
+            return old;
+        }
+        String[] newNames = Arrays.copyOf(old, Math.max(minLength, old.length * 2));
+        for (int i = old.length; i < newNames.length; i++) {
+            newNames[i] = String.valueOf(i).intern();
+        }
+        return names = newNames;
+    }
+
+    private CriterionNames() {
+        throw new UnsupportedOperationException("Utility class.");
+    }
+}
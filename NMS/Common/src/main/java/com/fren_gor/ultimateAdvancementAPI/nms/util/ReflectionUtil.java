@@ -5,6 +5,8 @@ import org.bukkit.Bukkit;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -157,6 +159,33 @@ public class ReflectionUtil {
         }
     }
 
+    /**
+     * Gets the value of the first non-static field of the provided object (or of its superclasses) of the provided type.
+     * <p>Useful when the name of the field changes between mappings.
+     *
+     * @param instance The object.
+     * @param type The type of the field.
+     * @return The non-null value of the field.
+     * @throws ReflectiveOperationException If reflections goes wrong or if there is no such field with a non-null value.
+     */
+    @NotNull
+    public static <T> T getFieldValueByType(@NotNull Object instance, @NotNull Class<T> type) throws ReflectiveOperationException {
+        Objects.requireNonNull(instance, "Instance cannot be null.");
+        Objects.requireNonNull(type, "Type cannot be null.");
+        for (Class<?> clazz = instance.getClass(); clazz != null; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && type.isAssignableFrom(field.getType())) {
+                    field.setAccessible(true);
+                    Object value = field.get(instance);
+                    if (value != null) {
+                        return type.cast(value);
+                    }
+                }
+            }
+        }
+        throw new NoSuchFieldException("Couldn't find any field of type " + type.getName() + " in " + instance.getClass().getName() + '.');
+    }
+
     private ReflectionUtil() {
         throw new UnsupportedOperationException("Utility class.");
     }
@@ -0,0 +1,79 @@
+package com.fren_gor.ultimateAdvancementAPI.nms.wrappers;
+
+import com.fren_gor.ultimateAdvancementAPI.nms.util.ReflectionUtil;
+import com.google.common.base.Preconditions;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Consumer;
+
+/**
+ * Class to listen for the NMS {@code PacketPlayInAdvancements} packets sent by players.
+ * <p>The client sends that packet when a tab of the advancement GUI is selected (including when the GUI is opened)
+ * and when the advancement GUI is closed.
+ */
+public class AdvancementScreenListenerWrapper {
+
+    private static Method injectMethod, uninjectMethod;
+
+    static {
+        var clazz = ReflectionUtil.getWrapperClass(AdvancementScreenListenerWrapper.class);
+        assert clazz != null : "Wrapper class is null.";
+        try {
+            injectMethod = clazz.getDeclaredMethod("inject", Player.class, Consumer.class);
+            Preconditions.checkArgument(Modifier.isPublic(injectMethod.getModifiers()), "Method inject(Player, Consumer) is not public.");
+            Preconditions.checkArgument(Modifier.isStatic(injectMethod.getModifiers()), "Method inject(Player, Consumer) is not static.");
+        } catch (ReflectiveOperationException e) {
+            e.printStackTrace();
+        }
+        try {
+            uninjectMethod = clazz.getDeclaredMethod("uninject", Player.class);
+            Preconditions.checkArgument(Modifier.isPublic(uninjectMethod.getModifiers()), "Method uninject(Player) is not public.");
+            Preconditions.checkArgument(Modifier.isStatic(uninjectMethod.getModifiers()), "Method uninject(Player) is not static.");
+        } catch (ReflectiveOperationException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Starts listening for the advancement GUI interactions of the provided player.
+     * <p>If a listener is already present for the player, it is replaced.
+     * <p>The listener accepts the key of the root advancement of the selected tab, or {@code null} if the advancement GUI has been closed.
+     * Note that it is called from a Netty thread.
+     *
+     * @param player The player.
+     * @param listener The listener.
+     * @throws ReflectiveOperationException If reflections goes wrong.
+     */
+    public static void inject(@NotNull Player player, @NotNull Consumer<@Nullable MinecraftKeyWrapper> listener) throws ReflectiveOperationException {
+        Preconditions.checkNotNull(player, "Player is null.");
+        Preconditions.checkNotNull(listener, "Listener is null.");
+        invoke(injectMethod, player, listener);
+    }
+
+    /**
+     * Stops listening for the advancement GUI interactions of the provided player.
+     *
+     * @param player The player.
+     * @throws ReflectiveOperationException If reflections goes wrong.
+     */
+    public static void uninject(@NotNull Player player) throws ReflectiveOperationException {
+        Preconditions.checkNotNull(player, "Player is null.");
+        invoke(uninjectMethod, player);
+    }
+
+    private static void invoke(@NotNull Method method, Object... args) throws ReflectiveOperationException {
+        try {
+            method.invoke(null, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof ReflectiveOperationException roe) {
+                throw roe;
+            }
+            throw e;
+        }
+    }
+}
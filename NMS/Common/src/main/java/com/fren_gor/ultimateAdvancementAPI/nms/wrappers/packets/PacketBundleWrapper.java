@@ -0,0 +1,43 @@
+package com.fren_gor.ultimateAdvancementAPI.nms.wrappers.packets;
+
+import com.fren_gor.ultimateAdvancementAPI.nms.util.ReflectionUtil;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Constructor;
+import java.util.List;
+
+/**
+ * Wrapper class for NMS {@code ClientboundBundlePacket}.
+ * <p>On versions which don't have bundle packets (before 1.19.4), the packets are sent one after the other
+ * through the connection of the player.
+ */
+public abstract class PacketBundleWrapper implements ISendable {
+
+    private static Constructor<? extends PacketBundleWrapper> constructor;
+
+    static {
+        var clazz = ReflectionUtil.getWrapperClass(PacketBundleWrapper.class);
+        assert clazz != null : "Wrapper class is null.";
+        try {
+            constructor = clazz.getDeclaredConstructor(List.class);
+        } catch (ReflectiveOperationException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Creates a new {@code PacketBundleWrapper} which sends the specified packets in order.
+     * <p>Only packets crafted by {@link PacketPlayOutAdvancementsWrapper} and {@link PacketPlayOutSelectAdvancementTabWrapper} are supported.
+     *
+     * @param packets The packets to send, in order.
+     * @return A new {@code PacketBundleWrapper} which sends the specified packets in order.
+     * @throws ReflectiveOperationException If reflections goes wrong or if the list contains an unsupported packet.
+     * @throws IllegalArgumentException If the list of packets is {@code null}.
+     */
+    @NotNull
+    public static PacketBundleWrapper craftBundle(@NotNull List<ISendable> packets) throws ReflectiveOperationException {
+        Preconditions.checkNotNull(packets, "List<ISendable> is null.");
+        return constructor.newInstance(packets);
+    }
+}
@@ -14,7 +14,7 @@ import java.util.Set;
  */
 public abstract class PacketPlayOutAdvancementsWrapper implements ISendable {
 
-    private static Constructor<? extends PacketPlayOutAdvancementsWrapper> resetConstructor, sendConstructor, removeConstructor;
+    private static Constructor<? extends PacketPlayOutAdvancementsWrapper> resetConstructor, sendConstructor, progressConstructor, removeConstructor;
 
     static {
         var clazz = ReflectionUtil.getWrapperClass(PacketPlayOutAdvancementsWrapper.class);
@@ -29,6 +29,11 @@ public abstract class PacketPlayOutAdvancementsWrapper implements ISendable {
         } catch (ReflectiveOperationException e) {
             e.printStackTrace();
         }
+        try {
+            progressConstructor = clazz.getDeclaredConstructor(Map.class, boolean.class);
+        } catch (ReflectiveOperationException e) {
+            e.printStackTrace();
+        }
         try {
             removeConstructor = clazz.getDeclaredConstructor(Set.class);
         } catch (ReflectiveOperationException e) {
@@ -59,6 +64,20 @@ public abstract class PacketPlayOutAdvancementsWrapper implements ISendable {
         return sendConstructor.newInstance(toSend);
     }
 
+    /**
+     * Creates a new {@code PacketPlayOutAdvancementsWrapper} which updates the progressions of some advancements
+     * without sending them again.
+     * <p>The advancements must have been already sent to the player.
+     *
+     * @param toUpdate The {@link Map} of the advancement to update paired with their respective progressions to display.
+     * @return A new {@code PacketPlayOutAdvancementsWrapper} which updates the progressions of some advancements.
+     * @throws ReflectiveOperationException If reflections goes wrong.
+     */
+    @NotNull
+    public static PacketPlayOutAdvancementsWrapper craftProgressPacket(@NotNull Map<AdvancementWrapper, Integer> toUpdate) throws ReflectiveOperationException {
+        return progressConstructor.newInstance(toUpdate, false);
+    }
+
     /**
      * Creates a new {@code PacketPlayOutAdvancementsWrapper} which removes some advancements from the advancement GUI.
      *
@@ -3,6 +3,7 @@ package com.fren_gor.ultimateAdvancementAPI;
 import com.fren_gor.ultimateAdvancementAPI.database.impl.InMemory;
 import com.fren_gor.ultimateAdvancementAPI.database.impl.MySQL;
 import com.fren_gor.ultimateAdvancementAPI.database.impl.SQLite;
+import com.fren_gor.ultimateAdvancementAPI.database.impl.SQLite.SynchronousLevel;
 import com.google.common.base.Preconditions;
 import net.byteflux.libby.Library;
 import net.byteflux.libby.Repositories;
@@ -14,6 +15,7 @@ import java.io.File;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.logging.Level;
 
@@ -21,7 +23,7 @@ public class ConfigManager {
 
     // TODO Improve config system
 
-    public static final int CONFIG_VERSION = 2;
+    public static final int CONFIG_VERSION = 3;
     public static final Library CONFIG_UPDATER = Library.builder()
             .groupId("com.tchristofferson")
             .artifactId("ConfigUpdater")
@@ -35,10 +37,25 @@ public class ConfigManager {
 
     private boolean disableVanillaAdvancements;
     private boolean disableVanillaRecipeAdvancements;
+    private int updateTimeBudget;
+    private boolean asyncPacketAssembly;
+    private boolean lazyTabDelivery;
+    private int databaseThreads;
+    private int databaseQueueSize;
+    private boolean virtualDatabaseThreads;
+    private boolean writeBehind;
+    private int writeBehindFlushInterval;
+    private int writeBehindBatchSize;
+    private int writeBehindMaxPending;
+    private boolean teamRetention;
+    private int teamRetentionGracePeriod;
+    private int teamRetentionMaxTeams;
 
     // db parameters
     private DB_TYPE storageType;
     private String sqlLiteDbName;
+    private SynchronousLevel sqlLiteSynchronous;
+    private int sqlLiteReadConnections;
     private String username;
     private String password;
     private String databaseName;
@@ -68,6 +85,55 @@ public class ConfigManager {
         disableVanillaAdvancements = getOrDefault("disable-vanilla-advancements", false);
         disableVanillaRecipeAdvancements = getOrDefault("disable-vanilla-recipe-advancements", false);
 
+        updateTimeBudget = getOrDefault("advancement-updates.time-budget", 5);
+        if (updateTimeBudget <= 0) {
+            plugin.getLogger().log(Level.SEVERE, "Invalid \"advancement-updates.time-budget\", it must be greater than zero");
+            return true;
+        }
+        asyncPacketAssembly = getOrDefault("advancement-updates.async-packets", false);
+        lazyTabDelivery = getOrDefault("advancement-updates.lazy-tabs", false);
+
+        databaseThreads = getOrDefault("database-executor.threads", 4);
+        if (databaseThreads <= 0) {
+            plugin.getLogger().log(Level.SEVERE, "Invalid \"database-executor.threads\", it must be greater than zero");
+            return true;
+        }
+        databaseQueueSize = getOrDefault("database-executor.queue-size", 1024);
+        if (databaseQueueSize <= 0) {
+            plugin.getLogger().log(Level.SEVERE, "Invalid \"database-executor.queue-size\", it must be greater than zero");
+            return true;
+        }
+        virtualDatabaseThreads = getOrDefault("database-executor.virtual-threads", false);
+
+        writeBehind = getOrDefault("database-write-behind.enabled", false);
+        writeBehindFlushInterval = getOrDefault("database-write-behind.flush-interval", 20);
+        if (writeBehindFlushInterval <= 0) {
+            plugin.getLogger().log(Level.SEVERE, "Invalid \"database-write-behind.flush-interval\", it must be greater than zero");
+            return true;
+        }
+        writeBehindBatchSize = getOrDefault("database-write-behind.batch-size", 256);
+        if (writeBehindBatchSize <= 0) {
+            plugin.getLogger().log(Level.SEVERE, "Invalid \"database-write-behind.batch-size\", it must be greater than zero");
+            return true;
+        }
+        writeBehindMaxPending = getOrDefault("database-write-behind.max-pending", 4096);
+        if (writeBehindMaxPending < writeBehindBatchSize) {
+            plugin.getLogger().log(Level.SEVERE, "Invalid \"database-write-behind.max-pending\", it must be greater or equal to \"database-write-behind.batch-size\"");
+            return true;
+        }
+
+        teamRetention = getOrDefault("team-retention.enabled", false);
+        teamRetentionGracePeriod = getOrDefault("team-retention.grace-period", 60);
+        if (teamRetentionGracePeriod <= 0) {
+            plugin.getLogger().log(Level.SEVERE, "Invalid \"team-retention.grace-period\", it must be greater than zero");
+            return true;
+        }
+        teamRetentionMaxTeams = getOrDefault("team-retention.max-teams", 500);
+        if (teamRetentionMaxTeams <= 0) {
+            plugin.getLogger().log(Level.SEVERE, "Invalid \"team-retention.max-teams\", it must be greater than zero");
+            return true;
+        }
+
         String type = config.getString("storage-type");
         if (type == null) {
             plugin.getLogger().log(Level.SEVERE, "Could not find \"storage-type\" in config.yml");
@@ -77,6 +143,18 @@ public class ConfigManager {
         if (type.equalsIgnoreCase("SQLite")) {
             storageType = DB_TYPE.SQLITE;
             sqlLiteDbName = getOrDefault("sqlite.file", "database.db");
+            String synchronous = getOrDefault("sqlite.synchronous", SQLite.DEFAULT_SYNCHRONOUS.name());
+            try {
+                sqlLiteSynchronous = SynchronousLevel.valueOf(synchronous.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().log(Level.SEVERE, "Invalid \"sqlite.synchronous\" \"" + synchronous + "\"");
+                return true;
+            }
+            sqlLiteReadConnections = getOrDefault("sqlite.read-connections", SQLite.DEFAULT_READ_CONNECTIONS);
+            if (sqlLiteReadConnections <= 0) {
+                plugin.getLogger().log(Level.SEVERE, "Invalid \"sqlite.read-connections\", it must be greater than zero");
+                return true;
+            }
         } else if (type.equalsIgnoreCase("MySQL")) {
             storageType = DB_TYPE.MYSQL;
             username = getOrDefault("mysql.username", "root");
@@ -105,11 +183,23 @@ public class ConfigManager {
     public void enable(@NotNull AdvancementMain main) {
         Preconditions.checkNotNull(storageType, "Config has not been loaded.");
 
+        main.setUpdateTimeBudget(updateTimeBudget);
+        main.setAsyncPacketAssembly(asyncPacketAssembly);
+        main.setLazyTabDelivery(lazyTabDelivery);
+        main.setDatabaseExecutor(databaseThreads, databaseQueueSize, virtualDatabaseThreads);
+
         main.enable(() -> switch (storageType) {
-            case SQLITE -> new SQLite(main, new File(plugin.getDataFolder(), sqlLiteDbName));
+            case SQLITE -> new SQLite(main, new File(plugin.getDataFolder(), sqlLiteDbName), sqlLiteSynchronous, sqlLiteReadConnections);
             case MYSQL -> new MySQL(main, username, password, databaseName, host, port, poolSize, connectionTimeout);
             case IN_MEMORY -> new InMemory(main);
         });
+
+        if (writeBehind) {
+            main.getDatabaseManager().enableWriteBehind(writeBehindFlushInterval, writeBehindBatchSize, writeBehindMaxPending);
+        }
+        if (teamRetention) {
+            main.getDatabaseManager().enableTeamRetention(teamRetentionGracePeriod, teamRetentionMaxTeams);
+        }
     }
 
     private String getOrDefault(@NotNull String path, @NotNull String def) {